@@ -7,6 +7,7 @@
 
 plugins {
     application
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 repositories {
@@ -30,6 +31,20 @@ application {
     mainClass.set("Main")
 }
 
+// Benchmarks live under src/jmh/java and run with `./gradlew jmh`; pass
+// -PjmhIncludes=<regex> to run a subset and -PjmhProfilers=gc to report
+// allocation per operation alongside the timings. Results are written as JSON so runs
+// from different commits can be diffed.
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    jvmArgsAppend.add("-Xmx4g")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.set(listOf(it)) }
+    providers.gradleProperty("jmhProfilers").orNull?.let { profilers.set(it.split(",")) }
+}
+
 tasks.named<Test>("test") {
     useJUnitPlatform()
 }
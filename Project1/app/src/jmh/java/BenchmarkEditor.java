@@ -0,0 +1,118 @@
+import benchmark.EditorHandle;
+import list.List;
+
+import java.util.Iterator;
+import java.util.regex.Pattern;
+
+/**
+ * Exposes a MyTextEditor to the benchmarks through the EditorHandle interface.
+ * It is created by benchmark.Documents through reflection, once per trial.
+ */
+public class BenchmarkEditor implements EditorHandle {
+
+    /**
+     * The editor being measured.
+     */
+    private final MyTextEditor editor;
+
+    /**
+     * The editor the SimpleTextEditor operations go through: the editor
+     * itself, or an InstrumentedTextEditor around it.
+     */
+    private final SimpleTextEditor edits;
+
+    /**
+     * A BenchmarkEditor constructor.
+     *
+     * @param lines The line store to build the editor on.
+     */
+    public BenchmarkEditor(List<String> lines) {
+        this(lines, false);
+    }
+
+    /**
+     * A BenchmarkEditor constructor.
+     *
+     * @param lines        The line store to build the editor on.
+     * @param instrumented Whether to record EditorMetrics of the operations.
+     */
+    public BenchmarkEditor(List<String> lines, boolean instrumented) {
+        this(lines, instrumented, false);
+    }
+
+    /**
+     * A BenchmarkEditor constructor.
+     *
+     * @param lines        The line store to build the editor on.
+     * @param instrumented Whether to record EditorMetrics of the operations.
+     * @param cached       Whether to see the store through a RenderCache.
+     */
+    public BenchmarkEditor(List<String> lines, boolean instrumented, boolean cached) {
+        editor = new MyTextEditor(cached ? new RenderCache(lines) : lines);
+        edits = instrumented ? new InstrumentedTextEditor(editor) : editor;
+    }
+
+    @Override
+    public int size() {
+        return edits.size();
+    }
+
+    @Override
+    public void moveCursorToLine(int line) {
+        edits.moveCursorToLine(line);
+    }
+
+    @Override
+    public void cursorDown() {
+        edits.cursorDown();
+    }
+
+    @Override
+    public String getAtCursor() {
+        return edits.getAtCursor();
+    }
+
+    @Override
+    public void insertAfterCursor(String insertion) {
+        edits.insertAfterCursor(insertion);
+    }
+
+    @Override
+    public void replaceAtCursor(String replacement) {
+        edits.replaceAtCursor(replacement);
+    }
+
+    @Override
+    public void removeAtCursor() {
+        edits.removeAtCursor();
+    }
+
+    @Override
+    public void batchRewrite(int[] lines, String text) {
+        edits.batch(b -> {
+            for (int line : lines) {
+                b.remove(line);
+                b.insertAfter(line, text);
+            }
+        });
+    }
+
+    @Override
+    public String render() {
+        return edits.toString();
+    }
+
+    @Override
+    public String render(int fromLine, int toLine) {
+        return editor.render(fromLine, toLine);
+    }
+
+    @Override
+    public int countMatches(String regex) {
+        int count = 0;
+        for (Iterator<DocumentSearch.Match> hits = editor.findAll(Pattern.compile(regex)); hits.hasNext(); hits.next()) {
+            count++;
+        }
+        return count;
+    }
+}
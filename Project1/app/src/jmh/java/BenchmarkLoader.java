@@ -0,0 +1,37 @@
+import benchmark.LoaderHandle;
+import list.ArrayBackedList;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Exposes the document loaders to the benchmarks through the LoaderHandle
+ * interface. It is created by benchmark.Documents through reflection.
+ */
+public class BenchmarkLoader implements LoaderHandle {
+
+    @Override
+    public int load(Path file, String loader) throws IOException {
+        return switch (loader) {
+            case "readAllLines" -> {
+                // The loader EditorUtilities used before DocumentLoader
+                String[] lines = Files.readAllLines(file).toArray(String[]::new);
+                for (int i = 0; i < lines.length; i++) {
+                    lines[i] = lines[i].trim();
+                }
+                yield lines.length;
+            }
+            case "trim" -> new DocumentLoader(DocumentLoader.LineEndings.TRIM).read(file).length;
+            case "keep" -> new DocumentLoader(DocumentLoader.LineEndings.KEEP).read(file).length;
+            case "normalize" -> new DocumentLoader(DocumentLoader.LineEndings.NORMALIZE).read(file).length;
+            case "parallel" -> {
+                ArrayBackedList<String> lines = new ArrayBackedList<>();
+                new DocumentLoader(DocumentLoader.LineEndings.TRIM).read(file, lines);
+                yield lines.size();
+            }
+            case "offheap" -> EditorUtilities.readOffHeap(file).size();
+            default -> throw new IllegalArgumentException("Unknown loader: " + loader);
+        };
+    }
+}
@@ -0,0 +1,222 @@
+package benchmark;
+
+import list.ArrayBackedList;
+import list.ChunkedList;
+import list.CompactStringList;
+import list.GapBufferList;
+import list.GrowthPolicy;
+import list.List;
+import list.OffHeapStringList;
+import list.RopeList;
+import list.Sequence;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Builds the line stores and editors measured by the benchmarks, filled with
+ * a synthetic document.
+ */
+public final class Documents {
+
+    /** Number of distinct line texts, so large documents stay cheap to hold. */
+    private static final int DISTINCT_LINES = 1024;
+
+    /** The line texts the documents are made of. */
+    private static final String[] LINES = new String[DISTINCT_LINES];
+
+    static {
+        for (int i = 0; i < DISTINCT_LINES; i++) {
+            LINES[i] = "2024-01-01 00:00:00 INFO worker-" + i + " request handled";
+        }
+    }
+
+    /** Utility class. */
+    private Documents() {
+    }
+
+    /**
+     * Creates an empty line store.
+     *
+     * @param store One of "array", "gap", "rope", "chunked", "sequence",
+     *              "compact" or "offheap".
+     * @return The new, empty store.
+     */
+    public static List<String> newStore(String store) {
+        return switch (store) {
+            case "array" -> new ArrayBackedList<>();
+            case "gap" -> new GapBufferList<>();
+            case "rope" -> new RopeList<>();
+            case "chunked" -> new ChunkedList<>();
+            case "sequence" -> newSequence();
+            case "compact" -> new CompactStringList();
+            case "offheap" -> new OffHeapStringList();
+            default -> throw new IllegalArgumentException("Unknown store: " + store);
+        };
+    }
+
+    /**
+     * Creates an empty array-based line store that grows and shrinks
+     * according to the given policy.
+     *
+     * @param store  One of "array", "gap" or "sequence".
+     * @param policy The growth policy.
+     * @return The new, empty store.
+     */
+    @SuppressWarnings("unchecked") // ArraySequence implements Sequence
+    public static List<String> newStore(String store, GrowthPolicy policy) {
+        return switch (store) {
+            case "array" -> new ArrayBackedList<>(ArrayBackedList.INITIAL_CAPACITY, policy);
+            case "gap" -> new GapBufferList<>(GapBufferList.INITIAL_CAPACITY, policy);
+            case "sequence" -> (Sequence<String>) instantiate("ArraySequence",
+                    new Class<?>[]{int.class, GrowthPolicy.class}, GapBufferList.INITIAL_CAPACITY, policy);
+            default -> throw new IllegalArgumentException("Unknown store: " + store);
+        };
+    }
+
+    /**
+     * Creates an empty ArraySequence, which lives in the unnamed package.
+     *
+     * @return The new, empty sequence.
+     */
+    @SuppressWarnings("unchecked") // ArraySequence implements Sequence
+    public static Sequence<String> newSequence() {
+        return (Sequence<String>) instantiate("ArraySequence", new Class<?>[0]);
+    }
+
+    /**
+     * Creates a store and appends the given number of lines to it.
+     *
+     * @param store One of "array", "gap", "rope", "chunked", "sequence",
+     *              "compact" or "offheap".
+     * @param lines The number of lines.
+     * @return The filled store.
+     */
+    public static List<String> filledStore(String store, int lines) {
+        List<String> document = newStore(store);
+        fill(document, lines);
+        return document;
+    }
+
+    /**
+     * Appends the given number of lines to a store.
+     *
+     * @param document The store to fill.
+     * @param lines    The number of lines.
+     */
+    public static void fill(List<String> document, int lines) {
+        String[] block = new String[DISTINCT_LINES];
+        for (int done = 0; done < lines; done += block.length) {
+            int count = Math.min(block.length, lines - done);
+            for (int i = 0; i < count; i++) {
+                block[i] = line(done + i);
+            }
+            document.addAll(document.size(), block, 0, count);
+        }
+    }
+
+    /**
+     * Creates a MyTextEditor on a filled store.
+     *
+     * @param store One of "array", "gap", "rope", "chunked" or "sequence".
+     * @param lines The number of lines.
+     * @return The editor, with its cursor on line 0.
+     */
+    public static EditorHandle filledEditor(String store, int lines) {
+        return filledEditor(store, lines, false);
+    }
+
+    /**
+     * Creates a MyTextEditor on a filled store, optionally wrapped in an
+     * InstrumentedTextEditor.
+     *
+     * @param store        One of "array", "gap", "rope", "chunked" or "sequence".
+     * @param lines        The number of lines.
+     * @param instrumented Whether to record metrics of the operations.
+     * @return The editor, with its cursor on line 0.
+     */
+    public static EditorHandle filledEditor(String store, int lines, boolean instrumented) {
+        return filledEditor(store, lines, instrumented, false);
+    }
+
+    /**
+     * Creates a MyTextEditor on a filled store, optionally seen through a
+     * RenderCache and wrapped in an InstrumentedTextEditor.
+     *
+     * @param store        One of "array", "gap", "rope", "chunked" or "sequence".
+     * @param lines        The number of lines.
+     * @param instrumented Whether to record metrics of the operations.
+     * @param cached       Whether to cache the rendered text.
+     * @return The editor, with its cursor on line 0.
+     */
+    public static EditorHandle filledEditor(String store, int lines, boolean instrumented, boolean cached) {
+        EditorHandle editor = (EditorHandle) instantiate("BenchmarkEditor",
+                new Class<?>[]{List.class, boolean.class, boolean.class}, filledStore(store, lines), instrumented, cached);
+        editor.moveCursorToLine(0);
+        return editor;
+    }
+
+    /**
+     * Creates the adapter to the document loaders.
+     *
+     * @return The loaders.
+     */
+    public static LoaderHandle newLoader() {
+        return (LoaderHandle) instantiate("BenchmarkLoader", new Class<?>[0]);
+    }
+
+    /**
+     * Returns the text of a line of the synthetic document.
+     *
+     * @param line The line number.
+     * @return The line text.
+     */
+    public static String line(int line) {
+        return LINES[line % DISTINCT_LINES];
+    }
+
+    /**
+     * Draws random line numbers.
+     *
+     * @param count The number of line numbers, a power of two.
+     * @param bound The exclusive upper bound.
+     * @return The line numbers.
+     */
+    public static int[] randomLines(int count, int bound) {
+        Random random = new Random(1);
+        int[] lines = new int[count];
+        for (int i = 0; i < count; i++) {
+            lines[i] = random.nextInt(bound);
+        }
+        return lines;
+    }
+
+    /**
+     * Returns the heap in use after collecting garbage, for benchmarks that
+     * report the memory a data structure retains.
+     *
+     * @return The used heap in bytes.
+     */
+    public static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Creates an instance of a class in the unnamed package.
+     *
+     * @param name       The class name.
+     * @param types      The constructor parameter types.
+     * @param parameters The constructor arguments.
+     * @return The new instance.
+     */
+    private static Object instantiate(String name, Class<?>[] types, Object... parameters) {
+        try {
+            return Class.forName(name).getConstructor(types).newInstance(parameters);
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException("Cannot create " + name, exception);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures MyTextEditor operations on every line store: editing at a random
+ * line, a scripted rewrite of many lines one by one and as a batch, a cursor
+ * sweep over the whole document, rendering it after each edit, rendering a
+ * viewport, and a parallel regular expression search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EditorBenchmark {
+
+    /** Number of precomputed random lines, a power of two. */
+    private static final int POSITIONS = 4096;
+
+    /** Number of lines rewritten by a script. */
+    private static final int SCRIPT = 256;
+
+    /** Number of lines in a viewport. */
+    private static final int VIEWPORT = 50;
+
+    /** Number of lines in the document. */
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int lines;
+
+    /** The line store the editor is built on. */
+    @Param({"array", "gap", "rope", "chunked", "sequence"})
+    public String store;
+
+    /** Whether the editor renders through a RenderCache. */
+    @Param({"false", "true"})
+    public boolean cached;
+
+    /** The editor under test. */
+    private EditorHandle editor;
+
+    /** Random line numbers, excluding the last line. */
+    private int[] positions;
+
+    /** Next entry of positions to use. */
+    private int next;
+
+    /** Evenly spread distinct lines rewritten by a script, bottom to top. */
+    private int[] script;
+
+    /** Builds the editor and draws the lines. */
+    @Setup
+    public void setUp() {
+        editor = Documents.filledEditor(store, lines, false, cached);
+        positions = Documents.randomLines(POSITIONS, lines - 1);
+        script = new int[SCRIPT];
+        for (int i = 0; i < SCRIPT; i++) {
+            script[i] = (int) ((long) (SCRIPT - 1 - i) * (lines - 1) / SCRIPT);
+        }
+    }
+
+    /** Jumps to a line, inserts a line after it and removes it again. */
+    @Benchmark
+    public int insertAndRemove() {
+        editor.moveCursorToLine(positions[next++ & (POSITIONS - 1)]);
+        editor.insertAfterCursor("inserted");
+        editor.removeAtCursor();
+        return editor.size();
+    }
+
+    /** Jumps to a line and replaces it. */
+    @Benchmark
+    public String replace() {
+        int line = positions[next++ & (POSITIONS - 1)];
+        editor.moveCursorToLine(line);
+        editor.replaceAtCursor(Documents.line(line));
+        return editor.getAtCursor();
+    }
+
+    /** Rewrites the script lines one edit at a time, from the bottom up. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int scriptedEdits() {
+        for (int line : script) {
+            editor.moveCursorToLine(line);
+            editor.insertAfterCursor("rewritten");
+            editor.moveCursorToLine(line);
+            editor.removeAtCursor();
+        }
+        return editor.size();
+    }
+
+    /** Rewrites the script lines in a single batch. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int batchedEdits() {
+        editor.batchRewrite(script, "rewritten");
+        return editor.size();
+    }
+
+    /** Reads every line from top to bottom through the cursor. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void cursorSweep(Blackhole blackhole) {
+        editor.moveCursorToLine(0);
+        for (int line = 0; line < lines; line++) {
+            blackhole.consume(editor.getAtCursor());
+            editor.cursorDown();
+        }
+    }
+
+    /** Replaces a line and rebuilds the full text, as a redraw after a keystroke. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String replaceAndRender() {
+        int line = positions[next++ & (POSITIONS - 1)];
+        editor.moveCursorToLine(line);
+        editor.replaceAtCursor(Documents.line(line));
+        return editor.render();
+    }
+
+    /** Builds the text of the lines around a random line. */
+    @Benchmark
+    public String viewport() {
+        int from = Math.max(0, Math.min(positions[next++ & (POSITIONS - 1)], lines - VIEWPORT));
+        return editor.render(from, Math.min(from + VIEWPORT, lines));
+    }
+
+    /** Counts the lines of workers numbered ...7 with a parallel search. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int search() {
+        return editor.countMatches("worker-\\d*7 ");
+    }
+
+    /** Builds the full document text. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String render() {
+        return editor.render();
+    }
+}
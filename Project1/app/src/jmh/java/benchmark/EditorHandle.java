@@ -0,0 +1,87 @@
+package benchmark;
+
+/**
+ * The editor operations measured by the benchmarks. MyTextEditor lives in the
+ * unnamed package, which code in a named package cannot refer to, so the
+ * benchmarks reach it through this interface instead.
+ */
+public interface EditorHandle {
+
+    /**
+     * Returns the current number of lines of text.
+     *
+     * @return the current number of lines
+     */
+    int size();
+
+    /**
+     * Sets the cursor to be the line ranked i.
+     *
+     * @param line The target line number.
+     */
+    void moveCursorToLine(int line);
+
+    /**
+     * Sets the cursor to be the text line after its current position.
+     */
+    void cursorDown();
+
+    /**
+     * Get the current line at the cursor.
+     *
+     * @return The line of text at the cursor.
+     */
+    String getAtCursor();
+
+    /**
+     * Inserts a given string in the line after the current cursor.
+     *
+     * @param insertion The string to be inserted.
+     */
+    void insertAfterCursor(String insertion);
+
+    /**
+     * Replaces the string at the current cursor.
+     *
+     * @param replacement The string to be inserted.
+     */
+    void replaceAtCursor(String replacement);
+
+    /**
+     * Removes the entire line at the current cursor.
+     */
+    void removeAtCursor();
+
+    /**
+     * Replaces each of the given lines by a new line in one batch: the line
+     * is removed and the new one inserted after it.
+     *
+     * @param lines The distinct lines to rewrite, as numbered before the batch.
+     * @param text  The new text of every rewritten line.
+     */
+    void batchRewrite(int[] lines, String text);
+
+    /**
+     * Builds the whole document as one string.
+     *
+     * @return The document text.
+     */
+    String render();
+
+    /**
+     * Builds the lines from fromLine (inclusive) to toLine (exclusive).
+     *
+     * @param fromLine The index of the first line to render.
+     * @param toLine   The index after the last line to render.
+     * @return The text of the lines.
+     */
+    String render(int fromLine, int toLine);
+
+    /**
+     * Counts the matches of a regular expression in the whole document.
+     *
+     * @param regex The pattern to look for.
+     * @return The number of matches.
+     */
+    int countMatches(String regex);
+}
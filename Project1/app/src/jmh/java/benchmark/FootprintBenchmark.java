@@ -0,0 +1,67 @@
+package benchmark;
+
+import list.List;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the heap retained per line by each line store, reported as the
+ * bytesPerLine counter. Unlike the other benchmarks every line is a distinct
+ * string, the way lines read from a log file are. Run with -PjmhProfilers=gc
+ * to compare the collection time each store causes as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class FootprintBenchmark {
+
+    /** Number of lines in the document. */
+    @Param({"1000000"})
+    public int lines;
+
+    /** The line store under test. */
+    @Param({"array", "sequence", "compact", "offheap"})
+    public String store;
+
+    /** The heap retained by the last document loaded. */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Retained {
+
+        /** Heap bytes per line. */
+        public long bytesPerLine;
+    }
+
+    /**
+     * Loads a document of distinct lines and records the heap it retains.
+     *
+     * @param retained The counter to report to.
+     * @return The document, kept alive until it is measured.
+     */
+    @Benchmark
+    public List<String> load(Retained retained) {
+        long before = Documents.usedHeap();
+        List<String> document = Documents.newStore(store);
+        String[] block = new String[1024];
+        for (int done = 0; done < lines; done += block.length) {
+            int count = Math.min(block.length, lines - done);
+            for (int i = 0; i < count; i++) {
+                block[i] = "2024-01-01 00:00:00 INFO worker-" + (done + i) + " request handled";
+            }
+            document.addAll(document.size(), block, 0, count);
+        }
+        block = null; // help garbage collection
+        retained.bytesPerLine = (Documents.usedHeap() - before) / lines;
+        return document;
+    }
+}
@@ -0,0 +1,76 @@
+package benchmark;
+
+import list.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures single-element operations at random indices on every line store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListBenchmark {
+
+    /** Number of precomputed random indices, a power of two. */
+    private static final int POSITIONS = 4096;
+
+    /** Number of lines in the document. */
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int lines;
+
+    /** The line store under test. */
+    @Param({"array", "gap", "rope", "chunked", "sequence", "compact"})
+    public String store;
+
+    /** The document being edited. */
+    private List<String> document;
+
+    /** Random indices, so every invocation touches a different spot. */
+    private int[] positions;
+
+    /** Next entry of positions to use. */
+    private int next;
+
+    /** Fills the document and draws the indices. */
+    @Setup
+    public void setUp() {
+        document = Documents.filledStore(store, lines);
+        positions = Documents.randomLines(POSITIONS, lines);
+    }
+
+    /** Inserts an element and removes it again, leaving the size unchanged. */
+    @Benchmark
+    public String randomInsertRemove() {
+        int index = positions[next++ & (POSITIONS - 1)];
+        document.add(index, "inserted");
+        return document.remove(index);
+    }
+
+    /** Replaces an element. */
+    @Benchmark
+    public String randomSet() {
+        int index = positions[next++ & (POSITIONS - 1)];
+        return document.set(index, Documents.line(index));
+    }
+
+    /** Reads an element. */
+    @Benchmark
+    public String randomGet() {
+        return document.get(positions[next++ & (POSITIONS - 1)]);
+    }
+}
@@ -0,0 +1,89 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading a document from a file with each loader. The file is a
+ * log of distinct lines with "\r\n" line endings and trailing whitespace on
+ * every fourth line, so trimming has work to do. The parallel loader splits
+ * the file over the common fork/join pool; run with
+ * -Djava.util.concurrent.ForkJoinPool.common.parallelism=N to see how it
+ * scales with the number of threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadBenchmark {
+
+    /** Number of lines in the file. */
+    @Param({"1000000"})
+    public int lines;
+
+    /** The loader under test. */
+    @Param({"readAllLines", "trim", "keep", "normalize", "parallel", "offheap"})
+    public String loader;
+
+    /** The file read. */
+    private Path file;
+
+    /** The loaders. */
+    private LoaderHandle loaders;
+
+    /**
+     * Writes the file.
+     *
+     * @throws IOException if the file could not be written.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        file = Files.createTempFile("load", ".log");
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < lines; i++) {
+                out.write("2024-01-01 00:00:00 INFO worker-" + i + " request handled");
+                out.write(i % 4 == 0 ? "  \r\n" : "\r\n");
+            }
+        }
+        loaders = Documents.newLoader();
+    }
+
+    /**
+     * Deletes the file.
+     *
+     * @throws IOException if the file could not be deleted.
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Reads the whole file.
+     *
+     * @return The number of lines read.
+     * @throws IOException if the file could not be read.
+     */
+    @Benchmark
+    public int load() throws IOException {
+        return loaders.load(file, loader);
+    }
+}
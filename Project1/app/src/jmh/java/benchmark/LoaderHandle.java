@@ -0,0 +1,22 @@
+package benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * The ways of loading a document measured by the benchmarks. The loaders live
+ * in the unnamed package, which code in a named package cannot refer to, so
+ * the benchmarks reach them through this interface instead.
+ */
+public interface LoaderHandle {
+
+    /**
+     * Reads a file into lines.
+     *
+     * @param file   The file to read.
+     * @param loader The loader to use, as named by the benchmark parameter.
+     * @return The number of lines read.
+     * @throws IOException if the file could not be read.
+     */
+    int load(Path file, String loader) throws IOException;
+}
@@ -0,0 +1,90 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the overhead of an InstrumentedTextEditor: the cheapest editor
+ * operations, where the cost of counting and timing shows the most, with
+ * and without metrics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    /** Number of precomputed random lines, a power of two. */
+    private static final int POSITIONS = 4096;
+
+    /** Number of lines in the document. */
+    @Param({"100000"})
+    public int lines;
+
+    /** The line store the editor is built on. */
+    @Param({"sequence"})
+    public String store;
+
+    /** Whether the editor records metrics. */
+    @Param({"false", "true"})
+    public boolean instrumented;
+
+    /** The editor under test. */
+    private EditorHandle editor;
+
+    /** Random line numbers, excluding the last line. */
+    private int[] positions;
+
+    /** Next entry of positions to use. */
+    private int next;
+
+    /** Builds the editor and draws the lines. */
+    @Setup
+    public void setUp() {
+        editor = Documents.filledEditor(store, lines, instrumented);
+        positions = Documents.randomLines(POSITIONS, lines - 1);
+    }
+
+    /** Jumps to a line, inserts a line after it and removes it again. */
+    @Benchmark
+    public int insertAndRemove() {
+        editor.moveCursorToLine(positions[next++ & (POSITIONS - 1)]);
+        editor.insertAfterCursor("inserted");
+        editor.removeAtCursor();
+        return editor.size();
+    }
+
+    /** Jumps to a line and replaces it. */
+    @Benchmark
+    public String replace() {
+        int line = positions[next++ & (POSITIONS - 1)];
+        editor.moveCursorToLine(line);
+        editor.replaceAtCursor(Documents.line(line));
+        return editor.getAtCursor();
+    }
+
+    /** Reads every line from top to bottom through the cursor. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void cursorSweep(Blackhole blackhole) {
+        editor.moveCursorToLine(0);
+        for (int line = 0; line < lines; line++) {
+            blackhole.consume(editor.getAtCursor());
+            editor.cursorDown();
+        }
+    }
+}
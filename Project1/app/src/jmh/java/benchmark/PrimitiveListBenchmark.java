@@ -0,0 +1,120 @@
+package benchmark;
+
+import list.ArrayBackedList;
+import list.IntArrayBackedList;
+import list.LongArrayBackedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the primitive int and long lists with a boxed ArrayBackedList of
+ * the same values. The fill benchmarks build a whole list, so run them with
+ * -PjmhProfilers=gc: gc.alloc.rate.norm is then the footprint of the list in
+ * bytes, growth included. The values lie outside the Integer cache, so every
+ * boxed element is a separate object.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitiveListBenchmark {
+
+    /** Number of elements in each list. */
+    @Param({"1000", "1000000"})
+    public int size;
+
+    /** A boxed list of the values. */
+    private ArrayBackedList<Integer> boxed;
+
+    /** An int list of the same values. */
+    private IntArrayBackedList ints;
+
+    /** A long list of the same values. */
+    private LongArrayBackedList longs;
+
+    /** Fills the lists read by the sum benchmarks. */
+    @Setup
+    public void setUp() {
+        boxed = fillBoxed();
+        ints = fillInt();
+        longs = fillLong();
+    }
+
+    /** Returns the value stored at index i, outside the Integer cache. */
+    private static int value(int i) {
+        return 1000 + 31 * i;
+    }
+
+    /** Builds a boxed list one element at a time. */
+    @Benchmark
+    public ArrayBackedList<Integer> fillBoxed() {
+        ArrayBackedList<Integer> list = new ArrayBackedList<>();
+        for (int i = 0; i < size; i++) {
+            list.add(i, value(i));
+        }
+        return list;
+    }
+
+    /** Builds an int list one element at a time. */
+    @Benchmark
+    public IntArrayBackedList fillInt() {
+        IntArrayBackedList list = new IntArrayBackedList();
+        for (int i = 0; i < size; i++) {
+            list.addLast(value(i));
+        }
+        return list;
+    }
+
+    /** Builds a long list one element at a time. */
+    @Benchmark
+    public LongArrayBackedList fillLong() {
+        LongArrayBackedList list = new LongArrayBackedList();
+        for (int i = 0; i < size; i++) {
+            list.addLast(value(i));
+        }
+        return list;
+    }
+
+    /** Reads every element of the boxed list, unboxing each one. */
+    @Benchmark
+    public long sumBoxed() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += boxed.get(i);
+        }
+        return sum;
+    }
+
+    /** Reads every element of the int list. */
+    @Benchmark
+    public long sumInt() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += ints.getInt(i);
+        }
+        return sum;
+    }
+
+    /** Reads every element of the long list. */
+    @Benchmark
+    public long sumLong() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += longs.getLong(i);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,90 @@
+package benchmark;
+
+import list.Position;
+import list.Sequence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the positional operations of ArraySequence: atIndex, indexOf and
+ * navigation from a position, with and without edits in between.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SequenceBenchmark {
+
+    /** Number of precomputed random positions, a power of two. */
+    private static final int POSITIONS = 4096;
+
+    /** Number of lines in the document. */
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int lines;
+
+    /** The sequence under test. */
+    private Sequence<String> sequence;
+
+    /** Random indices. */
+    private int[] indices;
+
+    /** The positions at those indices. */
+    private Position<String>[] positions;
+
+    /** Next entry to use. */
+    private int next;
+
+    /** Fills the sequence and collects the positions. */
+    @Setup
+    @SuppressWarnings("unchecked") // generic array
+    public void setUp() {
+        sequence = Documents.newSequence();
+        Documents.fill(sequence, lines);
+        indices = Documents.randomLines(POSITIONS, lines);
+        positions = (Position<String>[]) new Position<?>[POSITIONS];
+        for (int i = 0; i < POSITIONS; i++) {
+            positions[i] = sequence.atIndex(indices[i]);
+        }
+    }
+
+    /** Looks up the position at an index. */
+    @Benchmark
+    public Position<String> atIndex() {
+        return sequence.atIndex(indices[next++ & (POSITIONS - 1)]);
+    }
+
+    /** Looks up the index of a position. */
+    @Benchmark
+    public int indexOf() {
+        return sequence.indexOf(positions[next++ & (POSITIONS - 1)]);
+    }
+
+    /** Navigates to the neighbour of a position. */
+    @Benchmark
+    public Position<String> after() {
+        return sequence.after(positions[next++ & (POSITIONS - 1)]);
+    }
+
+    /** Inserts in front of a position, asks for its index, and undoes the insertion. */
+    @Benchmark
+    public int indexOfAfterEdit() {
+        Position<String> position = positions[next++ & (POSITIONS - 1)];
+        sequence.addBefore(position, "inserted");
+        int index = sequence.indexOf(position);
+        sequence.remove(index - 1);
+        return index;
+    }
+}
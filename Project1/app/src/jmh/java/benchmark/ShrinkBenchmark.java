@@ -0,0 +1,76 @@
+package benchmark;
+
+import list.GrowthPolicy;
+import list.List;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the heap a line store retains after most of a large document was
+ * deleted, reported as the retainedBytes counter, for the default policy and
+ * for one that shrinks below a quarter full. The lines themselves are shared
+ * strings, so the counter is essentially the store's own arrays. Deleting
+ * line by line from the end exercises the shrinking on every removal, and
+ * the time of the benchmark shows what that costs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ShrinkBenchmark {
+
+    /** Number of lines in the document before the deletion. */
+    @Param({"1000000"})
+    public int lines;
+
+    /** Percentage of the lines deleted. */
+    @Param({"90"})
+    public int deleted;
+
+    /** The line store under test. */
+    @Param({"array", "sequence"})
+    public String store;
+
+    /** The growth policy of the store. */
+    @Param({"doubling", "shrinking"})
+    public String policy;
+
+    /** The heap retained by the last document trimmed. */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Retained {
+
+        /** Heap bytes retained by the document after the deletion. */
+        public long retainedBytes;
+    }
+
+    /**
+     * Loads a document, deletes most of it one line at a time and records
+     * the heap the document still retains.
+     *
+     * @param retained The counter to report to.
+     * @return The document, kept alive until it is measured.
+     */
+    @Benchmark
+    public List<String> deleteMost(Retained retained) {
+        long before = Documents.usedHeap();
+        List<String> document = Documents.newStore(store, "shrinking".equals(policy)
+                ? GrowthPolicy.DOUBLING.shrinkingBelow(4) : GrowthPolicy.DOUBLING);
+        Documents.fill(document, lines);
+        int keep = lines - (int) ((long) lines * deleted / 100);
+        while (document.size() > keep) {
+            document.remove(document.size() - 1);
+        }
+        retained.retainedBytes = Documents.usedHeap() - before;
+        return document;
+    }
+}
@@ -1,11 +1,20 @@
-import list.ArrayBackedList;
+import list.GapBufferList;
+import list.GrowthPolicy;
+import list.ListCounters;
 import list.Position;
 import list.Sequence;
 
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
 
 /**
  * Implementation of an ArraySequence,
  * which combines lists and positional lists, storing them using an Array.
+ * The array is a gap buffer, and every position remembers the array slot it
+ * sits in, so indexOf stays O(1) and correct after any insertion or removal.
  *
  * @author Saqlain Anjum
  * @version 1.0.0
@@ -16,14 +25,14 @@ public class ArraySequence<E> implements Sequence<E> {
     /**
      * An array-backed list of Sequence Nodes.
      */
-    ArrayBackedList<SequenceNode<E>> items;
+    NodeBuffer<E> items;
 
 
     /**
      * An ArraySequence Constructor that is created without specific size.
      */
     public ArraySequence() {
-        items = new ArrayBackedList<SequenceNode<E>>();
+        this(GapBufferList.INITIAL_CAPACITY);
     }
 
 
@@ -33,12 +42,55 @@ public class ArraySequence<E> implements Sequence<E> {
      * @param size The specified size.
      */
     public ArraySequence(int size) {
-        items = new ArrayBackedList<SequenceNode<E>>(size);
+        this(size, GrowthPolicy.DOUBLING);
     }
 
 
     /**
-     * Builds the formatted string representation of an ArraySequence object.
+     * An ArraySequence Constructor that is created with a specified size and
+     * a policy for growing and shrinking the underlying gap buffer, such as
+     * one that gives memory back after large deletions.
+     *
+     * @param size   The specified size.
+     * @param policy The growth policy.
+     */
+    public ArraySequence(int size, GrowthPolicy policy) {
+        items = new NodeBuffer<E>(size, policy);
+    }
+
+
+    /**
+     * Shrinks the underlying gap buffer to the size of the sequence.
+     */
+    public void trimToSize() {
+        items.trimToSize();
+    }
+
+
+    /**
+     * Returns the length of the underlying gap buffer.
+     *
+     * @return The number of elements the sequence can hold without resizing.
+     */
+    public int capacity() {
+        return items.capacity();
+    }
+
+
+    /**
+     * Reports the resizes of the underlying gap buffer and the elements it
+     * moves to the given counters from now on.
+     *
+     * @param counters The counters, or null to stop counting.
+     */
+    public void setCounters(ListCounters counters) {
+        items.setCounters(counters);
+    }
+
+
+    /**
+     * Builds the formatted string representation of an ArraySequence object,
+     * walking the gap buffer once instead of looking up every index.
      *
      * @return Formatted string representation of an ArraySequence object.
      */
@@ -46,19 +98,44 @@ public class ArraySequence<E> implements Sequence<E> {
     public String toString() {
         StringBuilder newString = new StringBuilder();
         newString.append("{");
-        for (int i = 0; i < size(); i++) {
-            SequenceNode<E> currentNode = items.get(i);
-            newString.append("(").append(currentNode.index).append(",").append(currentNode.getElement()).append(")");
-            if (i + 1 != size()) {
+        Iterator<SequenceNode<E>> nodes = items.iterator(0);
+        for (int i = 0; nodes.hasNext(); i++) {
+            SequenceNode<E> currentNode = nodes.next();
+            if (i > 0) {
                 newString.append(",");
-            } else {
-                newString.append("}");
             }
+            newString.append("(").append(i).append(",").append(currentNode.getElement()).append(")");
         }
+        newString.append("}");
         return newString.toString();
     }
 
 
+    /**
+     * Returns an iterator over the elements from the given index on, which
+     * walks the gap buffer directly and fails fast once the sequence was
+     * changed other than through set.
+     *
+     * @param from The index of the first element returned.
+     * @return An iterator starting at from.
+     */
+    public Iterator<E> iterator(int from) {
+        return new ElementIterator<>(items.iterator(from));
+    }
+
+
+    /**
+     * Returns a SIZED and SUBSIZED spliterator over the elements, which
+     * splits the gap buffer in halves, so parallelStream hands each core an
+     * equal run of elements.
+     *
+     * @return A spliterator over the elements in order.
+     */
+    public Spliterator<E> spliterator() {
+        return new ElementSpliterator<>(items.spliterator());
+    }
+
+
     /**
      * A method which returns the size of the ArraySequence.
      *
@@ -98,9 +175,10 @@ public class ArraySequence<E> implements Sequence<E> {
      * @return the previously stored element.
      */
     public E set(int index, E element) {
-        SequenceNode<E> newNode = new SequenceNode<E>(element, index);
-        SequenceNode<E> prevElement = items.set(index, newNode);
-        return prevElement.getElement();
+        SequenceNode<E> node = items.get(index);
+        E prevElement = node.element;
+        node.element = element;
+        return prevElement;
     }
 
     /**
@@ -111,7 +189,7 @@ public class ArraySequence<E> implements Sequence<E> {
      * @param element The new element to be stored.
      */
     public void add(int index, E element) {
-        SequenceNode<E> toAdd = new SequenceNode<E>(element, index);
+        SequenceNode<E> toAdd = new SequenceNode<E>(element);
         items.add(index, toAdd);
     }
 
@@ -123,9 +201,58 @@ public class ArraySequence<E> implements Sequence<E> {
      * @return The element that had be stored at the given index.
      */
     public E remove(int index) {
-        E removedObject = get(index);
-        items.remove(index);
-        return removedObject;
+        SequenceNode<E> removedNode = items.remove(index);
+        removedNode.slot = -1; // invalidate the position
+        return removedNode.element;
+    }
+
+    /**
+     * Inserts len elements of the given array, starting with src[off], at the
+     * specified index, wrapping each in a new SequenceNode and storing all of
+     * them with a single bulk insertion.
+     *
+     * @param index The index at which the first new element should be stored.
+     * @param src   The array holding the new elements.
+     * @param off   The position in src of the first new element.
+     * @param len   The number of elements to insert.
+     */
+    @SuppressWarnings("unchecked") // safe cast
+    public void addAll(int index, E[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        SequenceNode<E>[] nodes = (SequenceNode<E>[]) new SequenceNode<?>[len];
+        for (int i = 0; i < len; i++) {
+            nodes[i] = new SequenceNode<E>(src[off + i]);
+        }
+        items.addAll(index, nodes, 0, len);
+    }
+
+    /**
+     * Removes the elements with indices from (inclusive) to to (exclusive),
+     * invalidating their positions.
+     *
+     * @param from The index of the first element to remove.
+     * @param to   The index after the last element to remove.
+     */
+    public void removeRange(int from, int to) {
+        Objects.checkFromToIndex(from, to, size());
+        Object[] removed = new Object[to - from];
+        Iterator<SequenceNode<E>> nodes = items.iterator(from);
+        for (int i = 0; i < removed.length; i++) {
+            removed[i] = nodes.next();
+        }
+        items.removeRange(from, to);
+        for (Object node : removed) {
+            ((SequenceNode<?>) node).slot = -1; // invalidate the position
+        }
+    }
+
+    /**
+     * Makes room for at least the given number of elements.
+     *
+     * @param capacity The number of elements the sequence should be able to hold.
+     */
+    public void ensureCapacity(int capacity) {
+        items.ensureCapacity(capacity);
     }
 
     /**
@@ -153,12 +280,8 @@ public class ArraySequence<E> implements Sequence<E> {
      * @return The Position of the preceding element (or null, if p is first).
      */
     public Position<E> before(Position<E> item) {
-        if (isEmpty()) {
-            return null;
-        }
         int indexOfItem = indexOf(item);
-        Position<E> beforeItem = atIndex(indexOfItem - 1);
-        return beforeItem;
+        return (indexOfItem == 0) ? null : atIndex(indexOfItem - 1);
     }
 
     /**
@@ -168,12 +291,8 @@ public class ArraySequence<E> implements Sequence<E> {
      * @return The Position of the following element (or null, if p is last)
      */
     public Position<E> after(Position<E> item) {
-        if (isEmpty()) {
-            return null;
-        }
         int indexOfItem = indexOf(item);
-        Position<E> afterItem = atIndex(indexOfItem + 1);
-        return afterItem;
+        return (indexOfItem == size() - 1) ? null : atIndex(indexOfItem + 1);
     }
 
     /**
@@ -184,10 +303,6 @@ public class ArraySequence<E> implements Sequence<E> {
      */
     public Position<E> addFirst(E element) {
         add(0, element);
-        for (int i = 0; i < size(); i++) {
-            SequenceNode<E> currentItem = items.get(i);
-            currentItem.index = i;
-        }
         return first();
     }
 
@@ -212,7 +327,7 @@ public class ArraySequence<E> implements Sequence<E> {
     public Position<E> addBefore(Position<E> item, E element) {
         int beforeIndex = indexOf(item);
         add(beforeIndex, element);
-        return before(item);
+        return atIndex(beforeIndex);
     }
 
     /**
@@ -223,9 +338,9 @@ public class ArraySequence<E> implements Sequence<E> {
      * @return the Position representing the location of the new element
      */
     public Position<E> addAfter(Position<E> item, E element) {
-        int afterIndex = indexOf(item);
+        int afterIndex = indexOf(item) + 1;
         add(afterIndex, element);
-        return after(item);
+        return atIndex(afterIndex);
     }
 
     /**
@@ -237,9 +352,10 @@ public class ArraySequence<E> implements Sequence<E> {
      * @return The replaced element.
      */
     public E set(Position<E> position, E element) {
-        SequenceNode<E> positionNode = (SequenceNode<E>) position;
+        SequenceNode<E> positionNode = validate(position);
+        E prevElement = positionNode.element;
         positionNode.element = element;
-        return position.getElement();
+        return prevElement;
     }
 
     /**
@@ -250,9 +366,7 @@ public class ArraySequence<E> implements Sequence<E> {
      * @return The removed element.
      */
     public E remove(Position<E> item) {
-        int indexToRemove = indexOf(item);
-        items.remove(indexToRemove);
-        return item.getElement();
+        return remove(indexOf(item));
     }
 
     /**
@@ -272,8 +386,26 @@ public class ArraySequence<E> implements Sequence<E> {
      * @return The index of the element at the specified Position.
      */
     public int indexOf(Position<E> item) {
-        SequenceNode<E> itemSequenceNode = (SequenceNode<E>) item;
-        return itemSequenceNode.index;
+        return items.indexOfSlot(validate(item).slot);
+    }
+
+    /**
+     * Checks that a Position was handed out by this ArraySequence and has
+     * not been removed since.
+     *
+     * @param item The Position to check.
+     * @return The Position as a SequenceNode.
+     * @throws IllegalArgumentException if the Position is not valid for this list.
+     */
+    private SequenceNode<E> validate(Position<E> item) throws IllegalArgumentException {
+        if (!(item instanceof SequenceNode<E> node) || node.slot < 0) {
+            throw new IllegalArgumentException("Invalid position!");
+        }
+        int index = items.indexOfSlot(node.slot);
+        if (index < 0 || index >= size() || items.get(index) != node) {
+            throw new IllegalArgumentException("Position does not belong to this sequence!");
+        }
+        return node;
     }
 
     /**
@@ -285,9 +417,9 @@ public class ArraySequence<E> implements Sequence<E> {
     private static class SequenceNode<E> implements Position<E> {
 
         /**
-         * The index for the SequenceNode backed up in an Array.
+         * The array slot holding this SequenceNode, or -1 once it is removed.
          */
-        private int index = 0;
+        private int slot = -1;
         /**
          * The element stored in a SequenceNode object.
          */
@@ -297,24 +429,174 @@ public class ArraySequence<E> implements Sequence<E> {
          * A SequenceNode object constructor.
          *
          * @param element the element stored in the object.
-         * @param index   the index of the element for the Array-backed implementation.
          */
-        public SequenceNode(E element, int index) {
+        public SequenceNode(E element) {
             this.element = element;
-            this.index = index;
         }
 
         /**
          * A utility method for accessing the element stored in a SequenceNode.
          *
          * @return The element stored.
-         * @throws IllegalStateException
+         * @throws IllegalStateException if the position was removed.
          */
         public E getElement() throws IllegalStateException {
-            if (element.equals(null)) {
+            if (slot < 0) {
                 throw new IllegalStateException("Position no longer valid!");
             }
             return element;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * A gap buffer of SequenceNodes that tells every node which array slot
+     * it occupies whenever the node is stored or moved. Moving a node only
+     * happens when the gap passes over it, so keeping the slots current costs
+     * nothing beyond the move itself.
+     *
+     * @version 1.0.0
+     */
+    static class NodeBuffer<E> extends GapBufferList<SequenceNode<E>> {
+
+        /**
+         * A NodeBuffer constructor.
+         *
+         * @param capacity The initial capacity of the array.
+         * @param policy   The growth policy of the array.
+         */
+        NodeBuffer(int capacity, GrowthPolicy policy) {
+            super(capacity, policy);
+        }
+
+        /**
+         * Records the new array slot in the moved SequenceNode.
+         *
+         * @param node The SequenceNode that was written.
+         * @param slot The array slot it now occupies.
+         */
+        @Override
+        protected void relocated(SequenceNode<E> node, int slot) {
+            node.slot = slot;
+        }
+
+        /**
+         * Exposes the slot-to-index translation to the enclosing sequence.
+         *
+         * @param slot The array slot of a stored SequenceNode.
+         * @return The current index of that SequenceNode.
+         */
+        @Override
+        protected int indexOfSlot(int slot) {
+            return super.indexOfSlot(slot);
+        }
+    }
+
+
+    /**
+     * An iterator over the elements of the nodes an iterator of the gap
+     * buffer returns.
+     */
+    private static class ElementIterator<E> implements Iterator<E> {
+
+        /**
+         * The iterator over the nodes.
+         */
+        private final Iterator<SequenceNode<E>> nodes;
+
+        /**
+         * An ElementIterator constructor.
+         *
+         * @param nodes The iterator over the nodes.
+         */
+        ElementIterator(Iterator<SequenceNode<E>> nodes) {
+            this.nodes = nodes;
+        }
+
+        /**
+         * Tests whether there is another element.
+         *
+         * @return true if next() returns an element.
+         */
+        public boolean hasNext() {
+            return nodes.hasNext();
+        }
+
+        /**
+         * Returns the next element.
+         *
+         * @return The element of the next node.
+         */
+        public E next() {
+            return nodes.next().element;
+        }
+    }
+
+
+    /**
+     * A spliterator over the elements of the nodes a spliterator of the gap
+     * buffer covers, splitting where it splits.
+     */
+    private static class ElementSpliterator<E> implements Spliterator<E> {
+
+        /**
+         * The spliterator over the nodes.
+         */
+        private final Spliterator<SequenceNode<E>> nodes;
+
+        /**
+         * An ElementSpliterator constructor.
+         *
+         * @param nodes The spliterator over the nodes.
+         */
+        ElementSpliterator(Spliterator<SequenceNode<E>> nodes) {
+            this.nodes = nodes;
+        }
+
+        /**
+         * Splits off the first half of the remaining elements.
+         *
+         * @return A spliterator over the first half, or null if too small.
+         */
+        public Spliterator<E> trySplit() {
+            Spliterator<SequenceNode<E>> prefix = nodes.trySplit();
+            return (prefix == null) ? null : new ElementSpliterator<>(prefix);
+        }
+
+        /**
+         * Passes the next element to the action, if there is one.
+         *
+         * @param action The action.
+         * @return true if there was an element.
+         */
+        public boolean tryAdvance(Consumer<? super E> action) {
+            return nodes.tryAdvance(node -> action.accept(node.element));
+        }
+
+        /**
+         * Passes every remaining element to the action.
+         *
+         * @param action The action.
+         */
+        public void forEachRemaining(Consumer<? super E> action) {
+            nodes.forEachRemaining(node -> action.accept(node.element));
+        }
+
+        /**
+         * Returns the number of remaining elements.
+         *
+         * @return The exact number of elements left.
+         */
+        public long estimateSize() {
+            return nodes.estimateSize();
+        }
+
+        /**
+         * Returns the characteristics of the node spliterator.
+         *
+         * @return ORDERED, SIZED and SUBSIZED.
+         */
+        public int characteristics() {
+            return nodes.characteristics();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+import list.List;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * A document being read on a background thread. The lines are decoded by a
+ * DocumentLoader and handed over in blocks, which the thread owning the
+ * editor appends to its line store whenever it looks at the text, so that
+ * the top of a large file can be read while the rest is still arriving and
+ * the line store itself is never touched by two threads.
+ *
+ * <p>The first blocks are small, so the first screen of text is available
+ * almost at once; later blocks grow, so appending them costs next to nothing
+ * per line.
+ *
+ * @version 1.0.0
+ */
+public class BackgroundLoad {
+
+    /**
+     * The number of lines in the first block.
+     */
+    static final int FIRST_BLOCK = 256;
+    /**
+     * The largest number of lines in a block.
+     */
+    static final int MAX_BLOCK = 16384;
+
+    /**
+     * The blocks decoded and not yet appended, in file order.
+     */
+    private final ConcurrentLinkedQueue<String[]> blocks = new ConcurrentLinkedQueue<>();
+    /**
+     * The thread reading the file.
+     */
+    private final Thread thread;
+    /**
+     * The loader decoding the lines.
+     */
+    private final DocumentLoader loader;
+    /**
+     * The file being read.
+     */
+    private final Path source;
+    /**
+     * The number of lines handed over so far.
+     */
+    private volatile int linesRead = 0;
+    /**
+     * True once the thread has handed over its last block.
+     */
+    private volatile boolean finished = false;
+    /**
+     * True once cancel was called.
+     */
+    private volatile boolean cancelled = false;
+    /**
+     * The reason reading stopped early, or null.
+     */
+    private volatile IOException failure;
+
+    /**
+     * A BackgroundLoad constructor, which starts reading the file at once.
+     * The thread is a daemon, so a load still running does not keep the
+     * program alive.
+     *
+     * @param source The path of the file to read.
+     * @param loader The loader decoding the lines.
+     */
+    public BackgroundLoad(Path source, DocumentLoader loader) {
+        this.source = source;
+        this.loader = loader;
+        thread = new Thread(this::run, "BackgroundLoad " + source.getFileName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Reads the file, handing the lines over block by block.
+     */
+    private void run() {
+        Blocks sink = new Blocks();
+        try {
+            loader.read(source, sink);
+            sink.publish();
+        } catch (IOException exception) {
+            failure = exception;
+        } catch (CancellationException exception) {
+            // stopped by cancel
+        } finally {
+            finished = true;
+        }
+    }
+
+    /**
+     * Appends every block handed over so far to the end of the given list.
+     * Only the thread owning the list may call this.
+     *
+     * @param lines The list to append the lines to.
+     * @return true if the load is over and every line has been appended.
+     */
+    boolean drainTo(List<String> lines) {
+        boolean over = finished; // read first: every block of a finished load is queued
+        for (String[] block = blocks.poll(); block != null; block = blocks.poll()) {
+            lines.addAll(lines.size(), block, 0, block.length);
+        }
+        return over;
+    }
+
+    /**
+     * Returns the number of lines read so far, including those not yet
+     * appended to the editor.
+     *
+     * @return the number of lines read
+     */
+    public int linesRead() {
+        return linesRead;
+    }
+
+    /**
+     * Returns true if the thread has stopped, after reading the whole file,
+     * failing or being cancelled.
+     *
+     * @return true if the load is over
+     */
+    public boolean isDone() {
+        return finished;
+    }
+
+    /**
+     * Waits for the load to be over.
+     *
+     * @throws IOException          if the file could not be read.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public void await() throws IOException, InterruptedException {
+        thread.join();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Stops reading; the lines handed over so far are kept.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Collects the decoded lines into blocks, on the reading thread.
+     */
+    private final class Blocks implements DocumentLoader.LineSink {
+
+        /**
+         * The block being filled.
+         */
+        private String[] block = new String[FIRST_BLOCK];
+        /**
+         * The number of lines in the block.
+         */
+        private int count = 0;
+
+        @Override
+        public void line(byte[] bytes, int from, int to, boolean ascii) {
+            if (cancelled) {
+                throw new CancellationException();
+            }
+            block[count++] = loader.decode(bytes, from, to, ascii);
+            if (count == block.length) {
+                publish();
+                block = new String[Math.min(2 * count, MAX_BLOCK)];
+                count = 0;
+            }
+        }
+
+        /**
+         * Hands the lines of the block over.
+         */
+        void publish() {
+            if (count > 0) {
+                blocks.add((count == block.length) ? block : Arrays.copyOf(block, count));
+                linesRead += count;
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+import list.List;
+import list.RopeList;
+
+import java.util.function.Consumer;
+
+/**
+ * A SimpleTextEditor that one editing thread and any number of reading threads
+ * can share. Edits go to a MyTextEditor built on a list.RopeList, one at a
+ * time. After every edit the editor publishes an immutable snapshot of the
+ * lines, which readers take with {@link #snapshot} without any locking.
+ *
+ * <p>Taking a snapshot of the rope costs O(1): the snapshot shares the tree of
+ * the rope, and the rope copies only the O(log n) nodes on the path of its
+ * next edit. Readers therefore never block the writer, and publishing never
+ * copies the document.
+ *
+ * @version 1.0.0
+ */
+public class ConcurrentTextEditor implements SimpleTextEditor {
+
+    /**
+     * The lines of the document, owned by the writer.
+     */
+    private final RopeList<String> lines = new RopeList<>();
+    /**
+     * The editor doing the edits; guarded by this object's lock.
+     */
+    private final MyTextEditor editor = new MyTextEditor(lines);
+    /**
+     * The snapshot of the lines after the most recent edit.
+     */
+    private volatile List<String> published = lines.snapshot();
+
+    /**
+     * Returns an immutable snapshot of the lines after the most recent
+     * edit. It never blocks and can be called from any thread.
+     *
+     * @return the lines of the document
+     */
+    public List<String> snapshot() {
+        return published;
+    }
+
+    /**
+     * Returns true if the text is completely empty (and cursor is at line -1).
+     *
+     * @return true if the text is empty and false otherwise
+     */
+    public synchronized boolean isEmpty() {
+        return editor.isEmpty();
+    }
+
+    /**
+     * Returns the current number of lines of text.
+     *
+     * @return the current number of lines
+     */
+    public synchronized int size() {
+        return editor.size();
+    }
+
+    /**
+     * Returns true if the cursor is at the last line in the text or the text
+     * is empty.
+     *
+     * @return true if the cursor is at the last line and false otherwise.
+     */
+    public synchronized boolean isCursorAtLastLine() {
+        return editor.isCursorAtLastLine();
+    }
+
+    /**
+     * Sets the cursor to be the text line after its current position.
+     */
+    public synchronized void cursorDown() {
+        editor.cursorDown();
+    }
+
+    /**
+     * Sets the cursor to be the text line before its current position.
+     */
+    public synchronized void cursorUp() {
+        editor.cursorUp();
+    }
+
+    /**
+     * Sets the cursor to be the line ranked i.
+     *
+     * @param line The target line number.
+     */
+    public synchronized void moveCursorToLine(int line) {
+        editor.moveCursorToLine(line);
+    }
+
+    /**
+     * Returns the line number of the current cursor.
+     *
+     * @return the line number of the cursor
+     */
+    public synchronized int cursorLineNum() {
+        return editor.cursorLineNum();
+    }
+
+    /**
+     * Inserts a given string in the line after the current cursor, moving the
+     * cursor to the line inserted.
+     *
+     * @param toInsert The string to be inserted.
+     */
+    public synchronized void insertAfterCursor(String toInsert) {
+        editor.insertAfterCursor(toInsert);
+        publish();
+    }
+
+    /**
+     * Inserts the given string in the line before the current cursor, moving the
+     * cursor to the line inserted.
+     *
+     * @param toInsert The string to be inserted.
+     */
+    public synchronized void insertBeforeCursor(String toInsert) {
+        editor.insertBeforeCursor(toInsert);
+        publish();
+    }
+
+    /**
+     * Get the current line at the cursor.
+     *
+     * @return The line of text at the cursor.
+     */
+    public synchronized String getAtCursor() {
+        return editor.getAtCursor();
+    }
+
+    /**
+     * Replaces the string at the current cursor with the given string, keeping
+     * the cursor at this line.
+     *
+     * @param replacement The string to be inserted.
+     */
+    public synchronized void replaceAtCursor(String replacement) {
+        editor.replaceAtCursor(replacement);
+        publish();
+    }
+
+    /**
+     * Removes the entire line at the current cursor, setting the cursor to now
+     * be the position of the next line, unless the cursor was the last line,
+     * in which case the cursor should move to the new last line.
+     */
+    public synchronized void removeAtCursor() {
+        editor.removeAtCursor();
+        publish();
+    }
+
+    /**
+     * Applies a batch of line edits in one pass, publishing one snapshot for
+     * the whole batch.
+     *
+     * @param edits The action submitting the edits.
+     */
+    public synchronized void batch(Consumer<EditBatch> edits) {
+        editor.batch(edits);
+        publish();
+    }
+
+    /**
+     * Reverts the most recent edit that was not undone yet.
+     *
+     * @return true if an edit was undone, false if there was none.
+     */
+    public synchronized boolean undo() {
+        boolean undone = editor.undo();
+        if (undone) {
+            publish();
+        }
+        return undone;
+    }
+
+    /**
+     * Repeats the most recently undone edit.
+     *
+     * @return true if an edit was redone, false if there was none.
+     */
+    public synchronized boolean redo() {
+        boolean redone = editor.redo();
+        if (redone) {
+            publish();
+        }
+        return redone;
+    }
+
+    /**
+     * Builds the combined and properly formatted string representation
+     * of each line of text.
+     *
+     * @return The combined string representation of each line.
+     */
+    @Override
+    public synchronized String toString() {
+        return editor.toString();
+    }
+
+    /**
+     * Publishes a snapshot of the lines as they are now.
+     */
+    private void publish() {
+        published = lines.snapshot();
+    }
+}
@@ -0,0 +1,227 @@
+import list.IntArrayBackedList;
+
+/**
+ * The extra cursors of a MyTextEditor: a sorted set of line numbers kept in
+ * an IntArrayBackedList, so k cursors cost 4k bytes and no boxing. The editor
+ * reports every edit to the set as a splice, and the cursors below the
+ * edited lines shift with the text, so a cursor keeps pointing at its line
+ * wherever lines are inserted or removed. Cursors that end up on the same
+ * line merge into one.
+ *
+ * <p>Reporting a splice costs a binary search plus O(k) for the cursors at
+ * and after it; looking at the cursors is O(1) per cursor.
+ *
+ * @version 1.0.0
+ * @see IndexOutOfBoundsException
+ */
+public class CursorSet {
+
+    /**
+     * The cursor lines, in ascending order and without duplicates.
+     */
+    private final IntArrayBackedList lines = new IntArrayBackedList();
+
+    /**
+     * Returns the number of cursors.
+     *
+     * @return the number of cursors
+     */
+    public int size() {
+        return lines.size();
+    }
+
+    /**
+     * Tests whether there are no cursors.
+     *
+     * @return true if there are no cursors, false otherwise
+     */
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    /**
+     * Returns the line of the cursor ranked i, counting from the top.
+     *
+     * @param index The rank of the cursor.
+     * @return The line of the cursor.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public int get(int index) throws IndexOutOfBoundsException {
+        return lines.getInt(index);
+    }
+
+    /**
+     * Tests whether there is a cursor on the given line.
+     *
+     * @param line The line number.
+     * @return true if a cursor is on the line, false otherwise
+     */
+    public boolean contains(int line) {
+        return lines.binarySearch(0, lines.size(), line) >= 0;
+    }
+
+    /**
+     * Adds a cursor on the given line, unless there is one already.
+     *
+     * @param line The line number, which is not checked against the text.
+     * @return true if the cursor was added, false if there was one
+     */
+    public boolean add(int line) {
+        int found = lines.binarySearch(0, lines.size(), line);
+        if (found >= 0) {
+            return false;
+        }
+        lines.addInt(-found - 1, line);
+        return true;
+    }
+
+    /**
+     * Adds cursors on the given lines, which must be in ascending order, such
+     * as the lines returned by MyTextEditor.findLines. The lines are merged
+     * with the cursors in one pass, in O(k + m) for m lines.
+     *
+     * @param sorted The line numbers, in ascending order.
+     * @throws IllegalArgumentException if the lines are not in ascending
+     *                                  order
+     */
+    public void addAll(int[] sorted) throws IllegalArgumentException {
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] < sorted[i - 1]) {
+                throw new IllegalArgumentException("Illegal order: " + sorted[i] + " after " + sorted[i - 1]);
+            }
+        }
+        int[] old = lines.toArray();
+        int[] merged = new int[old.length + sorted.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < old.length || j < sorted.length) {
+            int next = (j == sorted.length || (i < old.length && old[i] <= sorted[j])) ? old[i++] : sorted[j++];
+            if (count == 0 || merged[count - 1] != next) {
+                merged[count++] = next;
+            }
+        }
+        lines.clear();
+        lines.addAll(0, merged, 0, count);
+    }
+
+    /**
+     * Removes the cursor on the given line, if there is one.
+     *
+     * @param line The line number.
+     * @return true if a cursor was removed, false if there was none
+     */
+    public boolean remove(int line) {
+        int found = lines.binarySearch(0, lines.size(), line);
+        if (found < 0) {
+            return false;
+        }
+        lines.removeInt(found);
+        return true;
+    }
+
+    /**
+     * Removes every cursor.
+     */
+    public void clear() {
+        lines.clear();
+    }
+
+    /**
+     * Returns the cursor lines.
+     *
+     * @return a new array holding the lines in ascending order
+     */
+    public int[] toArray() {
+        return lines.toArray();
+    }
+
+    /**
+     * Updates the cursors after count lines were replaced by inserted lines
+     * at the given line. Cursors above the splice stay, cursors below it move
+     * by the change in length, and cursors on a replaced line keep their
+     * offset into the new lines as far as there are new lines. A cursor
+     * whose line was removed moves to the line that took its place, or to
+     * the new last line if there is none.
+     *
+     * @param line     The index of the first line replaced.
+     * @param count    The number of lines replaced; 0 for an insertion.
+     * @param inserted The number of lines inserted; 0 for a removal.
+     * @param size     The number of lines of the text after the splice.
+     */
+    void spliced(int line, int count, int inserted, int size) {
+        if (count == inserted) {
+            return;
+        }
+        int n = lines.size();
+        int found = lines.binarySearch(0, n, line);
+        int first = (found >= 0) ? found : -found - 1;
+        for (int i = first; i < n; i++) {
+            int cursor = lines.getInt(i);
+            if (cursor >= line + count) {
+                lines.setInt(i, cursor + inserted - count);
+            } else {
+                lines.setInt(i, line + Math.min(cursor - line, Math.max(inserted - 1, 0)));
+            }
+        }
+        settle(first, size);
+    }
+
+    /**
+     * Updates the cursors after an EditBatch rewrote the lines from
+     * (inclusive) to to (exclusive). A cursor in that window moves to the
+     * new index of its line, given by moved; cursors below it move by delta.
+     *
+     * @param from  The index of the first line rewritten.
+     * @param to    The index after the last line rewritten.
+     * @param moved The new index of each line in the window, or of the line
+     *              that took its place if it was removed.
+     * @param delta The change in the number of lines.
+     * @param size  The number of lines of the text after the batch.
+     */
+    void remapped(int from, int to, int[] moved, int delta, int size) {
+        int n = lines.size();
+        int found = lines.binarySearch(0, n, from);
+        int first = (found >= 0) ? found : -found - 1;
+        for (int i = first; i < n; i++) {
+            int cursor = lines.getInt(i);
+            lines.setInt(i, (cursor < to) ? moved[cursor - from] : cursor + delta);
+        }
+        settle(first, size);
+    }
+
+    /**
+     * Moves every cursor down by the given number of lines.
+     *
+     * @param offset The number of lines to move down.
+     * @param size   The number of lines of the text.
+     */
+    void offset(int offset, int size) {
+        int n = lines.size();
+        for (int i = 0; i < n; i++) {
+            lines.setInt(i, lines.getInt(i) + offset);
+        }
+        settle(0, size);
+    }
+
+    /**
+     * Moves the cursors from the given rank on that are past the last line
+     * onto it, and merges the cursors that share a line.
+     */
+    private void settle(int first, int size) {
+        int n = lines.size();
+        if (size == 0) {
+            lines.clear();
+            return;
+        }
+        int count = first;
+        for (int i = first; i < n; i++) {
+            int cursor = Math.min(lines.getInt(i), size - 1);
+            if (count == 0 || cursor != lines.getInt(count - 1)) {
+                lines.setInt(count++, cursor);
+            }
+        }
+        lines.removeRange(count, n);
+    }
+}
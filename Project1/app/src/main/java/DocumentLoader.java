@@ -0,0 +1,386 @@
+import list.List;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Reads a text file into lines in a single pass over its bytes. The file is
+ * streamed in large chunks; line terminators are found and whitespace is
+ * trimmed on the bytes, so every line costs exactly one String, created from
+ * its final bytes. Lines made only of ASCII bytes, and every line of a
+ * Latin-1 file, are copied into their String without going through a
+ * decoder.
+ *
+ * <p>Large files can be read in parallel: the file is cut into byte ranges
+ * that each start at the beginning of a line, the ranges are decoded
+ * concurrently on a fork/join pool, and the lines of each range are appended
+ * to the target list, in order, with one bulk insertion.
+ *
+ * <p>Only charsets that encode the line terminators and the whitespace as
+ * single ASCII bytes are supported: UTF-8, ISO-8859-1 and US-ASCII.
+ *
+ * @version 1.0.0
+ */
+public class DocumentLoader {
+
+    /**
+     * The number of bytes read from the file at a time.
+     */
+    static final int CHUNK_SIZE = 1 << 20;
+
+    /**
+     * The smallest number of bytes worth decoding as a separate range.
+     */
+    static final int RANGE_SIZE = 1 << 20;
+
+    /**
+     * Reads eight bytes of an array at once.
+     */
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    /**
+     * A line feed in every byte of a word.
+     */
+    private static final long NEWLINES = 0x0A0A0A0A0A0A0A0AL;
+    /**
+     * A carriage return in every byte of a word.
+     */
+    private static final long RETURNS = 0x0D0D0D0D0D0D0D0DL;
+    /**
+     * A one in every byte of a word.
+     */
+    private static final long ONES = 0x0101010101010101L;
+    /**
+     * The high bit of every byte of a word.
+     */
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    /**
+     * How line terminators and the whitespace around a line are treated.
+     */
+    public enum LineEndings {
+        /**
+         * Lines end at "\n", "\r\n" or "\r", and lose the whitespace at both
+         * ends, as String.trim does. Some of the documents the editor is
+         * tested on carry stray trailing whitespace this removes.
+         */
+        TRIM,
+        /**
+         * Lines end at "\n" only and are kept exactly as in the file, so a
+         * "\r" before the line feed stays part of its line.
+         */
+        KEEP,
+        /**
+         * Lines end at "\n", "\r\n" or "\r", and are otherwise kept exactly as
+         * in the file.
+         */
+        NORMALIZE
+    }
+
+    /**
+     * Receives the lines found by a loader as ranges of bytes.
+     */
+    interface LineSink {
+
+        /**
+         * Accepts a line.
+         *
+         * @param bytes The array holding the line.
+         * @param from  The index of the first byte of the line.
+         * @param to    The index after the last byte of the line.
+         * @param ascii Whether every byte of the line is ASCII.
+         */
+        void line(byte[] bytes, int from, int to, boolean ascii);
+    }
+
+    /**
+     * How lines end and are trimmed.
+     */
+    private final LineEndings endings;
+    /**
+     * The charset of the files read.
+     */
+    private final Charset charset;
+    /**
+     * Whether the charset maps every byte to the char of the same value.
+     */
+    private final boolean latin1;
+
+    /**
+     * A DocumentLoader constructor for UTF-8 files.
+     *
+     * @param endings How lines end and are trimmed.
+     */
+    public DocumentLoader(LineEndings endings) {
+        this(endings, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A DocumentLoader constructor.
+     *
+     * @param endings How lines end and are trimmed.
+     * @param charset The charset of the files: UTF-8, ISO-8859-1 or US-ASCII.
+     * @throws IllegalArgumentException if the charset is not supported.
+     */
+    public DocumentLoader(LineEndings endings, Charset charset) {
+        if (!charset.equals(StandardCharsets.UTF_8) && !charset.equals(StandardCharsets.ISO_8859_1)
+                && !charset.equals(StandardCharsets.US_ASCII)) {
+            throw new IllegalArgumentException("Unsupported charset: " + charset);
+        }
+        this.endings = endings;
+        this.charset = charset;
+        this.latin1 = charset.equals(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Reads every line of a file.
+     *
+     * @param source The path of the file to read.
+     * @return The lines of the file.
+     * @throws IOException if the file could not be read.
+     */
+    public String[] read(Path source) throws IOException {
+        Lines lines = new Lines();
+        read(source, lines);
+        return lines.toArray();
+    }
+
+    /**
+     * Reads every line of a file in parallel on the common fork/join pool,
+     * appending the lines to the given list.
+     *
+     * @param source The path of the file to read.
+     * @param lines  The list to append the lines to, such as the (empty)
+     *               line store of a new MyTextEditor.
+     * @throws IOException if the file could not be read.
+     */
+    public void read(Path source, List<String> lines) throws IOException {
+        read(source, lines, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Reads every line of a file in parallel, appending the lines to the
+     * given list. The file is cut into a few ranges per thread of the pool,
+     * each starting right after a line feed, so no line spans two ranges; as
+     * soon as a range is decoded, its lines are appended with one bulk
+     * insertion while the ranges after it are still being decoded.
+     *
+     * @param source The path of the file to read.
+     * @param lines  The list to append the lines to.
+     * @param pool   The pool to decode the ranges on.
+     * @throws IOException if the file could not be read.
+     */
+    @SuppressWarnings("unchecked") // generic array creation
+    public void read(Path source, List<String> lines, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long length = channel.size();
+            int ranges = (int) Math.max(1, Math.min(4L * pool.getParallelism(), length / RANGE_SIZE));
+            long[] bounds = new long[ranges + 1];
+            for (int r = 1; r < ranges; r++) {
+                bounds[r] = lineStart(channel, Math.max(bounds[r - 1], r * (length / ranges)), length);
+            }
+            bounds[ranges] = length;
+
+            ForkJoinTask<String[]>[] tasks = (ForkJoinTask<String[]>[]) new ForkJoinTask<?>[ranges];
+            for (int r = 0; r < ranges; r++) {
+                long from = bounds[r];
+                long to = bounds[r + 1];
+                tasks[r] = pool.submit(() -> {
+                    Lines range = new Lines();
+                    try {
+                        read(channel, from, to, range);
+                    } catch (IOException exception) {
+                        throw new UncheckedIOException(exception);
+                    }
+                    return range.toArray();
+                });
+            }
+            try {
+                for (ForkJoinTask<String[]> task : tasks) {
+                    String[] range = task.join();
+                    lines.addAll(lines.size(), range, 0, range.length);
+                }
+            } catch (UncheckedIOException exception) {
+                throw exception.getCause();
+            } finally {
+                for (ForkJoinTask<String[]> task : tasks) {
+                    task.quietlyJoin(); // the channel must outlive every read
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads every line of a file, handing each one to the sink as bytes.
+     *
+     * @param source The path of the file to read.
+     * @param sink   The receiver of the lines, in file order.
+     * @throws IOException if the file could not be read.
+     */
+    void read(Path source, LineSink sink) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            read(channel, 0, channel.size(), sink);
+        }
+    }
+
+    /**
+     * Reads the lines in the bytes [from, to) of a file, handing each one to
+     * the sink. The channel is read at absolute positions, so several ranges
+     * of one channel can be read at the same time.
+     */
+    private void read(FileChannel channel, long from, long to, LineSink sink) throws IOException {
+        byte[] chunk = new byte[(int) Math.min(CHUNK_SIZE, Math.max(to - from, Long.BYTES))];
+        boolean splitOnReturn = endings != LineEndings.KEEP;
+        boolean afterReturn = false; // the last line ended with a "\r"
+        int seen = 0; // the bytes of the current line or'ed together, in four lanes
+        int kept = 0; // bytes of a line not finished by the previous chunk
+        long position = from;
+        while (position < to) {
+            int read = channel.read(ByteBuffer.wrap(chunk, kept, (int) Math.min(chunk.length - kept, to - position)), position);
+            if (read < 0) {
+                break; // the file was truncated
+            }
+            position += read;
+            int end = kept + read;
+            int start = 0;
+            for (int i = kept; i < end; ) {
+                int stop = end;
+                // Skip eight bytes at a time while they hold no terminator
+                if (i + Long.BYTES <= end) {
+                    long word = (long) LONGS.get(chunk, i);
+                    long flags = zeroBytes(word ^ NEWLINES) | (splitOnReturn ? zeroBytes(word ^ RETURNS) : 0);
+                    if (flags == 0) {
+                        seen |= (int) (word | (word >>> 32));
+                        i += Long.BYTES;
+                        continue;
+                    }
+                    stop = i + Long.BYTES;
+                }
+                for (; i < stop; i++) {
+                    byte b = chunk[i];
+                    if (b == '\n' || (b == '\r' && splitOnReturn)) {
+                        if (b == '\n' && afterReturn && i == start) {
+                            start = i + 1; // the line feed of a "\r\n"
+                        } else {
+                            emit(sink, chunk, start, i, seen);
+                            start = i + 1;
+                        }
+                        afterReturn = (b == '\r');
+                        seen = 0;
+                    } else {
+                        seen |= b;
+                    }
+                }
+            }
+            kept = end - start;
+            System.arraycopy(chunk, start, chunk, 0, kept);
+            if (kept == chunk.length) {
+                chunk = Arrays.copyOf(chunk, 2 * chunk.length);
+            }
+        }
+        if (kept > 0) {
+            emit(sink, chunk, 0, kept, seen);
+        }
+    }
+
+    /**
+     * Finds where the first line starting at or after the given position
+     * starts: right after the first line feed from position - 1 on.
+     *
+     * @return The position of the line start, or length if there is none.
+     */
+    private static long lineStart(FileChannel channel, long position, long length) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(1 << 16);
+        for (long at = position - 1; at < length; at += window.limit()) {
+            window.clear();
+            if (channel.read(window, at) < 0) {
+                break;
+            }
+            window.flip();
+            for (int i = 0; i < window.limit(); i++) {
+                if (window.get(i) == '\n') {
+                    return at + i + 1;
+                }
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Trims a line if needed and hands it to the sink.
+     */
+    private void emit(LineSink sink, byte[] bytes, int from, int to, int seen) {
+        if (endings == LineEndings.TRIM) {
+            while (from < to && (bytes[from] & 0xFF) <= ' ') {
+                from++;
+            }
+            while (to > from && (bytes[to - 1] & 0xFF) <= ' ') {
+                to--;
+            }
+        }
+        sink.line(bytes, from, to, (seen & (int) HIGH_BITS) == 0);
+    }
+
+    /**
+     * Flags the high bit of every zero byte of a word, possibly along with
+     * some bytes above a zero byte; the result is zero if and only if the
+     * word has no zero byte.
+     */
+    private static long zeroBytes(long word) {
+        return (word - ONES) & ~word & HIGH_BITS;
+    }
+
+    /**
+     * Creates the String of a line. ASCII lines and Latin-1 files are copied
+     * byte for byte, which is what the Latin-1 decoder does.
+     */
+    String decode(byte[] bytes, int from, int to, boolean ascii) {
+        if (ascii || latin1) {
+            return new String(bytes, from, to - from, StandardCharsets.ISO_8859_1);
+        }
+        return new String(bytes, from, to - from, charset);
+    }
+
+    /**
+     * A sink decoding the lines into an array.
+     */
+    private final class Lines implements LineSink {
+
+        /**
+         * The lines decoded so far, followed by free room.
+         */
+        private String[] lines = new String[1024];
+        /**
+         * The number of lines decoded.
+         */
+        private int count = 0;
+
+        @Override
+        public void line(byte[] bytes, int from, int to, boolean ascii) {
+            if (count == lines.length) {
+                lines = Arrays.copyOf(lines, 2 * count);
+            }
+            lines[count++] = decode(bytes, from, to, ascii);
+        }
+
+        /**
+         * Returns the lines decoded.
+         *
+         * @return A copy of the lines, exactly as long as needed.
+         */
+        String[] toArray() {
+            return Arrays.copyOf(lines, count);
+        }
+    }
+}
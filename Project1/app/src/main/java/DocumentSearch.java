@@ -0,0 +1,371 @@
+import list.List;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Regular expression search over the lines of a document. The lines are split
+ * into chunks of {@link #CHUNK_LINES} lines, which are scanned in parallel on a
+ * fork/join pool, each with a single reused Matcher; matches never span lines.
+ *
+ * <p>The lines are only read, straight from the list, so a search may run
+ * while other threads read the same lines, but not while they are edited.
+ *
+ * @version 1.0.0
+ */
+public class DocumentSearch {
+
+    /**
+     * The number of lines scanned by one task.
+     */
+    public static final int CHUNK_LINES = 4096;
+
+    /**
+     * The lines to search.
+     */
+    private final List<String> lines;
+    /**
+     * The pool the chunks are scanned on.
+     */
+    private final ForkJoinPool pool;
+
+    /**
+     * A DocumentSearch constructor using the common fork/join pool.
+     *
+     * @param lines The lines to search.
+     */
+    public DocumentSearch(List<String> lines) {
+        this(lines, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * A DocumentSearch constructor.
+     *
+     * @param lines The lines to search.
+     * @param pool  The pool to scan the chunks on.
+     */
+    public DocumentSearch(List<String> lines, ForkJoinPool pool) {
+        this.lines = lines;
+        this.pool = pool;
+    }
+
+    /**
+     * Finds the first match of the pattern. Chunks after a chunk that already
+     * holds a match are skipped.
+     *
+     * @param pattern The pattern to look for.
+     * @return The first match, or null if there is none.
+     */
+    public Match find(Pattern pattern) {
+        return pool.invoke(new FindFirst(pattern, 0, lines.size(), new AtomicInteger(Integer.MAX_VALUE)));
+    }
+
+    /**
+     * Finds every match of the pattern, in document order. The chunks are
+     * scanned in parallel a few chunks ahead of the caller, so the first
+     * matches are available long before the whole document is scanned, and
+     * only the matches of the chunks in flight are kept in memory.
+     *
+     * @param pattern The pattern to look for.
+     * @return An iterator over the matches.
+     */
+    public Iterator<Match> findAll(Pattern pattern) {
+        return new Hits(pattern);
+    }
+
+    /**
+     * Replaces every match of the pattern, adding one replace edit to the
+     * batch for each changed line. The new lines are computed in parallel;
+     * the edits are submitted in line order.
+     *
+     * @param pattern     The pattern to look for.
+     * @param replacement The replacement, which may refer to groups as in
+     *                    Matcher.replaceAll.
+     * @param batch       The batch to submit the edits to.
+     * @return The number of lines changed.
+     */
+    public int replaceAll(Pattern pattern, String replacement, EditBatch batch) {
+        int chunks = (lines.size() + CHUNK_LINES - 1) / CHUNK_LINES;
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[chunks];
+        Object[][] results = new Object[chunks][];
+        for (int c = 0; c < chunks; c++) {
+            int chunk = c;
+            tasks[c] = pool.submit(() -> {
+                results[chunk] = replaceChunk(pattern, replacement, chunk * CHUNK_LINES,
+                        Math.min(lines.size(), (chunk + 1) * CHUNK_LINES));
+            });
+        }
+        int changed = 0;
+        for (int c = 0; c < chunks; c++) {
+            tasks[c].join();
+            Object[] result = results[c];
+            for (int i = 0; i < result.length; i += 2) {
+                batch.replace((Integer) result[i], (String) result[i + 1]);
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Scans the lines [from, to) for every match.
+     *
+     * @return The matches as (line, column, length) triples.
+     */
+    private int[] scan(Pattern pattern, int from, int to) {
+        int[] hits = new int[0];
+        int count = 0;
+        Matcher matcher = pattern.matcher("");
+        for (int i = from; i < to; i++) {
+            matcher.reset(line(i));
+            while (matcher.find()) {
+                if (count == hits.length) {
+                    hits = Arrays.copyOf(hits, Math.max(48, 2 * count));
+                }
+                hits[count++] = i;
+                hits[count++] = matcher.start();
+                hits[count++] = matcher.end() - matcher.start();
+            }
+        }
+        return Arrays.copyOf(hits, count);
+    }
+
+    /**
+     * Computes the new text of every line in [from, to) that holds a match.
+     *
+     * @return Pairs of line index and new text.
+     */
+    private Object[] replaceChunk(Pattern pattern, String replacement, int from, int to) {
+        Object[] changed = new Object[0];
+        int count = 0;
+        Matcher matcher = pattern.matcher("");
+        for (int i = from; i < to; i++) {
+            matcher.reset(line(i));
+            if (matcher.find()) {
+                if (count == changed.length) {
+                    changed = Arrays.copyOf(changed, Math.max(16, 2 * count));
+                }
+                changed[count++] = i;
+                changed[count++] = matcher.replaceAll(replacement);
+            }
+        }
+        return Arrays.copyOf(changed, count);
+    }
+
+    /**
+     * Reads a line. A MappedDocument is read around its cache of decoded
+     * lines, which is not safe to share between threads.
+     */
+    private String line(int index) {
+        return (lines instanceof MappedDocument document) ? document.peek(index) : lines.get(index);
+    }
+
+    /**
+     * A match of a pattern in one line.
+     */
+    public static final class Match {
+
+        /**
+         * The index of the line holding the match.
+         */
+        private final int line;
+        /**
+         * The index in the line of the first character of the match.
+         */
+        private final int column;
+        /**
+         * The number of characters matched.
+         */
+        private final int length;
+
+        /**
+         * A Match constructor.
+         *
+         * @param line   The index of the line holding the match.
+         * @param column The index in the line of the first matched character.
+         * @param length The number of characters matched.
+         */
+        Match(int line, int column, int length) {
+            this.line = line;
+            this.column = column;
+            this.length = length;
+        }
+
+        /**
+         * Returns the index of the line holding the match.
+         *
+         * @return the line of the match
+         */
+        public int getLine() {
+            return line;
+        }
+
+        /**
+         * Returns the index in the line of the first matched character.
+         *
+         * @return the column of the match
+         */
+        public int getColumn() {
+            return column;
+        }
+
+        /**
+         * Returns the number of characters matched.
+         *
+         * @return the length of the match
+         */
+        public int getLength() {
+            return length;
+        }
+
+        /**
+         * Builds a string of the form (line,column).
+         *
+         * @return The position of the match.
+         */
+        @Override
+        public String toString() {
+            return "(" + line + "," + column + ")";
+        }
+    }
+
+    /**
+     * Finds the first match in a range of lines, splitting the range in half
+     * until it is one chunk. Lines after the best match found so far by any
+     * task are not scanned.
+     */
+    private final class FindFirst extends RecursiveTask<Match> {
+
+        /**
+         * The version of the serialized form; tasks are never serialized.
+         */
+        private static final long serialVersionUID = 1L;
+        /**
+         * The pattern to look for.
+         */
+        private final Pattern pattern;
+        /**
+         * The index of the first line of the range.
+         */
+        private final int from;
+        /**
+         * The index after the last line of the range.
+         */
+        private final int to;
+        /**
+         * The line of the earliest match found so far by any task.
+         */
+        private final AtomicInteger best;
+
+        /**
+         * A FindFirst constructor.
+         *
+         * @param pattern The pattern to look for.
+         * @param from    The index of the first line of the range.
+         * @param to      The index after the last line of the range.
+         * @param best    The line of the earliest match found so far.
+         */
+        FindFirst(Pattern pattern, int from, int to, AtomicInteger best) {
+            this.pattern = pattern;
+            this.from = from;
+            this.to = to;
+            this.best = best;
+        }
+
+        @Override
+        protected Match compute() {
+            if (to - from > CHUNK_LINES) {
+                int middle = (from + to) >>> 1;
+                FindFirst upper = new FindFirst(pattern, middle, to, best);
+                upper.fork();
+                Match match = new FindFirst(pattern, from, middle, best).compute();
+                if (match == null) {
+                    return upper.join();
+                }
+                if (!upper.tryUnfork()) {
+                    upper.join(); // stops early, it only holds later lines
+                }
+                return match;
+            }
+            Matcher matcher = pattern.matcher("");
+            for (int i = from; i < to && i < best.get(); i++) {
+                if (matcher.reset(line(i)).find()) {
+                    best.accumulateAndGet(i, Math::min);
+                    return new Match(i, matcher.start(), matcher.end() - matcher.start());
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * An iterator over the matches of a pattern, scanning chunks ahead.
+     */
+    private final class Hits implements Iterator<Match> {
+
+        /**
+         * The pattern to look for.
+         */
+        private final Pattern pattern;
+        /**
+         * The chunks being scanned, in document order.
+         */
+        private final ArrayDeque<ForkJoinTask<int[]>> pending = new ArrayDeque<>();
+        /**
+         * The number of chunks submitted so far.
+         */
+        private int submitted = 0;
+        /**
+         * The matches of the current chunk as (line, column, length) triples.
+         */
+        private int[] current = new int[0];
+        /**
+         * The position in current of the next match.
+         */
+        private int position = 0;
+
+        /**
+         * A Hits constructor.
+         *
+         * @param pattern The pattern to look for.
+         */
+        Hits(Pattern pattern) {
+            this.pattern = pattern;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (position == current.length) {
+                int chunks = (lines.size() + CHUNK_LINES - 1) / CHUNK_LINES;
+                while (submitted < chunks && pending.size() < 2 * pool.getParallelism()) {
+                    int from = submitted++ * CHUNK_LINES;
+                    int to = Math.min(lines.size(), from + CHUNK_LINES);
+                    pending.add(pool.submit(() -> scan(pattern, from, to)));
+                }
+                if (pending.isEmpty()) {
+                    return false;
+                }
+                current = pending.poll().join();
+                position = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public Match next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            position += 3;
+            return new Match(current[position - 3], current[position - 2], current[position - 1]);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+import list.List;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams the lines of a document to a channel as UTF-8, each line followed
+ * by a line terminator. Lines are encoded one at a time into a single
+ * reusable direct buffer, so the document is never assembled into one
+ * String.
+ *
+ * <p>When the lines come from a MappedDocument, runs of lines that were not
+ * edited are written as the raw bytes of the source file without decoding
+ * them; long runs are written to the channel straight from the mapping.
+ * The bytes always come from the mapping and never from the source path,
+ * which a save over the source has since pointed at a new file. So that the
+ * edited lines match them, every line then ends with "\r\n" if the first
+ * line of the source file does, and with a line feed otherwise.
+ *
+ * @version 1.0.0
+ */
+public class DocumentWriter {
+
+    /**
+     * The size of the reusable output buffer in bytes.
+     */
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Unchanged runs at least this long are written straight from the
+     * mapping instead of being copied into the buffer.
+     */
+    static final int TRANSFER_THRESHOLD = 256 * 1024;
+
+    /**
+     * The buffer every line is encoded into before it is written.
+     */
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * The encoder shared by all lines.
+     */
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    /**
+     * Whether the lines being written end with a carriage return before their
+     * line feed.
+     */
+    private boolean carriageReturns = false;
+
+    /**
+     * Writes all lines to the given channel.
+     *
+     * @param lines The lines of the document.
+     * @param out   The channel to write to; it is not closed.
+     * @throws IOException if writing fails.
+     */
+    public void write(List<String> lines, WritableByteChannel out) throws IOException {
+        buffer.clear();
+        if (lines instanceof MappedDocument document) {
+            carriageReturns = document.endsLinesWithCarriageReturn();
+            writeMapped(document, out);
+        } else {
+            carriageReturns = false;
+            for (String line : lines) {
+                writeLine(line, out);
+            }
+        }
+        drain(out);
+    }
+
+    /**
+     * Writes a mapped document, copying unchanged runs of the source file.
+     *
+     * @param document The mapped document.
+     * @param out      The channel to write to.
+     * @throws IOException if writing fails.
+     */
+    private void writeMapped(MappedDocument document, WritableByteChannel out) throws IOException {
+        int size = document.size();
+        int i = 0;
+        while (i < size) {
+            int first = document.sourceLine(i);
+            if (first < 0) {
+                writeLine(document.get(i++), out);
+                continue;
+            }
+            int end = first + 1;
+            for (i++; i < size && document.sourceLine(i) == end; i++) {
+                end++;
+            }
+            long from = document.sourceOffset(first);
+            long to = document.sourceOffset(end);
+            if (to - from >= TRANSFER_THRESHOLD) {
+                drain(out);
+                document.writeSource(from, to, out);
+            } else {
+                copy(document, from, to, out);
+            }
+            if (!document.endsWithLineFeed(end - 1)) {
+                terminate(out);
+            }
+        }
+    }
+
+    /**
+     * Encodes one line and its line terminator into the buffer, writing the
+     * buffer out whenever it fills up.
+     *
+     * @param line The line to write.
+     * @param out  The channel to write to.
+     * @throws IOException if writing fails.
+     */
+    private void writeLine(String line, WritableByteChannel out) throws IOException {
+        CharBuffer chars = CharBuffer.wrap(line);
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (result.isUnderflow()) {
+                result = encoder.flush(buffer);
+            }
+            if (result.isUnderflow()) {
+                break;
+            }
+            drain(out); // overflow: make room and continue
+        }
+        terminate(out);
+    }
+
+    /**
+     * Appends a line terminator to the buffer.
+     *
+     * @param out The channel to write to when the buffer is full.
+     * @throws IOException if writing fails.
+     */
+    private void terminate(WritableByteChannel out) throws IOException {
+        if (carriageReturns) {
+            put((byte) '\r', out);
+        }
+        put((byte) '\n', out);
+    }
+
+    /**
+     * Copies a range of the source file into the buffer.
+     *
+     * @param document The mapped document.
+     * @param from     The first file offset to copy.
+     * @param to       The file offset after the last byte to copy.
+     * @param out      The channel to write to when the buffer fills up.
+     * @throws IOException if writing fails.
+     */
+    private void copy(MappedDocument document, long from, long to, WritableByteChannel out) throws IOException {
+        while (from < to) {
+            if (!buffer.hasRemaining()) {
+                drain(out);
+            }
+            from += document.copySource(from, to, buffer);
+        }
+    }
+
+    /**
+     * Appends a single byte to the buffer.
+     *
+     * @param value The byte to append.
+     * @param out   The channel to write to when the buffer is full.
+     * @throws IOException if writing fails.
+     */
+    private void put(byte value, WritableByteChannel out) throws IOException {
+        if (!buffer.hasRemaining()) {
+            drain(out);
+        }
+        buffer.put(value);
+    }
+
+    /**
+     * Writes out everything in the buffer and empties it.
+     *
+     * @param out The channel to write to.
+     * @throws IOException if writing fails.
+     */
+    private void drain(WritableByteChannel out) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,368 @@
+import list.List;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * A batch of line edits collected by SimpleTextEditor.batch and applied to
+ * the text in a single pass. Every line number refers to the text as it was
+ * when the batch started, so earlier edits in the batch never shift the lines
+ * that later edits address.
+ *
+ * <p>Applying a batch has the same result as applying its edits one by one
+ * from the bottom of the text to the top: for each line, the last replace or
+ * remove submitted for it decides its fate, and the lines inserted after it
+ * follow in the order they were submitted. A batch of k edits on n lines
+ * costs O(n + k log k), with one bulk removal and one bulk insertion on the
+ * backing list, and O(n + k) if the edits were submitted from the top of the
+ * text down, as the edits at a set of cursors are.
+ *
+ * @version 1.0.0
+ */
+public class EditBatch {
+
+    /**
+     * Kind of an edit that replaces a line.
+     */
+    private static final int REPLACE = 0;
+    /**
+     * Kind of an edit that removes a line.
+     */
+    private static final int REMOVE = 1;
+    /**
+     * Kind of an edit that inserts a line after a line.
+     */
+    private static final int INSERT = 2;
+
+    /**
+     * The number of lines of the text the batch edits.
+     */
+    private final int size;
+    /**
+     * The line each edit addresses, in submission order.
+     */
+    private int[] lines = new int[16];
+    /**
+     * The kind of each edit.
+     */
+    private int[] kinds = new int[16];
+    /**
+     * The new text of each edit, null for a removal.
+     */
+    private String[] texts = new String[16];
+    /**
+     * The number of edits submitted.
+     */
+    private int count = 0;
+    /**
+     * The table new lines are interned in, or null.
+     */
+    private final LineInterner interner;
+
+    /**
+     * An EditBatch constructor.
+     *
+     * @param size     The number of lines of the text the batch edits.
+     * @param interner The table to intern new lines in, or null.
+     */
+    EditBatch(int size, LineInterner interner) {
+        this.size = size;
+        this.interner = interner;
+    }
+
+    /**
+     * Replaces the given line.
+     *
+     * @param line        The index of the line in the original text.
+     * @param replacement The new text of the line.
+     * @throws IndexOutOfBoundsException if the line is negative or greater
+     *                                   than size()-1
+     */
+    public void replace(int line, String replacement) throws IndexOutOfBoundsException {
+        checkIndex(line, 0, size);
+        add(REPLACE, line, replacement);
+    }
+
+    /**
+     * Inserts a line after the given line; line -1 inserts at the top.
+     *
+     * @param line     The index of the line in the original text.
+     * @param toInsert The line to insert.
+     * @throws IndexOutOfBoundsException if the line is less than -1 or
+     *                                   greater than size()-1
+     */
+    public void insertAfter(int line, String toInsert) throws IndexOutOfBoundsException {
+        checkIndex(line, -1, size);
+        add(INSERT, line, toInsert);
+    }
+
+    /**
+     * Removes the given line.
+     *
+     * @param line The index of the line in the original text.
+     * @throws IndexOutOfBoundsException if the line is negative or greater
+     *                                   than size()-1
+     */
+    public void remove(int line) throws IndexOutOfBoundsException {
+        checkIndex(line, 0, size);
+        add(REMOVE, line, null);
+    }
+
+    /**
+     * Returns the number of edits in the batch.
+     *
+     * @return the number of edits submitted so far
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Applies the batch to the given lines and records it in the journal as
+     * a single edit. The cursor and the extra cursors stay on their lines; if
+     * a line is removed, its cursors move to the line that took its place.
+     *
+     * @param text    The lines of the text.
+     * @param cursor  The cursor before the batch.
+     * @param cursors The extra cursors, updated in place.
+     * @param journal The journal to record the batch in.
+     * @return The cursor after the batch.
+     */
+    int applyTo(List<String> text, int cursor, CursorSet cursors, EditJournal journal) {
+        if (count == 0) {
+            return cursor;
+        }
+        // Sort by line, and by submission order within a line
+        long[] order = new long[count];
+        boolean sorted = true;
+        boolean replacesOnly = true;
+        for (int i = 0; i < count; i++) {
+            order[i] = ((long) (lines[i] + 1) << 32) | i;
+            sorted &= (i == 0 || lines[i] >= lines[i - 1]);
+            replacesOnly &= (kinds[i] == REPLACE);
+        }
+        if (!sorted) {
+            Arrays.sort(order);
+        }
+
+        // Only the window [from, to) of the original text changes
+        int from = lines[(int) order[0]] + 1;
+        for (int p = 0; p < count && lines[(int) order[p]] == from - 1; p++) {
+            if (kinds[(int) order[p]] != INSERT) {
+                from--;
+                break;
+            }
+        }
+        int to = lines[(int) order[count - 1]] + 1;
+
+        // The journal keeps only the lines that went and the lines that came,
+        // with their offsets in the window
+        int[] removedAt = new int[count];
+        String[] removed = new String[count];
+        int[] insertedAt = new int[count];
+        String[] inserted = new String[count];
+        int removedCount = 0;
+        int insertedCount = 0;
+
+        if (replacesOnly) { // no line moves, so only the edited lines are read and written
+            for (int p = 0; p < count; p++) {
+                int edit = (int) order[p];
+                if (p + 1 < count && lines[(int) order[p + 1]] == lines[edit]) {
+                    continue; // a later replace of the same line wins
+                }
+                removedAt[removedCount] = lines[edit] - from;
+                removed[removedCount++] = text.set(lines[edit], texts[edit]);
+                insertedAt[insertedCount] = lines[edit] - from;
+                inserted[insertedCount++] = texts[edit];
+            }
+            journal.recordSplice(from, to - from, to - from,
+                    joined(removedAt, removedCount, insertedAt, insertedCount),
+                    joined(removed, removedCount, inserted, insertedCount),
+                    removedCount, removedCount + insertedCount, cursor, cursor);
+            return cursor;
+        }
+
+        String[] result = new String[to - from + count];
+        int[] moved = cursors.isEmpty() ? null : new int[to - from];
+        Iterator<String> window = text.iterator(from);
+        int length = 0;
+        int next = from;
+        int newCursor = -1;
+        for (int p = 0; p < count; ) {
+            int line = (int) (order[p] >> 32) - 1;
+            for (; next < line; next++) {
+                if (next == cursor) {
+                    newCursor = from + length;
+                }
+                if (moved != null) {
+                    moved[next - from] = from + length;
+                }
+                result[length++] = window.next();
+            }
+            int end = p;
+            int fate = -1;
+            for (; end < count && (int) (order[end] >> 32) - 1 == line; end++) {
+                if (kinds[(int) order[end]] != INSERT) {
+                    fate = (int) order[end];
+                }
+            }
+            if (line >= next) {
+                if (line == cursor) {
+                    newCursor = from + length;
+                }
+                if (moved != null) {
+                    moved[line - from] = from + length;
+                }
+                String original = window.next();
+                if (fate < 0) {
+                    result[length++] = original;
+                } else {
+                    removedAt[removedCount] = line - from;
+                    removed[removedCount++] = original;
+                    if (kinds[fate] == REPLACE) {
+                        insertedAt[insertedCount] = length;
+                        inserted[insertedCount++] = texts[fate];
+                        result[length++] = texts[fate];
+                    }
+                }
+                next = line + 1;
+            }
+            for (; p < end; p++) {
+                int edit = (int) order[p];
+                if (kinds[edit] == INSERT) {
+                    insertedAt[insertedCount] = length;
+                    inserted[insertedCount++] = texts[edit];
+                    result[length++] = texts[edit];
+                }
+            }
+        }
+
+        text.removeRange(from, to);
+        text.addAll(from, result, 0, length);
+        if (cursor >= to) {
+            newCursor = cursor + length - (to - from);
+        } else if (cursor < from) {
+            newCursor = cursor;
+        }
+        newCursor = Math.min(newCursor, text.size() - 1);
+        if (moved != null) {
+            cursors.remapped(from, to, moved, length - (to - from), text.size());
+        }
+        journal.recordSplice(from, to - from, length,
+                joined(removedAt, removedCount, insertedAt, insertedCount),
+                joined(removed, removedCount, inserted, insertedCount),
+                removedCount, removedCount + insertedCount, cursor, newCursor);
+        return newCursor;
+    }
+
+    /**
+     * Applies the batch to the given editor one edit at a time, through its
+     * cursor, from the bottom of the text to the top. This is how an editor
+     * without a bulk path applies a batch; each edit is a separate step of
+     * the editor, and the batch costs what its edits cost one by one. The
+     * cursor stays on its line; if the line is removed, the cursor moves to
+     * the line that took its place.
+     *
+     * @param editor The editor to apply the batch to.
+     */
+    void applyTo(SimpleTextEditor editor) {
+        if (count == 0) {
+            return;
+        }
+        long[] order = new long[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = ((long) (lines[i] + 1) << 32) | i;
+        }
+        Arrays.sort(order);
+
+        int cursor = editor.cursorLineNum();
+        for (int end = count; end > 0; ) {
+            int line = (int) (order[end - 1] >> 32) - 1;
+            int start = end;
+            int fate = -1;
+            int inserts = 0;
+            while (start > 0 && (int) (order[start - 1] >> 32) - 1 == line) {
+                int edit = (int) order[--start];
+                if (kinds[edit] == INSERT) {
+                    inserts++;
+                } else if (fate < 0) {
+                    fate = edit;
+                }
+            }
+            int after = line;
+            for (int p = start; p < end; p++) {
+                int edit = (int) order[p];
+                if (kinds[edit] != INSERT) {
+                    continue;
+                }
+                if (after >= 0) {
+                    editor.moveCursorToLine(after);
+                    editor.insertAfterCursor(texts[edit]);
+                } else if (editor.isEmpty()) { // the cursor is on line -1
+                    editor.insertAfterCursor(texts[edit]);
+                } else {
+                    editor.moveCursorToLine(0);
+                    editor.insertBeforeCursor(texts[edit]);
+                }
+                after++;
+            }
+            if (fate >= 0) {
+                editor.moveCursorToLine(line);
+                if (kinds[fate] == REPLACE) {
+                    editor.replaceAtCursor(texts[fate]);
+                } else {
+                    editor.removeAtCursor();
+                }
+            }
+            if (line < cursor) {
+                cursor += inserts - (fate >= 0 && kinds[fate] == REMOVE ? 1 : 0);
+            }
+            end = start;
+        }
+        cursor = Math.min(cursor, editor.size() - 1);
+        if (cursor >= 0) {
+            editor.moveCursorToLine(cursor);
+        }
+    }
+
+    /**
+     * Returns the first n values of a followed by the first m values of b.
+     */
+    private static int[] joined(int[] a, int n, int[] b, int m) {
+        int[] joined = Arrays.copyOf(a, n + m);
+        System.arraycopy(b, 0, joined, n, m);
+        return joined;
+    }
+
+    /**
+     * Returns the first n values of a followed by the first m values of b.
+     */
+    private static String[] joined(String[] a, int n, String[] b, int m) {
+        String[] joined = Arrays.copyOf(a, n + m);
+        System.arraycopy(b, 0, joined, n, m);
+        return joined;
+    }
+
+    /**
+     * Appends an edit, doubling the storage when it is full.
+     */
+    private void add(int kind, int line, String value) {
+        if (count == lines.length) {
+            lines = Arrays.copyOf(lines, 2 * count);
+            kinds = Arrays.copyOf(kinds, 2 * count);
+            texts = Arrays.copyOf(texts, 2 * count);
+        }
+        lines[count] = line;
+        kinds[count] = kind;
+        texts[count++] = (interner == null || value == null) ? value : interner.intern(value);
+    }
+
+    /**
+     * Checks whether the given line is in the range [low, high-1].
+     */
+    private void checkIndex(int line, int low, int high) throws IndexOutOfBoundsException {
+        if (line < low || line >= high) {
+            throw new IndexOutOfBoundsException("Illegal index: " + line);
+        }
+    }
+}
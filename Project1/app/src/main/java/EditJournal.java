@@ -0,0 +1,545 @@
+import list.List;
+
+import java.util.Iterator;
+
+/**
+ * An undo/redo journal for the edits of a text editor. Every edit is stored
+ * as a fixed-size record of ints in a ring buffer, and the lines it inserted,
+ * replaced or removed are kept in a second ring of strings. Both rings have a
+ * fixed capacity: when an edit does not fit, the oldest edits are forgotten.
+ * Undoing or redoing an edit only touches the lines of that edit.
+ *
+ * <p>Consecutive single-line inserts, such as typing line after line, are
+ * coalesced into one record, so they are undone together.
+ *
+ * @version 1.0.0
+ */
+public class EditJournal {
+
+    /**
+     * Default number of edits remembered.
+     */
+    public static final int DEFAULT_MAX_EDITS = 1024;
+
+    /**
+     * Default number of lines of text remembered across all edits.
+     */
+    public static final int DEFAULT_MAX_LINES = 1 << 16;
+
+    /**
+     * Kind of a record that inserted count lines at line.
+     */
+    private static final int INSERT = 0;
+    /**
+     * Kind of a record that replaced the line at line.
+     */
+    private static final int REPLACE = 1;
+    /**
+     * Kind of a record that removed the line at line.
+     */
+    private static final int REMOVE = 2;
+    /**
+     * Kind of a record that rewrote count lines at line into inserted lines,
+     * storing only the lines that were removed, replaced or inserted.
+     */
+    private static final int SPLICE = 3;
+
+    /**
+     * Number of ints in a record.
+     */
+    private static final int FIELDS = 8;
+    /**
+     * Offset of the record kind.
+     */
+    private static final int KIND = 0;
+    /**
+     * Offset of the index of the first line the edit touched.
+     */
+    private static final int LINE = 1;
+    /**
+     * Offset of the number of lines the edit touched.
+     */
+    private static final int COUNT = 2;
+    /**
+     * Offset of the cursor before the edit.
+     */
+    private static final int CURSOR_BEFORE = 3;
+    /**
+     * Offset of the cursor after the edit.
+     */
+    private static final int CURSOR_AFTER = 4;
+    /**
+     * Offset of the text counter of the first text of the edit.
+     */
+    private static final int TEXT_START = 5;
+    /**
+     * Offset of the number of lines a splice inserted.
+     */
+    private static final int INSERTED = 6;
+    /**
+     * Offset of the number of texts of a splice from before the edit.
+     */
+    private static final int REMOVED = 7;
+
+    /**
+     * The records, FIELDS ints each, in a ring of maxEdits records.
+     */
+    private final int[] records;
+    /**
+     * The lines of text referred to by the records, in a ring.
+     */
+    private final String[] texts;
+    /**
+     * For each text of a splice, its offset from the first line of the
+     * splice, in the same ring positions as texts.
+     */
+    private final int[] offsets;
+    /**
+     * Number of records the ring can hold.
+     */
+    private final int maxEdits;
+    /**
+     * Ring index of the oldest record.
+     */
+    private int head = 0;
+    /**
+     * Number of records, both done and undone.
+     */
+    private int count = 0;
+    /**
+     * Number of records that are done; the ones after them can be redone.
+     */
+    private int done = 0;
+    /**
+     * Running counter of the first text in use; its ring index is taken
+     * modulo the (power of two) ring length.
+     */
+    private int textHead = 0;
+    /**
+     * Running counter one past the last text in use.
+     */
+    private int textEnd = 0;
+
+    /**
+     * An EditJournal constructor with the default capacities.
+     */
+    public EditJournal() {
+        this(DEFAULT_MAX_EDITS, DEFAULT_MAX_LINES);
+    }
+
+    /**
+     * An EditJournal constructor.
+     *
+     * @param maxEdits The number of edits to remember.
+     * @param maxLines The number of lines of text to remember, rounded up to a
+     *                 power of two.
+     */
+    public EditJournal(int maxEdits, int maxLines) {
+        if (maxEdits < 1 || maxLines < 2) {
+            throw new IllegalArgumentException("Journal capacity too small");
+        }
+        this.maxEdits = maxEdits;
+        records = new int[maxEdits * FIELDS];
+        texts = new String[Integer.highestOneBit(maxLines - 1) << 1];
+        offsets = new int[texts.length];
+    }
+
+    /**
+     * Tests whether there is an edit to undo.
+     *
+     * @return true if undo would change the text.
+     */
+    public boolean canUndo() {
+        return done > 0;
+    }
+
+    /**
+     * Tests whether there is an undone edit to redo.
+     *
+     * @return true if redo would change the text.
+     */
+    public boolean canRedo() {
+        return done < count;
+    }
+
+    /**
+     * Forgets every edit.
+     */
+    public void clear() {
+        for (int i = textHead; i != textEnd; i++) {
+            texts[i & (texts.length - 1)] = null; // help garbage collection
+        }
+        head = 0;
+        count = 0;
+        done = 0;
+        textHead = 0;
+        textEnd = 0;
+    }
+
+    /**
+     * Records the insertion of a single line. A line inserted right after
+     * the lines of the previous insertion is merged into that record.
+     *
+     * @param line         The index of the inserted line.
+     * @param inserted     The inserted line.
+     * @param cursorBefore The cursor before the edit.
+     * @param cursorAfter  The cursor after the edit.
+     */
+    public void recordInsert(int line, String inserted, int cursorBefore, int cursorAfter) {
+        truncateRedo();
+        if (count > 0 && textEnd - textStartOf(count - 1) < texts.length) {
+            int last = slot(count - 1);
+            if (records[last + KIND] == INSERT
+                    && records[last + LINE] + records[last + COUNT] == line
+                    && records[last + CURSOR_AFTER] == cursorBefore) {
+                makeRoom(1); // only evicts older records, the last one still fits
+                texts[textEnd++ & (texts.length - 1)] = inserted;
+                records[last + COUNT]++;
+                records[last + CURSOR_AFTER] = cursorAfter;
+                return;
+            }
+        }
+        if (append(INSERT, line, 1, cursorBefore, cursorAfter)) {
+            texts[textEnd++ & (texts.length - 1)] = inserted;
+        }
+    }
+
+    /**
+     * Records the insertion of a block of lines. Inserting no lines changes
+     * nothing, so it is not recorded and keeps the redo history.
+     *
+     * @param line         The index of the first inserted line.
+     * @param lines        The array holding the inserted lines.
+     * @param off          The position in lines of the first inserted line.
+     * @param len          The number of inserted lines.
+     * @param cursorBefore The cursor before the edit.
+     * @param cursorAfter  The cursor after the edit.
+     */
+    public void recordInsert(int line, String[] lines, int off, int len, int cursorBefore, int cursorAfter) {
+        if (len == 0) {
+            return;
+        }
+        truncateRedo();
+        if (append(INSERT, line, len, cursorBefore, cursorAfter)) {
+            for (int i = 0; i < len; i++) {
+                texts[textEnd++ & (texts.length - 1)] = lines[off + i];
+            }
+        }
+    }
+
+    /**
+     * Records the replacement of a line.
+     *
+     * @param line         The index of the replaced line.
+     * @param previous     The line before the edit.
+     * @param replacement  The line after the edit.
+     * @param cursorBefore The cursor before the edit.
+     * @param cursorAfter  The cursor after the edit.
+     */
+    public void recordReplace(int line, String previous, String replacement, int cursorBefore, int cursorAfter) {
+        truncateRedo();
+        if (append(REPLACE, line, 2, cursorBefore, cursorAfter)) {
+            texts[textEnd++ & (texts.length - 1)] = previous;
+            texts[textEnd++ & (texts.length - 1)] = replacement;
+        }
+    }
+
+    /**
+     * Records the removal of a line.
+     *
+     * @param line         The index the line was removed from.
+     * @param removed      The removed line.
+     * @param cursorBefore The cursor before the edit.
+     * @param cursorAfter  The cursor after the edit.
+     */
+    public void recordRemove(int line, String removed, int cursorBefore, int cursorAfter) {
+        truncateRedo();
+        if (append(REMOVE, line, 1, cursorBefore, cursorAfter)) {
+            texts[textEnd++ & (texts.length - 1)] = removed;
+        }
+    }
+
+    /**
+     * Records the rewrite of a window of lines into another, such as the
+     * result of an EditBatch, so that it is undone in one step. Only the
+     * lines that were removed, replaced or inserted are stored, each with
+     * its offset in the window; the untouched lines in between are read back
+     * from the text on undo and redo, so a batch costs the journal as many
+     * lines as it edited, however far apart they are.
+     *
+     * @param line         The index of the first line of the window.
+     * @param before       The number of lines in the window before the edit.
+     * @param after        The number of lines in the window after the edit.
+     * @param at           The offset in the window of each stored line: first
+     *                     the lines before the edit that it removed or
+     *                     replaced, then the lines after the edit that it
+     *                     inserted or replaced, each in ascending order.
+     * @param lines        The stored lines, in the same order.
+     * @param removed      The number of stored lines from before the edit.
+     * @param len          The number of stored lines.
+     * @param cursorBefore The cursor before the edit.
+     * @param cursorAfter  The cursor after the edit.
+     */
+    public void recordSplice(int line, int before, int after, int[] at, String[] lines, int removed, int len,
+                             int cursorBefore, int cursorAfter) {
+        truncateRedo();
+        if (append(SPLICE, line, len, cursorBefore, cursorAfter)) {
+            int record = slot(count - 1);
+            records[record + COUNT] = before;
+            records[record + INSERTED] = after;
+            records[record + REMOVED] = removed;
+            for (int i = 0; i < len; i++) {
+                offsets[textEnd & (texts.length - 1)] = at[i];
+                texts[textEnd++ & (texts.length - 1)] = lines[i];
+            }
+        }
+    }
+
+    /**
+     * Reverts the most recent done edit on the given lines.
+     *
+     * @param lines The lines the edit was made on.
+     * @return The cursor from before the edit.
+     * @throws IllegalStateException if there is nothing to undo.
+     */
+    public int undo(List<String> lines) throws IllegalStateException {
+        return undo(lines, new CursorSet());
+    }
+
+    /**
+     * Reverts the most recent done edit on the given lines, shifting the
+     * extra cursors of the editor with them.
+     *
+     * @param lines   The lines the edit was made on.
+     * @param cursors The extra cursors, which shift with the lines reverted.
+     * @return The cursor from before the edit.
+     * @throws IllegalStateException if there is nothing to undo.
+     */
+    public int undo(List<String> lines, CursorSet cursors) throws IllegalStateException {
+        if (!canUndo()) {
+            throw new IllegalStateException("Nothing to undo");
+        }
+        int record = slot(--done);
+        int line = records[record + LINE];
+        int text = records[record + TEXT_START];
+        switch (records[record + KIND]) {
+            case INSERT -> {
+                lines.removeRange(line, line + records[record + COUNT]);
+                cursors.spliced(line, records[record + COUNT], 0, lines.size());
+            }
+            case REPLACE -> lines.set(line, texts[text & (texts.length - 1)]);
+            case SPLICE -> {
+                int removed = records[record + REMOVED];
+                rewrite(lines, line, records[record + INSERTED], records[record + COUNT],
+                        text, removed, text + removed, textEndOf(done) - text - removed);
+                cursors.spliced(line, records[record + INSERTED], records[record + COUNT], lines.size());
+            }
+            default -> {
+                lines.add(line, texts[text & (texts.length - 1)]);
+                cursors.spliced(line, 0, 1, lines.size());
+            }
+        }
+        return records[record + CURSOR_BEFORE];
+    }
+
+    /**
+     * Repeats the most recent undone edit on the given lines.
+     *
+     * @param lines The lines the edit was made on.
+     * @return The cursor from after the edit.
+     * @throws IllegalStateException if there is nothing to redo.
+     */
+    public int redo(List<String> lines) throws IllegalStateException {
+        return redo(lines, new CursorSet());
+    }
+
+    /**
+     * Repeats the most recent undone edit on the given lines, shifting the
+     * extra cursors of the editor with them.
+     *
+     * @param lines   The lines the edit was made on.
+     * @param cursors The extra cursors, which shift with the lines changed.
+     * @return The cursor from after the edit.
+     * @throws IllegalStateException if there is nothing to redo.
+     */
+    public int redo(List<String> lines, CursorSet cursors) throws IllegalStateException {
+        if (!canRedo()) {
+            throw new IllegalStateException("Nothing to redo");
+        }
+        int record = slot(done++);
+        int line = records[record + LINE];
+        int text = records[record + TEXT_START];
+        switch (records[record + KIND]) {
+            case INSERT -> {
+                splice(lines, line, 0, text, records[record + COUNT]);
+                cursors.spliced(line, 0, records[record + COUNT], lines.size());
+            }
+            case REPLACE -> lines.set(line, texts[(text + 1) & (texts.length - 1)]);
+            case SPLICE -> {
+                int removed = records[record + REMOVED];
+                rewrite(lines, line, records[record + COUNT], records[record + INSERTED],
+                        text + removed, textEndOf(done - 1) - text - removed, text, removed);
+                cursors.spliced(line, records[record + COUNT], records[record + INSERTED], lines.size());
+            }
+            default -> {
+                lines.remove(line);
+                cursors.spliced(line, 1, 0, lines.size());
+            }
+        }
+        return records[record + CURSOR_AFTER];
+    }
+
+    /**
+     * Removes a block of lines and inserts a run of stored texts in its place.
+     *
+     * @param lines  The lines to edit.
+     * @param line   The index of the first line to remove.
+     * @param remove The number of lines to remove.
+     * @param text   The text counter of the first text to insert.
+     * @param len    The number of texts to insert.
+     */
+    private void splice(List<String> lines, int line, int remove, int text, int len) {
+        lines.removeRange(line, line + remove);
+        String[] inserted = new String[len];
+        for (int i = 0; i < len; i++) {
+            inserted[i] = texts[(text + i) & (texts.length - 1)];
+        }
+        lines.addAll(line, inserted, 0, len);
+    }
+
+    /**
+     * Rewrites the length lines from line on into newLength lines: each
+     * stored target text goes to its offset in the new window, each line at
+     * a source offset in the old window is dropped, and the other lines keep
+     * their order in between. If every target replaces the source at the
+     * same offset, only those lines are set.
+     *
+     * @param lines       The lines to edit.
+     * @param line        The index of the first line of the window.
+     * @param length      The number of lines in the window now.
+     * @param newLength   The number of lines in the window afterwards.
+     * @param target      The text counter of the first target text.
+     * @param targetCount The number of target texts.
+     * @param source      The text counter of the first source text.
+     * @param sourceCount The number of source texts.
+     */
+    private void rewrite(List<String> lines, int line, int length, int newLength,
+                         int target, int targetCount, int source, int sourceCount) {
+        int mask = texts.length - 1;
+        boolean inPlace = targetCount == sourceCount;
+        for (int k = 0; inPlace && k < targetCount; k++) {
+            inPlace = offsets[(target + k) & mask] == offsets[(source + k) & mask];
+        }
+        if (inPlace) {
+            for (int k = 0; k < targetCount; k++) {
+                lines.set(line + offsets[(target + k) & mask], texts[(target + k) & mask]);
+            }
+            return;
+        }
+        String[] window = new String[newLength];
+        Iterator<String> current = lines.iterator(line);
+        int old = 0;
+        for (int i = 0, t = 0, s = 0; i < newLength; i++) {
+            if (t < targetCount && offsets[(target + t) & mask] == i) {
+                window[i] = texts[(target + t++) & mask];
+                continue;
+            }
+            for (; s < sourceCount && offsets[(source + s) & mask] == old; s++, old++) {
+                current.next();
+            }
+            window[i] = current.next();
+            old++;
+        }
+        lines.removeRange(line, line + length);
+        lines.addAll(line, window, 0, newLength);
+    }
+
+    /**
+     * Adds a new record at the end, evicting old records to make room for it
+     * and its texts. An edit with more lines than the whole journal can hold
+     * cannot be undone, so it clears the journal instead.
+     *
+     * @return true if the record was added and its texts must be stored.
+     */
+    private boolean append(int kind, int line, int textCount, int cursorBefore, int cursorAfter) {
+        if (textCount > texts.length) {
+            clear();
+            return false;
+        }
+        makeRoom(textCount);
+        if (count == maxEdits) {
+            evictOldest();
+        }
+        int record = slot(count++);
+        done = count;
+        records[record + KIND] = kind;
+        records[record + LINE] = line;
+        records[record + COUNT] = (kind == INSERT) ? textCount : 1;
+        records[record + CURSOR_BEFORE] = cursorBefore;
+        records[record + CURSOR_AFTER] = cursorAfter;
+        records[record + TEXT_START] = textEnd;
+        return true;
+    }
+
+    /**
+     * Evicts the oldest records until the given number of texts fits.
+     */
+    private void makeRoom(int textCount) {
+        while (textEnd - textHead + textCount > texts.length) {
+            evictOldest();
+        }
+    }
+
+    /**
+     * Forgets the oldest record and its texts.
+     */
+    private void evictOldest() {
+        int next = (count > 1) ? textStartOf(1) : textEnd;
+        for (int i = textHead; i != next; i++) {
+            texts[i & (texts.length - 1)] = null; // help garbage collection
+        }
+        textHead = next;
+        head = (head + 1) % maxEdits;
+        count--;
+        done = Math.max(done - 1, 0);
+        if (count == 0) {
+            textHead = textEnd;
+        }
+    }
+
+    /**
+     * Forgets the undone records, which a new edit makes impossible to redo.
+     */
+    private void truncateRedo() {
+        if (done == count) {
+            return;
+        }
+        int end = textStartOf(done);
+        for (int i = end; i != textEnd; i++) {
+            texts[i & (texts.length - 1)] = null; // help garbage collection
+        }
+        textEnd = end;
+        count = done;
+    }
+
+    /**
+     * Returns the text counter where the i-th record's texts start.
+     */
+    private int textStartOf(int i) {
+        return records[slot(i) + TEXT_START];
+    }
+
+    /**
+     * Returns the text counter one past the i-th record's texts.
+     */
+    private int textEndOf(int i) {
+        return (i + 1 < count) ? textStartOf(i + 1) : textEnd;
+    }
+
+    /**
+     * Returns the position in records of the i-th record from the oldest.
+     */
+    private int slot(int i) {
+        return ((head + i) % maxEdits) * FIELDS;
+    }
+}
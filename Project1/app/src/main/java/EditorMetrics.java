@@ -0,0 +1,346 @@
+import list.ListCounters;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * The metrics of an InstrumentedTextEditor: the number of calls of every
+ * operation, a LatencyHistogram of every operation, and the ListCounters of
+ * the line store. A snapshot of everything can be exported as JSON, or read
+ * over JMX once the metrics are registered with the platform MBean server.
+ *
+ * <p>Every edit and rendering is counted, but only one call in samplePeriod
+ * of each is timed: reading the clock costs more than moving the cursor or
+ * reading a line, so timing those would mostly measure the clock, and
+ * sampling keeps the overhead of the rest to a small share of their cost
+ * while the percentiles stay representative. The cursor moves and queries
+ * are not timed at all, and are only counted when the metrics are built
+ * with countNavigation set: they take a nanosecond or two, so even
+ * incrementing a counter slows them down by about a tenth.
+ *
+ * <p>Like the histograms, the counts are plain fields written by the thread
+ * using the editor, without any memory barrier. They are best-effort for
+ * any other thread: it may see stale values, or never see an update at all,
+ * and as a long field is not written atomically (JLS 17.7) it may even read
+ * a torn count. Read them from the editing thread, or after it is done, for
+ * exact values.
+ *
+ * @version 1.0.0
+ */
+public class EditorMetrics implements EditorMetricsMBean {
+
+    /**
+     * The operations measured, one per SimpleTextEditor method.
+     */
+    public enum Operation {
+        /** SimpleTextEditor.isEmpty. */
+        IS_EMPTY("isEmpty", false),
+        /** SimpleTextEditor.size. */
+        SIZE("size", false),
+        /** SimpleTextEditor.isCursorAtLastLine. */
+        IS_CURSOR_AT_LAST_LINE("isCursorAtLastLine", false),
+        /** SimpleTextEditor.cursorDown. */
+        CURSOR_DOWN("cursorDown", false),
+        /** SimpleTextEditor.cursorUp. */
+        CURSOR_UP("cursorUp", false),
+        /** SimpleTextEditor.moveCursorToLine. */
+        MOVE_CURSOR_TO_LINE("moveCursorToLine", false),
+        /** SimpleTextEditor.cursorLineNum. */
+        CURSOR_LINE_NUM("cursorLineNum", false),
+        /** SimpleTextEditor.insertAfterCursor. */
+        INSERT_AFTER_CURSOR("insertAfterCursor", true),
+        /** SimpleTextEditor.insertBeforeCursor. */
+        INSERT_BEFORE_CURSOR("insertBeforeCursor", true),
+        /** SimpleTextEditor.getAtCursor. */
+        GET_AT_CURSOR("getAtCursor", false),
+        /** SimpleTextEditor.replaceAtCursor. */
+        REPLACE_AT_CURSOR("replaceAtCursor", true),
+        /** SimpleTextEditor.removeAtCursor. */
+        REMOVE_AT_CURSOR("removeAtCursor", true),
+        /** SimpleTextEditor.batch. */
+        BATCH("batch", true),
+        /** Rendering the whole text with toString. */
+        TO_STRING("toString", true);
+
+        /**
+         * The name of the method.
+         */
+        private final String method;
+        /**
+         * Whether calls are timed as well as counted.
+         */
+        private final boolean timed;
+
+        /**
+         * An Operation constructor.
+         *
+         * @param method The name of the method.
+         * @param timed  Whether calls are timed as well as counted.
+         */
+        Operation(String method, boolean timed) {
+            this.method = method;
+            this.timed = timed;
+        }
+
+        /**
+         * Returns the name of the method measured.
+         *
+         * @return the method name
+         */
+        public String method() {
+            return method;
+        }
+
+        /**
+         * Returns true if calls are timed as well as counted.
+         *
+         * @return whether the operation has latencies
+         */
+        public boolean isTimed() {
+            return timed;
+        }
+
+        /**
+         * Returns the operation measuring the given method.
+         *
+         * @param method The name of the method.
+         * @return the operation
+         * @throws IllegalArgumentException if there is no such operation
+         */
+        public static Operation of(String method) throws IllegalArgumentException {
+            for (Operation operation : OPERATIONS) {
+                if (operation.method.equals(method)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation: " + method);
+        }
+    }
+
+    /**
+     * The default number of calls per timed call.
+     */
+    public static final int SAMPLE_PERIOD = 64;
+
+    /**
+     * Every operation, in declaration order.
+     */
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    /**
+     * The number of calls of every operation.
+     */
+    private final long[] calls = new long[OPERATIONS.length];
+    /**
+     * The latencies of the timed calls of every operation.
+     */
+    private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];
+    /**
+     * The counters of the line store.
+     */
+    private final ListCounters lists = new ListCounters();
+    /**
+     * The number of calls per timed call minus one.
+     */
+    private final int sampleMask;
+    /**
+     * Whether the calls of the operations that are not timed are counted.
+     */
+    private final boolean countNavigation;
+
+    /**
+     * An EditorMetrics constructor timing one call in SAMPLE_PERIOD and not
+     * counting the cursor moves and queries.
+     */
+    public EditorMetrics() {
+        this(SAMPLE_PERIOD);
+    }
+
+    /**
+     * An EditorMetrics constructor not counting the cursor moves and queries.
+     *
+     * @param samplePeriod The number of calls of an operation per timed call,
+     *                     a power of two; 1 times every call.
+     * @throws IllegalArgumentException if samplePeriod is not a power of two.
+     */
+    public EditorMetrics(int samplePeriod) throws IllegalArgumentException {
+        this(samplePeriod, false);
+    }
+
+    /**
+     * An EditorMetrics constructor.
+     *
+     * @param samplePeriod    The number of calls of an operation per timed
+     *                        call, a power of two; 1 times every call.
+     * @param countNavigation Whether to count the calls of the operations
+     *                        that are not timed, the cursor moves and queries.
+     * @throws IllegalArgumentException if samplePeriod is not a power of two.
+     */
+    public EditorMetrics(int samplePeriod, boolean countNavigation) throws IllegalArgumentException {
+        if (samplePeriod <= 0 || Integer.bitCount(samplePeriod) != 1) {
+            throw new IllegalArgumentException("Illegal sample period: " + samplePeriod);
+        }
+        sampleMask = samplePeriod - 1;
+        this.countNavigation = countNavigation;
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Returns whether the calls of the operations that are not timed, the
+     * cursor moves and queries, are counted.
+     *
+     * @return true if every call is counted
+     */
+    public boolean countsNavigation() {
+        return countNavigation;
+    }
+
+    /**
+     * Counts a call of an operation.
+     *
+     * @param operation The operation called.
+     */
+    void count(Operation operation) {
+        calls[operation.ordinal()]++;
+    }
+
+    /**
+     * Counts a call of a timed operation and tells whether to time it.
+     *
+     * @param operation The operation called.
+     * @return true if the call is to be timed and passed to record.
+     */
+    boolean sample(Operation operation) {
+        return (calls[operation.ordinal()]++ & sampleMask) == 0;
+    }
+
+    /**
+     * Records the latency of a timed call that has just ended.
+     *
+     * @param operation The operation called.
+     * @param start     The value of System.nanoTime when the call started.
+     */
+    void record(Operation operation, long start) {
+        latencies[operation.ordinal()].record(System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the number of calls of an operation; it stays 0 for an
+     * operation that is not timed unless countsNavigation is true.
+     *
+     * @param operation The operation.
+     * @return the number of calls
+     */
+    public long calls(Operation operation) {
+        return calls[operation.ordinal()];
+    }
+
+    /**
+     * Returns the latencies of the timed calls of an operation; it stays
+     * empty for an operation that is not timed.
+     *
+     * @param operation The operation.
+     * @return the histogram of the operation
+     */
+    public LatencyHistogram latency(Operation operation) {
+        return latencies[operation.ordinal()];
+    }
+
+    /**
+     * Returns the counters to give to the setCounters method of the line
+     * store, such as ArraySequence.setCounters.
+     *
+     * @return the counters of the line store
+     */
+    public ListCounters lists() {
+        return lists;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server, under the name
+     * "editor:type=EditorMetrics,name=" followed by the given name.
+     *
+     * @param name The name telling the editor apart from others.
+     * @return the name registered
+     * @throws JMException if the metrics could not be registered, for
+     *                     example because the name is taken.
+     */
+    public ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("editor:type=EditorMetrics,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+    /**
+     * Builds a JSON object of every metric: the sample period and whether
+     * the cursor moves and queries are counted, then for each operation the
+     * number of calls, the number of timed calls, the mean and maximum latency and the
+     * 50th, 90th, 99th and 99.9th latency percentiles in nanoseconds, then
+     * the counters of the line store.
+     *
+     * @return the metrics as JSON
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"samplePeriod\":").append(sampleMask + 1)
+                .append(",\"countNavigation\":").append(countNavigation).append(",\"operations\":{");
+        for (Operation operation : OPERATIONS) {
+            LatencyHistogram latency = latency(operation);
+            if (operation.ordinal() > 0) {
+                json.append(',');
+            }
+            json.append('"').append(operation.method).append("\":{")
+                    .append("\"calls\":").append(calls(operation))
+                    .append(",\"samples\":").append(latency.count())
+                    .append(",\"meanNanos\":").append(String.format(Locale.ROOT, "%.1f", latency.mean()))
+                    .append(",\"p50\":").append(latency.valueAtPercentile(50))
+                    .append(",\"p90\":").append(latency.valueAtPercentile(90))
+                    .append(",\"p99\":").append(latency.valueAtPercentile(99))
+                    .append(",\"p999\":").append(latency.valueAtPercentile(99.9))
+                    .append(",\"maxNanos\":").append(latency.max())
+                    .append('}');
+        }
+        json.append("},\"lineStore\":{\"expansions\":").append(lists.expansions())
+                .append(",\"elementsMoved\":").append(lists.elementsMoved()).append("}}");
+        return json.toString();
+    }
+
+    @Override
+    public String getJson() {
+        return toJson();
+    }
+
+    @Override
+    public long getExpansions() {
+        return lists.expansions();
+    }
+
+    @Override
+    public long getElementsMoved() {
+        return lists.elementsMoved();
+    }
+
+    @Override
+    public long calls(String operation) throws IllegalArgumentException {
+        return calls(Operation.of(operation));
+    }
+
+    @Override
+    public long latency(String operation, double percentile) throws IllegalArgumentException {
+        return latency(Operation.of(operation)).valueAtPercentile(percentile);
+    }
+
+    /**
+     * Returns the metrics as JSON.
+     *
+     * @return the same as toJson
+     */
+    @Override
+    public String toString() {
+        return toJson();
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * The management interface of EditorMetrics, through which JMX clients such
+ * as JConsole read the metrics of a running editor.
+ *
+ * @version 1.0.0
+ */
+public interface EditorMetricsMBean {
+
+    /**
+     * Returns every metric as a JSON object.
+     *
+     * @return the metrics, as returned by EditorMetrics.toJson
+     */
+    String getJson();
+
+    /**
+     * Returns the number of times the array of the line store was resized.
+     *
+     * @return the number of resizes
+     */
+    long getExpansions();
+
+    /**
+     * Returns the number of lines moved by insertions and removals in the
+     * line store.
+     *
+     * @return the number of lines moved
+     */
+    long getElementsMoved();
+
+    /**
+     * Returns the number of calls of an operation.
+     *
+     * @param operation The name of the SimpleTextEditor method.
+     * @return the number of calls
+     * @throws IllegalArgumentException if there is no such operation
+     */
+    long calls(String operation) throws IllegalArgumentException;
+
+    /**
+     * Returns a latency percentile of an operation.
+     *
+     * @param operation  The name of the SimpleTextEditor method.
+     * @param percentile The share of the calls, from 0 to 100.
+     * @return the latency in nanoseconds
+     * @throws IllegalArgumentException if there is no such operation
+     */
+    long latency(String operation, double percentile) throws IllegalArgumentException;
+}
@@ -1,9 +1,12 @@
+import list.ArrayBackedList;
+import list.OffHeapStringList;
+
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A collection of utility methods that help the text Editor.
@@ -24,8 +27,20 @@ public class EditorUtilities {
      * @return The lines in the given file.
      */
     public static String[] readResourceFile(String resourceName) {
+        return readResourceFile(resourceName, null);
+    }
+
+    /**
+     * Load a file that is in the classpath as a resource, interning every line
+     * so that identical lines share one String.
+     *
+     * @param resourceName The file name as a resource
+     * @param interner     The table to intern the lines in, or null.
+     * @return The lines in the given file.
+     */
+    public static String[] readResourceFile(String resourceName, LineInterner interner) {
         try {
-            return readDocument(Paths.get(Objects.requireNonNull(EditorUtilities.class.getResource(resourceName)).toURI()));
+            return readDocument(Paths.get(Objects.requireNonNull(EditorUtilities.class.getResource(resourceName)).toURI()), interner);
         } catch (URISyntaxException e) {
             // Handle exceptions if the resource file is not found
             e.printStackTrace();
@@ -35,17 +50,20 @@ public class EditorUtilities {
 
     /**
      * Utility method to read a document into a String array where each line is a
-     * separate string.
+     * separate string, trimmed of the whitespace at both ends. The file is
+     * decoded in parallel on the common fork/join pool.
      *
-     * @param source The path to the source text file to read.
+     * @param source   The path to the source text file to read.
+     * @param interner The table to intern the lines in, or null.
      * @return The lines of the read file.
      */
-    private static String[] readDocument(Path source) {
+    private static String[] readDocument(Path source, LineInterner interner) {
         try {
             // Reads in pure lines without messy \r\n ending characters.
-            String[] lines = Files.readAllLines(source).toArray(String[]::new);
-            scrub(lines);
-            return lines;
+            ArrayBackedList<String> read = new ArrayBackedList<>();
+            new DocumentLoader(DocumentLoader.LineEndings.TRIM).read(source, read, ForkJoinPool.commonPool());
+            String[] lines = read.stream().toArray(String[]::new);
+            return (interner == null) ? lines : interner.internAll(lines);
         } catch (IOException exception) {
             System.err.format("Error: File '%s' could not be read in path.%n", source);
             exception.printStackTrace();
@@ -55,18 +73,47 @@ public class EditorUtilities {
     }
 
     /**
-     * Purge the read is files from trailing whitespace at the end of some of the
-     * lines. Technically the editor could adjust the lines to match the
-     * whitespaces, but it's easier to meet the project requirements by just trimming
-     * and removing whitespace. Beware some of the lines have additional spaces
-     * added between characters.
+     * Opens a document by memory-mapping it instead of reading it. Only the
+     * offsets of the lines are computed up front; each line is decoded the
+     * first time it is read. Unlike readDocument, the lines are not scrubbed.
      *
-     * @param lines The document lines to trim.
+     * @param source The path to the source text file to map.
+     * @return The lines of the mapped file, ready to back a MyTextEditor.
+     * @throws IOException if the file could not be mapped.
      */
-    private static void scrub(String[] lines) {
-        for (int i = 0; i < lines.length; i++) {
-            lines[i] = lines[i].trim();
-        }
+    public static MappedDocument mapDocument(Path source) throws IOException {
+        return new MappedDocument(source);
+    }
+
+    /**
+     * Opens a document in a new editor without waiting for it to be read. The
+     * file is read on a background thread, trimmed like readResourceFile does,
+     * and its lines are streamed into the ArraySequence of the editor, which
+     * can be used at once: size() tells how many lines have arrived so far,
+     * and cancelLoad stops the read.
+     *
+     * @param source The path to the source text file to read.
+     * @return The editor, with its cursor before the first line.
+     */
+    public static MyTextEditor openAsync(Path source) {
+        return new MyTextEditor(new ArraySequence<>(), new BackgroundLoad(source, new DocumentLoader(DocumentLoader.LineEndings.TRIM)));
+    }
+
+    /**
+     * Reads a document into a list.OffHeapStringList, streaming the file in
+     * chunks and copying the bytes of each line straight into the off-heap
+     * slabs, so neither the file nor its lines ever sit on the heap. Like
+     * mapDocument, lines lose their line terminator but are not scrubbed.
+     *
+     * @param source The path to the source text file to read.
+     * @return The lines of the file, ready to back a MyTextEditor.
+     * @throws IOException if the file could not be read.
+     */
+    public static OffHeapStringList readOffHeap(Path source) throws IOException {
+        OffHeapStringList lines = new OffHeapStringList();
+        new DocumentLoader(DocumentLoader.LineEndings.NORMALIZE)
+                .read(source, (bytes, from, to, ascii) -> lines.addUtf8(lines.size(), bytes, from, to - from));
+        return lines;
     }
 
     /**
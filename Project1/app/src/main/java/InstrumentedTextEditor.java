@@ -0,0 +1,274 @@
+import java.util.function.Consumer;
+
+/**
+ * A SimpleTextEditor that measures another one. Every call is passed on to
+ * the wrapped editor. The edits and renderings are counted and a sample of
+ * them is timed into the latency histogram of its operation; the cursor
+ * moves and queries are only counted if the metrics ask for it, as their
+ * cost is close to that of counting them; see EditorMetrics.
+ * Give the line store of the wrapped editor the counters from
+ * EditorMetrics.lists to also count the resizes and moves behind the edits:
+ *
+ * <pre>
+ * ArraySequence&lt;String&gt; lines = new ArraySequence&lt;&gt;();
+ * EditorMetrics metrics = new EditorMetrics();
+ * lines.setCounters(metrics.lists());
+ * SimpleTextEditor editor = new InstrumentedTextEditor(new MyTextEditor(lines), metrics);
+ * </pre>
+ *
+ * <p>The metrics are recorded without locking or memory barriers. They are
+ * exact as long as the editor is used by one thread at a time, as a
+ * MyTextEditor must be, and read by that thread; calls made concurrently,
+ * on a ConcurrentTextEditor for example, may be missed, and other threads
+ * read them on a best-effort basis.
+ *
+ * @version 1.0.0
+ */
+public class InstrumentedTextEditor implements SimpleTextEditor {
+
+    /**
+     * The editor measured.
+     */
+    private final SimpleTextEditor editor;
+    /**
+     * The metrics the calls are recorded in.
+     */
+    private final EditorMetrics metrics;
+    /**
+     * Whether the cursor moves and queries are counted, copied from the
+     * metrics so the check costs a field read.
+     */
+    private final boolean countNavigation;
+
+    /**
+     * An InstrumentedTextEditor constructor with new metrics.
+     *
+     * @param editor The editor to measure.
+     */
+    public InstrumentedTextEditor(SimpleTextEditor editor) {
+        this(editor, new EditorMetrics());
+    }
+
+    /**
+     * An InstrumentedTextEditor constructor.
+     *
+     * @param editor  The editor to measure.
+     * @param metrics The metrics to record the calls in.
+     */
+    public InstrumentedTextEditor(SimpleTextEditor editor, EditorMetrics metrics) {
+        this.editor = editor;
+        this.metrics = metrics;
+        this.countNavigation = metrics.countsNavigation();
+    }
+
+    /**
+     * Returns the metrics the calls are recorded in.
+     *
+     * @return the metrics
+     */
+    public EditorMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns true if the text is completely empty (and cursor is at line -1).
+     *
+     * @return true if the text is empty and false otherwise
+     */
+    public boolean isEmpty() {
+        if (countNavigation) {
+            metrics.count(EditorMetrics.Operation.IS_EMPTY);
+        }
+        return editor.isEmpty();
+    }
+
+    /**
+     * Returns the current number of lines of text.
+     *
+     * @return the current number of lines
+     */
+    public int size() {
+        if (countNavigation) {
+            metrics.count(EditorMetrics.Operation.SIZE);
+        }
+        return editor.size();
+    }
+
+    /**
+     * Returns true if the cursor is at the last line in the text or the text
+     * is empty.
+     *
+     * @return true if the cursor is at the last line and false otherwise.
+     */
+    public boolean isCursorAtLastLine() {
+        if (countNavigation) {
+            metrics.count(EditorMetrics.Operation.IS_CURSOR_AT_LAST_LINE);
+        }
+        return editor.isCursorAtLastLine();
+    }
+
+    /**
+     * Sets the cursor to be the text line after its current position.
+     */
+    public void cursorDown() {
+        if (countNavigation) {
+            metrics.count(EditorMetrics.Operation.CURSOR_DOWN);
+        }
+        editor.cursorDown();
+    }
+
+    /**
+     * Sets the cursor to be the text line before its current position.
+     */
+    public void cursorUp() {
+        if (countNavigation) {
+            metrics.count(EditorMetrics.Operation.CURSOR_UP);
+        }
+        editor.cursorUp();
+    }
+
+    /**
+     * Sets the cursor to be the line ranked i.
+     *
+     * @param line The target line number.
+     */
+    public void moveCursorToLine(int line) {
+        if (countNavigation) {
+            metrics.count(EditorMetrics.Operation.MOVE_CURSOR_TO_LINE);
+        }
+        editor.moveCursorToLine(line);
+    }
+
+    /**
+     * Returns the line number of the current cursor.
+     *
+     * @return the line number of the cursor
+     */
+    public int cursorLineNum() {
+        if (countNavigation) {
+            metrics.count(EditorMetrics.Operation.CURSOR_LINE_NUM);
+        }
+        return editor.cursorLineNum();
+    }
+
+    /**
+     * Inserts a given string in the line after the current cursor, moving the
+     * cursor to the line inserted.
+     *
+     * @param toInsert The string to be inserted.
+     */
+    public void insertAfterCursor(String toInsert) {
+        if (!metrics.sample(EditorMetrics.Operation.INSERT_AFTER_CURSOR)) {
+            editor.insertAfterCursor(toInsert);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            editor.insertAfterCursor(toInsert);
+        } finally {
+            metrics.record(EditorMetrics.Operation.INSERT_AFTER_CURSOR, start);
+        }
+    }
+
+    /**
+     * Inserts the given string in the line before the current cursor, moving the
+     * cursor to the line inserted.
+     *
+     * @param toInsert The string to be inserted.
+     */
+    public void insertBeforeCursor(String toInsert) {
+        if (!metrics.sample(EditorMetrics.Operation.INSERT_BEFORE_CURSOR)) {
+            editor.insertBeforeCursor(toInsert);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            editor.insertBeforeCursor(toInsert);
+        } finally {
+            metrics.record(EditorMetrics.Operation.INSERT_BEFORE_CURSOR, start);
+        }
+    }
+
+    /**
+     * Get the current line at the cursor.
+     *
+     * @return The line of text at the cursor.
+     */
+    public String getAtCursor() {
+        if (countNavigation) {
+            metrics.count(EditorMetrics.Operation.GET_AT_CURSOR);
+        }
+        return editor.getAtCursor();
+    }
+
+    /**
+     * Replaces the string at the current cursor with the given string, keeping
+     * the cursor at this line.
+     *
+     * @param replacement The string to be inserted.
+     */
+    public void replaceAtCursor(String replacement) {
+        if (!metrics.sample(EditorMetrics.Operation.REPLACE_AT_CURSOR)) {
+            editor.replaceAtCursor(replacement);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            editor.replaceAtCursor(replacement);
+        } finally {
+            metrics.record(EditorMetrics.Operation.REPLACE_AT_CURSOR, start);
+        }
+    }
+
+    /**
+     * Removes the entire line at the current cursor.
+     */
+    public void removeAtCursor() {
+        if (!metrics.sample(EditorMetrics.Operation.REMOVE_AT_CURSOR)) {
+            editor.removeAtCursor();
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            editor.removeAtCursor();
+        } finally {
+            metrics.record(EditorMetrics.Operation.REMOVE_AT_CURSOR, start);
+        }
+    }
+
+    /**
+     * Applies a batch of line edits.
+     *
+     * @param edits The action submitting the edits.
+     */
+    public void batch(Consumer<EditBatch> edits) {
+        if (!metrics.sample(EditorMetrics.Operation.BATCH)) {
+            editor.batch(edits);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            editor.batch(edits);
+        } finally {
+            metrics.record(EditorMetrics.Operation.BATCH, start);
+        }
+    }
+
+    /**
+     * Builds the text of the wrapped editor.
+     *
+     * @return The text, as built by the wrapped editor.
+     */
+    @Override
+    public String toString() {
+        if (!metrics.sample(EditorMetrics.Operation.TO_STRING)) {
+            return editor.toString();
+        }
+        long start = System.nanoTime();
+        try {
+            return editor.toString();
+        } finally {
+            metrics.record(EditorMetrics.Operation.TO_STRING, start);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/**
+ * A histogram of latencies in nanoseconds with a fixed relative precision,
+ * in the style of HdrHistogram. Values below 64 get a bucket each; above
+ * that, every power of two is split into 32 buckets, so a percentile is
+ * never off by more than 1/32 (about 3%) of its value. Values above 2^36
+ * nanoseconds (about 69 seconds) share the last power of two. The whole
+ * histogram is 1024 counters, and recording a value is a few shifts and one
+ * increment.
+ *
+ * <p>Values are recorded by one thread at a time, such as the thread owning
+ * an editor, into plain fields: no lock or memory barrier slows down the
+ * code being measured. Another thread, such as a monitoring tool, can read
+ * the histogram at any time, but only on a best-effort basis: nothing
+ * guarantees it sees the recent values, or the counters of one value
+ * together, and a long field may be read torn (JLS 17.7). The recording
+ * thread, or one that has joined it, reads exact values.
+ *
+ * @version 1.0.0
+ */
+public class LatencyHistogram {
+
+    /**
+     * The number of bits of a value kept exactly within its power of two.
+     */
+    private static final int SUB_BITS = 5;
+    /**
+     * The number of buckets per power of two.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    /**
+     * The largest value told apart from larger ones.
+     */
+    static final long HIGHEST_VALUE = (1L << 36) - 1;
+    /**
+     * The number of buckets.
+     */
+    static final int BUCKETS = bucketOf(HIGHEST_VALUE) + 1;
+
+    /**
+     * The number of values recorded in each bucket.
+     */
+    private final long[] counts = new long[BUCKETS];
+    /**
+     * The number of values recorded.
+     */
+    private long count = 0;
+    /**
+     * The sum of the values recorded.
+     */
+    private long total = 0;
+    /**
+     * The largest value recorded.
+     */
+    private long max = 0;
+
+    /**
+     * Records a value.
+     *
+     * @param nanos The latency in nanoseconds; negative values count as 0.
+     */
+    public void record(long nanos) {
+        nanos = Math.max(nanos, 0);
+        int bucket = bucketOf(Math.min(nanos, HIGHEST_VALUE));
+        counts[bucket]++;
+        count++;
+        total += nanos;
+        if (nanos > max) {
+            max = nanos;
+        }
+    }
+
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return the number of values
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns the largest value recorded.
+     *
+     * @return the largest value, or 0 if there is none
+     */
+    public long max() {
+        return max;
+    }
+
+    /**
+     * Returns the average of the values recorded.
+     *
+     * @return the mean, or 0 if there are no values
+     */
+    public double mean() {
+        long values = count;
+        return (values == 0) ? 0 : (double) total / values;
+    }
+
+    /**
+     * Returns the value that the given share of the values recorded is less
+     * than or equal to, rounded up to the end of its bucket.
+     *
+     * @param percentile The share, from 0 to 100.
+     * @return the value at the percentile, or 0 if there are no values
+     * @throws IllegalArgumentException if percentile is not between 0 and 100
+     */
+    public long valueAtPercentile(double percentile) throws IllegalArgumentException {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Illegal percentile: " + percentile);
+        }
+        long values = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            values += counts[i];
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * values));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), max);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the bucket of a value between 0 and HIGHEST_VALUE: the value
+     * itself below 2 * SUB_BUCKETS, otherwise its power of two and its
+     * SUB_BITS leading bits.
+     */
+    static int bucketOf(long value) {
+        int shift = 63 - Long.numberOfLeadingZeros(value | 1) - SUB_BITS;
+        if (shift <= 0) {
+            return (int) value;
+        }
+        return (shift << SUB_BITS) + (int) (value >>> shift);
+    }
+
+    /**
+     * Returns the largest value that falls into the given bucket.
+     */
+    static long highestValueOf(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket >> SUB_BITS) - 1;
+        long leading = (bucket & (SUB_BUCKETS - 1)) + SUB_BUCKETS;
+        return ((leading + 1) << shift) - 1;
+    }
+}
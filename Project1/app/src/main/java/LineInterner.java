@@ -0,0 +1,142 @@
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded table of line texts that lets identical lines share one String.
+ * Repetitive documents such as logs and CSV files hold the same blank lines,
+ * headers and stack frames many times over; interning them as they are
+ * loaded or inserted keeps a single copy of each.
+ *
+ * <p>The table is direct-mapped: every text hashes to exactly one slot, and a
+ * different text hashing to the same slot simply takes it over. Its size is
+ * therefore fixed, and a lookup is one hash and one comparison. Slots hold
+ * weak references, so the table never keeps a line alive that no document
+ * uses any more. Any number of threads may intern concurrently.
+ *
+ * <p>{@link #hitRatio} tells how many lookups found a shared instance, which
+ * is the share of interned lines that cost no memory of their own.
+ *
+ * @version 1.0.0
+ */
+public class LineInterner {
+
+    /**
+     * The default number of slots.
+     */
+    public static final int DEFAULT_SLOTS = 1 << 16;
+
+    /**
+     * The slots, each holding the most recent text hashed to it.
+     */
+    private final AtomicReferenceArray<WeakReference<String>> slots;
+    /**
+     * The number of slots minus one; the number of slots is a power of two.
+     */
+    private final int mask;
+    /**
+     * The number of lookups.
+     */
+    private final LongAdder lookups = new LongAdder();
+    /**
+     * The number of lookups that found an equal text.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * A LineInterner constructor with the default number of slots.
+     */
+    public LineInterner() {
+        this(DEFAULT_SLOTS);
+    }
+
+    /**
+     * A LineInterner constructor.
+     *
+     * @param slots The number of slots, rounded up to a power of two.
+     * @throws IllegalArgumentException if slots is not positive or too large.
+     */
+    public LineInterner(int slots) {
+        if (slots <= 0 || slots > 1 << 30) {
+            throw new IllegalArgumentException("Illegal number of slots: " + slots);
+        }
+        int size = Integer.highestOneBit(slots);
+        if (size < slots) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Returns a String equal to the given line, the same instance as an
+     * earlier call returned if that one is still in the table.
+     *
+     * @param line The text of the line.
+     * @return A String equal to line.
+     */
+    public String intern(String line) {
+        lookups.increment();
+        int hash = line.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        WeakReference<String> reference = slots.get(slot);
+        String shared = (reference == null) ? null : reference.get();
+        if (line.equals(shared)) {
+            hits.increment();
+            return shared;
+        }
+        slots.set(slot, new WeakReference<>(line));
+        return line;
+    }
+
+    /**
+     * Interns every line of the given array in place.
+     *
+     * @param lines The lines to intern.
+     * @return The same array.
+     */
+    public String[] internAll(String[] lines) {
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = intern(lines[i]);
+        }
+        return lines;
+    }
+
+    /**
+     * Returns the number of lookups so far.
+     *
+     * @return the number of lines interned
+     */
+    public long lookups() {
+        return lookups.sum();
+    }
+
+    /**
+     * Returns the number of lookups that found a shared instance.
+     *
+     * @return the number of lines deduplicated
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the share of lookups that found a shared instance.
+     *
+     * @return hits divided by lookups, or 0 before the first lookup
+     */
+    public double hitRatio() {
+        long total = lookups.sum();
+        return (total == 0) ? 0 : (double) hits.sum() / total;
+    }
+
+    /**
+     * Builds a summary of the counters.
+     *
+     * @return The lookups, hits and hit ratio.
+     */
+    @Override
+    public String toString() {
+        return String.format("LineInterner[lookups=%d, hits=%d, hitRatio=%.3f]", lookups(), hits(), hitRatio());
+    }
+}
@@ -0,0 +1,644 @@
+import list.ArrayBackedList;
+import list.IntArrayBackedList;
+import list.List;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Spliterator;
+
+/**
+ * A list of document lines backed by a memory-mapped file. Opening a document
+ * only maps the file and records where each line starts; a line is decoded
+ * into a String the first time it is read, so the first screen is ready long
+ * before a large file could be read in full. Recently read lines are cached,
+ * so walking the whole document does not pin all of it on the heap.
+ *
+ * <p>The lines are kept in a gap buffer of int handles: a handle of zero or
+ * more is the number of an untouched line of the file, and a negative handle
+ * refers to a String stored by an edit, in a slot that is reused once its
+ * line is removed. Lines are exactly as in the file, minus their line
+ * terminator; they are not scrubbed.
+ *
+ * @version 1.0.0
+ */
+public class MappedDocument implements List<String> {
+
+    /**
+     * The largest number of bytes mapped by a single buffer.
+     */
+    static final int SEGMENT_SIZE = 1 << 30;
+
+    /**
+     * The most decoded lines of the file kept around for repeated reads.
+     */
+    static final int DECODED_CACHE_SIZE = 1 << 16;
+
+    /**
+     * The most lines a document can have, one less than the array limit so
+     * the file length fits after the last line start.
+     */
+    private static final int MAX_LINES = Integer.MAX_VALUE - 9;
+
+    /**
+     * A line feed in every byte of a word.
+     */
+    private static final long NEWLINES = 0x0A0A0A0A0A0A0A0AL;
+    /**
+     * A one in every byte of a word.
+     */
+    private static final long ONES = 0x0101010101010101L;
+    /**
+     * The high bit of every byte of a word.
+     */
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    /**
+     * The file this document was mapped from.
+     */
+    private final Path source;
+    /**
+     * The length of the file in bytes.
+     */
+    private final long length;
+    /**
+     * The mapped file, in consecutive segments of SEGMENT_SIZE bytes.
+     */
+    private final MappedByteBuffer[] segments;
+    /**
+     * The file offset at which each line of the file starts, followed by the
+     * file length.
+     */
+    private final long[] lineStarts;
+    /**
+     * The most recently read lines of the file, by line number.
+     */
+    private final Map<Integer, String> decoded = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, String> eldest) {
+            return size() > DECODED_CACHE_SIZE;
+        }
+    };
+    /**
+     * The strings stored by edits, referred to by negative handles.
+     */
+    private final ArrayBackedList<String> edits = new ArrayBackedList<>();
+    /**
+     * The slots of edits released by removed lines, reused before edits grows.
+     */
+    private final IntArrayBackedList freeEdits = new IntArrayBackedList();
+    /**
+     * A read-only view of the lines that reads them through peek.
+     */
+    private final List<String> peeking = new PeekingView();
+    /**
+     * The handles of the lines of the document, with a gap at the last edit.
+     */
+    private int[] handles;
+    /**
+     * Slot of the first free cell of the gap.
+     */
+    private int gapStart;
+    /**
+     * Slot of the first handle after the gap.
+     */
+    private int gapEnd;
+
+    /**
+     * A MappedDocument constructor that maps the given file and indexes its
+     * lines.
+     *
+     * @param source The path to the text file to map.
+     * @throws IOException if the file could not be read or has too many lines.
+     */
+    public MappedDocument(Path source) throws IOException {
+        this.source = source;
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            length = channel.size();
+            segments = new MappedByteBuffer[(int) ((length + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+            for (int i = 0; i < segments.length; i++) {
+                long offset = (long) i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(SEGMENT_SIZE, length - offset));
+            }
+        }
+        lineStarts = indexLines();
+
+        int lines = lineStarts.length - 1;
+        handles = new int[Math.max(lines, 1)];
+        for (int i = 0; i < lines; i++) {
+            handles[i] = i;
+        }
+        gapStart = lines;
+        gapEnd = handles.length;
+    }
+
+    /**
+     * Scans the mapped file once for line feeds, a word at a time.
+     *
+     * @return The start offset of every line, followed by the file length.
+     * @throws IOException if the file has more lines than a list can index.
+     */
+    private long[] indexLines() throws IOException {
+        long[] starts = new long[16];
+        int count = 0;
+        if (length > 0) {
+            starts[count++] = 0;
+        }
+        for (int s = 0; s < segments.length; s++) {
+            ByteBuffer segment = segments[s].duplicate().order(ByteOrder.LITTLE_ENDIAN);
+            long base = (long) s * SEGMENT_SIZE;
+            int limit = segment.limit();
+            int i = 0;
+            // Test eight bytes at a time; a flagged byte is confirmed before use
+            for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+                long word = segment.getLong(i);
+                long match = word ^ NEWLINES;
+                long flags = (match - ONES) & ~match & HIGH_BITS;
+                while (flags != 0) {
+                    int k = Long.numberOfTrailingZeros(flags) >>> 3;
+                    if ((byte) (word >>> (k * 8)) == '\n' && base + i + k + 1 < length) {
+                        starts = grow(starts, count);
+                        starts[count++] = base + i + k + 1;
+                    }
+                    flags &= flags - 1;
+                }
+            }
+            for (; i < limit; i++) {
+                if (segment.get(i) == '\n' && base + i + 1 < length) {
+                    starts = grow(starts, count);
+                    starts[count++] = base + i + 1;
+                }
+            }
+        }
+        starts = grow(starts, count);
+        starts[count++] = length;
+        return Arrays.copyOf(starts, count);
+    }
+
+    /**
+     * Makes room for one more line start.
+     *
+     * @param starts The line starts found so far.
+     * @param count  The number of line starts in use.
+     * @return The given array, or a larger copy of it if it was full.
+     * @throws IOException if the file has more lines than a list can index.
+     */
+    private long[] grow(long[] starts, int count) throws IOException {
+        if (count < starts.length) {
+            return starts;
+        }
+        if (starts.length >= MAX_LINES) {
+            throw new IOException("Too many lines in " + source);
+        }
+        return Arrays.copyOf(starts, (int) Math.min(2L * starts.length, MAX_LINES + 1L));
+    }
+
+    /**
+     * Returns the file this document was mapped from.
+     *
+     * @return The source path.
+     */
+    public Path getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the number of lines in the document.
+     *
+     * @return number of lines in the document
+     */
+    public int size() {
+        return handles.length - (gapEnd - gapStart);
+    }
+
+    /**
+     * Tests whether the document is empty.
+     *
+     * @return true if the document is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the line at the given index, decoding it from the file the
+     * first time it is read.
+     *
+     * @param index The index of the line to return.
+     * @return The line at the specified index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public String get(int index) throws IndexOutOfBoundsException {
+        Objects.checkIndex(index, size());
+        int handle = handles[slotOf(index)];
+        if (handle < 0) {
+            return edits.get(~handle);
+        }
+        return decoded.computeIfAbsent(handle, this::decode);
+    }
+
+    /**
+     * Returns the line at the given index like get, but without going through
+     * the cache of decoded lines, so any number of threads may call it while
+     * the document is not being edited.
+     *
+     * @param index The index of the line to return.
+     * @return The line at the specified index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    String peek(int index) throws IndexOutOfBoundsException {
+        Objects.checkIndex(index, size());
+        int handle = handles[slotOf(index)];
+        return (handle < 0) ? edits.get(~handle) : decode(handle);
+    }
+
+    /**
+     * Returns an iterator over the lines from the given index on. It reads
+     * them like peek, so walking the document leaves the cache of decoded
+     * lines as it was, and fails fast when the number of lines changes.
+     *
+     * @param from The index of the first line returned.
+     * @return an iterator starting at from
+     * @throws IndexOutOfBoundsException if from is negative or greater than
+     *                                   size()
+     */
+    @Override
+    public Iterator<String> iterator(int from) throws IndexOutOfBoundsException {
+        return peeking.iterator(from);
+    }
+
+    /**
+     * Returns a spliterator over the lines that reads them like peek, so a
+     * parallel stream decodes its lines without sharing the cache between
+     * threads.
+     *
+     * @return a SIZED and SUBSIZED spliterator over the lines
+     */
+    @Override
+    public Spliterator<String> spliterator() {
+        return peeking.spliterator();
+    }
+
+    /**
+     * Replaces the line at the given index, and returns the line previously
+     * stored.
+     *
+     * @param index   The index of the line to replace.
+     * @param element The new line to be stored.
+     * @return the previously stored line
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public String set(int index, String element) throws IndexOutOfBoundsException {
+        String previously = get(index);
+        int slot = slotOf(index);
+        if (handles[slot] < 0) {
+            edits.set(~handles[slot], element);
+        } else {
+            decoded.remove(handles[slot]);
+            handles[slot] = store(element);
+        }
+        return previously;
+    }
+
+    /**
+     * Inserts the given line at the specified index of the document.
+     *
+     * @param index   The index at which the new line should be stored.
+     * @param element the new line to be stored
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     */
+    public void add(int index, String element) throws IndexOutOfBoundsException {
+        Objects.checkIndex(index, size() + 1);
+        if (gapStart == gapEnd) {
+            expand(2 * handles.length);
+        }
+        moveGap(index);
+        handles[gapStart++] = store(element);
+    }
+
+    /**
+     * Removes and returns the line at the given index.
+     *
+     * @param index The index of the line to be removed.
+     * @return The line that had be stored at the given index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public String remove(int index) throws IndexOutOfBoundsException {
+        String previously = get(index);
+        moveGap(index);
+        release(handles[gapEnd++]);
+        return previously;
+    }
+
+    /**
+     * Removes the lines with indices from (inclusive) to to (exclusive) with
+     * a single move of the gap. None of the removed lines is decoded.
+     *
+     * @param from The index of the first line to remove.
+     * @param to   The index after the last line to remove.
+     * @throws IndexOutOfBoundsException if from is negative, to is greater
+     *                                   than size(), or from is greater than to
+     */
+    public void removeRange(int from, int to) throws IndexOutOfBoundsException {
+        Objects.checkFromToIndex(from, to, size());
+        moveGap(from);
+        for (int slot = gapEnd; slot < gapEnd + (to - from); slot++) {
+            release(handles[slot]);
+        }
+        gapEnd += to - from;
+    }
+
+    /**
+     * Grows the handle array, if needed, so that it can hold at least the
+     * given number of lines.
+     *
+     * @param capacity The number of lines the document should be able to hold.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > handles.length) {
+            expand(Math.max(capacity, 2 * handles.length));
+        }
+    }
+
+    /**
+     * Returns the line number in the source file of a line that was never
+     * edited.
+     *
+     * @param index The index of a line of the document.
+     * @return The source line number, or -1 if the line was edited or added.
+     */
+    int sourceLine(int index) {
+        Objects.checkIndex(index, size());
+        int handle = handles[slotOf(index)];
+        return (handle < 0) ? -1 : handle;
+    }
+
+    /**
+     * Returns the number of slots for edited lines, in use or released.
+     *
+     * @return the number of slots
+     */
+    int editSlots() {
+        return edits.size();
+    }
+
+    /**
+     * Returns the file offset at which a source line starts, including its
+     * indentation; the line after the last one starts at the file length.
+     *
+     * @param line A source line number, or the number of source lines.
+     * @return The file offset of the line.
+     */
+    long sourceOffset(int line) {
+        return lineStarts[line];
+    }
+
+    /**
+     * Tests whether a source line ends with a line feed in the file, which
+     * only the last line may lack.
+     *
+     * @param line A source line number.
+     * @return true if the line is terminated by a line feed.
+     */
+    boolean endsWithLineFeed(int line) {
+        long end = lineStarts[line + 1];
+        return end > lineStarts[line] && byteAt(end - 1) == '\n';
+    }
+
+    /**
+     * Tests whether the source file ends its lines with a carriage return and
+     * a line feed, judging by its first line.
+     *
+     * @return true if the first line of the file ends with "\r\n".
+     */
+    boolean endsLinesWithCarriageReturn() {
+        if (lineStarts.length < 2) {
+            return false;
+        }
+        long end = lineStarts[1];
+        return end - lineStarts[0] >= 2 && byteAt(end - 1) == '\n' && byteAt(end - 2) == '\r';
+    }
+
+    /**
+     * Copies raw bytes of the source file into a buffer, stopping at the end
+     * of the range, of the buffer, or of a mapped segment.
+     *
+     * @param from   The first file offset to copy.
+     * @param to     The file offset after the last byte to copy.
+     * @param target The buffer to copy into.
+     * @return The number of bytes copied.
+     */
+    int copySource(long from, long to, ByteBuffer target) {
+        MappedByteBuffer segment = segments[(int) (from / SEGMENT_SIZE)];
+        int position = (int) (from % SEGMENT_SIZE);
+        int count = (int) Math.min(Math.min(to - from, target.remaining()), segment.limit() - position);
+        target.put(segment.slice(position, count));
+        return count;
+    }
+
+    /**
+     * Writes raw bytes of the source file straight from the mapping to a
+     * channel. The mapping keeps the bytes of the file as it was opened, even
+     * after another file was moved over its path, as saving over it does.
+     *
+     * @param from The first file offset to write.
+     * @param to   The file offset after the last byte to write.
+     * @param out  The channel to write to.
+     * @throws IOException if writing fails.
+     */
+    void writeSource(long from, long to, WritableByteChannel out) throws IOException {
+        while (from < to) {
+            MappedByteBuffer segment = segments[(int) (from / SEGMENT_SIZE)];
+            int position = (int) (from % SEGMENT_SIZE);
+            ByteBuffer slice = segment.slice(position, (int) Math.min(to - from, segment.limit() - position));
+            while (slice.hasRemaining()) {
+                from += out.write(slice);
+            }
+        }
+    }
+
+    /**
+     * Decodes a line of the file as UTF-8, without its line terminator.
+     *
+     * @param line The line number in the file.
+     * @return The decoded line.
+     */
+    private String decode(int line) {
+        long start = lineStarts[line];
+        long end = lineStarts[line + 1];
+        if (end > start && byteAt(end - 1) == '\n') {
+            end--;
+        }
+        if (end > start && byteAt(end - 1) == '\r') {
+            end--;
+        }
+        byte[] bytes = new byte[(int) (end - start)];
+        int copied = 0;
+        while (copied < bytes.length) {
+            long offset = start + copied;
+            MappedByteBuffer segment = segments[(int) (offset / SEGMENT_SIZE)];
+            int position = (int) (offset % SEGMENT_SIZE);
+            int count = Math.min(bytes.length - copied, segment.limit() - position);
+            segment.get(position, bytes, copied, count);
+            copied += count;
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a single byte of the mapped file.
+     *
+     * @param offset The file offset.
+     * @return The byte at that offset.
+     */
+    private byte byteAt(long offset) {
+        return segments[(int) (offset / SEGMENT_SIZE)].get((int) (offset % SEGMENT_SIZE));
+    }
+
+    /**
+     * Stores an edited line, in a slot released before if there is one.
+     *
+     * @param element The line to store.
+     * @return The (negative) handle referring to it.
+     */
+    private int store(String element) {
+        if (!freeEdits.isEmpty()) {
+            int slot = freeEdits.removeInt(freeEdits.size() - 1);
+            edits.set(slot, element);
+            return ~slot;
+        }
+        edits.add(edits.size(), element);
+        return ~(edits.size() - 1);
+    }
+
+    /**
+     * Drops whatever a removed handle kept alive.
+     *
+     * @param handle The handle of a removed line.
+     */
+    private void release(int handle) {
+        if (handle < 0) {
+            edits.set(~handle, null); // help garbage collection
+            freeEdits.addLast(~handle);
+        } else {
+            decoded.remove(handle);
+        }
+    }
+
+    /** Translates a logical index into the array slot holding its handle. */
+    private int slotOf(int index) {
+        return (index < gapStart) ? index : index + (gapEnd - gapStart);
+    }
+
+    /** Resizes the handle array, keeping the gap in place. */
+    private void expand(int capacity) {
+        int[] temp = new int[capacity];
+        int tail = handles.length - gapEnd;
+        System.arraycopy(handles, 0, temp, 0, gapStart);
+        System.arraycopy(handles, gapEnd, temp, capacity - tail, tail);
+        gapEnd = capacity - tail;
+        handles = temp;
+    }
+
+    /** Slides the gap so that it starts at the given logical index. */
+    private void moveGap(int index) {
+        if (index < gapStart) {
+            int count = gapStart - index;
+            System.arraycopy(handles, index, handles, gapEnd - count, count);
+            gapStart -= count;
+            gapEnd -= count;
+        } else if (index > gapStart) {
+            int count = index - gapStart;
+            System.arraycopy(handles, gapEnd, handles, gapStart, count);
+            gapStart += count;
+            gapEnd += count;
+        }
+    }
+
+    /**
+     * The lines of the document as peek returns them, for the iterators and
+     * spliterators; it cannot be edited.
+     */
+    private class PeekingView implements List<String> {
+
+        /**
+         * Returns the number of lines in the document.
+         *
+         * @return number of lines in the document
+         */
+        public int size() {
+            return MappedDocument.this.size();
+        }
+
+        /**
+         * Tests whether the document is empty.
+         *
+         * @return true if the document is empty, false otherwise
+         */
+        public boolean isEmpty() {
+            return MappedDocument.this.isEmpty();
+        }
+
+        /**
+         * Returns the line at the given index without caching it.
+         *
+         * @param index The index of the line to return.
+         * @return The line at the specified index.
+         * @throws IndexOutOfBoundsException if the index is negative or
+         *                                   greater than size()-1
+         */
+        public String get(int index) throws IndexOutOfBoundsException {
+            return peek(index);
+        }
+
+        /**
+         * Throws, since the view is read-only.
+         *
+         * @param index   The index of the line to replace.
+         * @param element The new line.
+         * @return nothing, since it always throws
+         * @throws UnsupportedOperationException always
+         */
+        public String set(int index, String element) throws UnsupportedOperationException {
+            throw new UnsupportedOperationException("View is read-only");
+        }
+
+        /**
+         * Throws, since the view is read-only.
+         *
+         * @param index   The index at which the line would be stored.
+         * @param element The new line.
+         * @throws UnsupportedOperationException always
+         */
+        public void add(int index, String element) throws UnsupportedOperationException {
+            throw new UnsupportedOperationException("View is read-only");
+        }
+
+        /**
+         * Throws, since the view is read-only.
+         *
+         * @param index The index of the line to remove.
+         * @return nothing, since it always throws
+         * @throws UnsupportedOperationException always
+         */
+        public String remove(int index) throws UnsupportedOperationException {
+            throw new UnsupportedOperationException("View is read-only");
+        }
+    }
+}
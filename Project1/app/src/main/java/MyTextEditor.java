@@ -1,4 +1,21 @@
-import list.Position;
+import list.IntArrayBackedList;
+import list.List;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 
 /**
@@ -13,13 +30,100 @@ public class MyTextEditor implements SimpleTextEditor {
 
 
     /**
-     * An ArraySequence object that represents the entire text.
+     * A list of lines that represents the entire text.
      */
-    private final ArraySequence<String> entireText = new ArraySequence();
+    private final List<String> entireText;
     /**
      * An integer representing cursor position in the editor.
      */
     private int cursor = -1;
+    /**
+     * The extra cursors, which shift with the lines they are on.
+     */
+    private final CursorSet cursors = new CursorSet();
+    /**
+     * The writer used by save and writeTo, created on first use.
+     */
+    private DocumentWriter writer;
+    /**
+     * The journal of edits for undo and redo.
+     */
+    private final EditJournal journal = new EditJournal();
+    /**
+     * The table inserted lines are interned in, or null to store them as given.
+     */
+    private final LineInterner interner;
+    /**
+     * The document still being read into the lines, or null.
+     */
+    private final BackgroundLoad loading;
+    /**
+     * True once every line of the document being read has been appended.
+     */
+    private boolean loaded;
+
+
+    /**
+     * A MyTextEditor constructor that keeps its lines in an ArraySequence.
+     */
+    public MyTextEditor() {
+        this(new ArraySequence<>());
+    }
+
+
+    /**
+     * A MyTextEditor constructor that keeps its lines in the given list, for
+     * example a list.GapBufferList when most edits happen near the cursor, a
+     * TrigramIndex when the same document is searched over and over, a
+     * RenderCache around a list when the whole text is rendered after every
+     * edit, or a list.CompactStringList to hold a large document in less
+     * memory.
+     *
+     * @param lines The (usually empty) list to store the lines of text in.
+     */
+    public MyTextEditor(List<String> lines) {
+        this(lines, null, null);
+    }
+
+
+    /**
+     * A MyTextEditor constructor that interns every line inserted, so that
+     * identical lines share one String, as in a repetitive log file.
+     *
+     * @param lines    The (usually empty) list to store the lines of text in.
+     * @param interner The table to intern inserted lines in, or null to store
+     *                 them as given.
+     */
+    public MyTextEditor(List<String> lines, LineInterner interner) {
+        this(lines, interner, null);
+    }
+
+
+    /**
+     * A MyTextEditor constructor that returns at once while a document is
+     * read in the background. The lines read so far are appended to the
+     * given list whenever the editor looks at its text, so size() grows as
+     * the document arrives and the lines already read can be navigated,
+     * read and edited straight away. Lines still arriving always go to the
+     * end of the text, and loading them is not an edit that can be undone.
+     *
+     * @param lines   The (usually empty) list to store the lines of text in.
+     * @param loading The document being read.
+     */
+    public MyTextEditor(List<String> lines, BackgroundLoad loading) {
+        this(lines, null, loading);
+    }
+
+
+    /**
+     * The constructor every other one delegates to.
+     */
+    private MyTextEditor(List<String> lines, LineInterner interner, BackgroundLoad loading) {
+        entireText = lines;
+        this.interner = interner;
+        this.loading = loading;
+        this.loaded = (loading == null);
+    }
 
     /**
      * Returns true if the text is completely empty (and cursor is at line -1).
@@ -27,6 +131,7 @@ public class MyTextEditor implements SimpleTextEditor {
      * @return true if the text is empty and false otherwise
      */
     public boolean isEmpty() {
+        sync();
         return entireText.isEmpty() && cursor == -1;
     }
 
@@ -37,6 +142,7 @@ public class MyTextEditor implements SimpleTextEditor {
      * @return the current number of lines
      */
     public int size() {
+        sync();
         return entireText.size();
     }
 
@@ -50,7 +156,7 @@ public class MyTextEditor implements SimpleTextEditor {
     public boolean isCursorAtLastLine() {
         if (isEmpty()) {
             return true;
-        } else return entireText.atIndex(cursor) == entireText.last();
+        } else return cursor == size() - 1;
     }
 
 
@@ -107,24 +213,157 @@ public class MyTextEditor implements SimpleTextEditor {
      * @param toInsert The string to be inserted.
      */
     public void insertAfterCursor(String toInsert) {
+        toInsert = intern(toInsert);
+        int before = cursor;
         entireText.add(cursorLineNum() + 1, toInsert);
+        cursors.spliced(before + 1, 0, 1, entireText.size());
         cursorDown();
+        journal.recordInsert(before + 1, toInsert, before, cursor);
+    }
+
+
+    /**
+     * Inserts the given strings, in order, in the lines after the current
+     * cursor, moving the cursor to the last line inserted. This has the same
+     * effect as calling insertAfterCursor for each string, but stores all of
+     * them with one bulk insertion.
+     *
+     * @param toInsert The strings to be inserted.
+     */
+    public void insertAllAfterCursor(String[] toInsert) {
+        if (interner != null) {
+            toInsert = interner.internAll(toInsert.clone());
+        }
+        int before = cursor;
+        entireText.addAll(cursorLineNum() + 1, toInsert, 0, toInsert.length);
+        cursors.spliced(before + 1, 0, toInsert.length, entireText.size());
+        cursor += toInsert.length;
+        journal.recordInsert(before + 1, toInsert, 0, toInsert.length, before, cursor);
     }
 
 
     /**
      * Builds the combined and properly formatted string representation
-     * of each line of text in the ArraySequence entireText.
+     * of each line of text in entireText. If the editor was built on a
+     * RenderCache, only the blocks of lines edited since the last call are
+     * rebuilt, and without edits the same String is returned again.
      *
      * @return The combined string representation of each line in entireText.
      */
     @Override
     public String toString() {
+        sync();
+        if (entireText instanceof RenderCache cache) {
+            return cache.text();
+        }
         StringBuilder newString = new StringBuilder();
-        for (int i = 0; i < size(); i++) {
-            newString.append(entireText.get(i)).append("\n");
+        for (String line : entireText) {
+            newString.append(line).append("\n");
+        }
+        // Trim inside the builder, so the text is only copied once
+        int start = 0;
+        int end = newString.length();
+        while (start < end && newString.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && newString.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return newString.substring(start, end);
+    }
+
+
+    /**
+     * Builds the lines from fromLine (inclusive) to toLine (exclusive), each
+     * followed by a line feed, such as the lines visible in a viewport. The
+     * cost depends only on the number of lines rendered.
+     *
+     * @param fromLine The index of the first line to render.
+     * @param toLine   The index after the last line to render.
+     * @return The text of the lines.
+     * @throws IndexOutOfBoundsException if fromLine is negative, toLine is
+     *                                   greater than size(), or fromLine is
+     *                                   greater than toLine
+     */
+    public String render(int fromLine, int toLine) throws IndexOutOfBoundsException {
+        Objects.checkFromToIndex(fromLine, toLine, size());
+        StringBuilder viewport = new StringBuilder();
+        for (int i = fromLine; i < toLine; i++) {
+            viewport.append(entireText.get(i)).append("\n");
+        }
+        return viewport.toString();
+    }
+
+
+    /**
+     * Returns an iterator over the lines from the cursor down, starting with
+     * the line at the cursor, or the first line if the cursor is at line -1.
+     * The iterator walks the line store directly and fails fast once the
+     * text is edited.
+     *
+     * @return An iterator over the lines from the cursor on.
+     */
+    public Iterator<String> linesFromCursor() {
+        sync();
+        return entireText.iterator(Math.max(cursor, 0));
+    }
+
+
+    /**
+     * Returns a stream of the lines of text, which may be made parallel to
+     * split the line store across cores. The text must not be edited while
+     * the stream is in use.
+     *
+     * @return A stream of the lines, in order.
+     */
+    public Stream<String> lines() {
+        sync();
+        return entireText.stream();
+    }
+
+
+    /**
+     * Writes every line of text, each followed by a line feed, to the given
+     * channel as UTF-8. The text is streamed line by line and never built
+     * into a single String.
+     *
+     * @param out The channel to write to; it is left open.
+     * @throws IOException if writing fails.
+     */
+    public void writeTo(WritableByteChannel out) throws IOException {
+        if (writer == null) {
+            writer = new DocumentWriter();
+        }
+        sync();
+        writer.write(store(), out);
+    }
+
+
+    /**
+     * Saves the text to the given file. The text is written to a temporary
+     * file next to it first, which then replaces the target, so a failed save
+     * leaves the old file whole. A symbolic link is followed and the file it
+     * points to is replaced, and an existing file keeps its POSIX
+     * permissions. A MappedDocument keeps reading the file it was opened
+     * from, so saving over that file, once or many times, is safe.
+     *
+     * @param target The file to save to.
+     * @throws IOException if the file could not be written.
+     */
+    public void save(Path target) throws IOException {
+        Path file = Files.exists(target) ? target.toRealPath() : target.toAbsolutePath();
+        Path temporary = file.resolveSibling("." + file.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)) {
+                writeTo(out);
+            }
+            if (Files.exists(file) && Files.getFileStore(file).supportsFileAttributeView(PosixFileAttributeView.class)) {
+                Files.setPosixFilePermissions(temporary, Files.getPosixFilePermissions(file));
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
         }
-        return newString.toString().trim();
     }
 
 
@@ -135,9 +374,12 @@ public class MyTextEditor implements SimpleTextEditor {
      * @param toInsert The string to be inserted.
      */
     public void insertBeforeCursor(String toInsert) {
-        Position<String> positionAtCursor = entireText.atIndex(cursorLineNum());
-        entireText.addBefore(positionAtCursor, toInsert);
+        toInsert = intern(toInsert);
+        int before = cursor;
+        entireText.add(cursorLineNum(), toInsert);
+        cursors.spliced(before, 0, 1, entireText.size());
         cursorUp();
+        journal.recordInsert(before, toInsert, before, cursor);
     }
 
 
@@ -158,8 +400,9 @@ public class MyTextEditor implements SimpleTextEditor {
      * @param replacement The string to be inserted.
      */
     public void replaceAtCursor(String replacement) {
-        Position<String> positionAtCursor = entireText.atIndex(cursorLineNum());
-        entireText.set(positionAtCursor, replacement);
+        replacement = intern(replacement);
+        String previous = entireText.set(cursorLineNum(), replacement);
+        journal.recordReplace(cursor, previous, replacement, cursor, cursor);
     }
 
 
@@ -169,11 +412,311 @@ public class MyTextEditor implements SimpleTextEditor {
      * in which case the cursor should move to the new last line.
      */
     public void removeAtCursor() {
-        entireText.remove(cursorLineNum());
+        int before = cursor;
+        String removed = entireText.remove(cursorLineNum());
+        cursors.spliced(before, 1, 0, entireText.size());
         if (isCursorAtLastLine()) {
             cursorDown();
         } else {
             cursorUp();
         }
+        journal.recordRemove(before, removed, before, cursor);
+    }
+
+
+    /**
+     * Applies a batch of line edits with one bulk removal and one bulk
+     * insertion on the backing list, instead of shifting the lines once per
+     * edit. The batch is undone in one step.
+     *
+     * @param edits The action submitting the edits.
+     */
+    public void batch(Consumer<EditBatch> edits) {
+        EditBatch batch = new EditBatch(size(), interner);
+        edits.accept(batch);
+        cursor = batch.applyTo(entireText, cursor, cursors, journal);
+    }
+
+
+    /**
+     * Adds an extra cursor on the given line. The extra cursors are separate
+     * from the cursor the other methods use: they stay on their lines as
+     * lines are inserted or removed above them, and the methods ending in
+     * AtCursors or AfterCursors edit the lines of all of them at once.
+     *
+     * @param line The line number.
+     * @throws IndexOutOfBoundsException if the line is negative or greater
+     *                                   than size()-1
+     */
+    public void addCursor(int line) throws IndexOutOfBoundsException {
+        Objects.checkIndex(line, size());
+        cursors.add(line);
+    }
+
+
+    /**
+     * Adds extra cursors on the given lines, such as the lines findLines
+     * returns, with one merge.
+     *
+     * @param lines The line numbers, in ascending order.
+     * @throws IndexOutOfBoundsException if a line is negative or greater than
+     *                                   size()-1
+     * @throws IllegalArgumentException  if the lines are not in ascending order
+     */
+    public void addCursors(int[] lines) throws IndexOutOfBoundsException, IllegalArgumentException {
+        if (lines.length > 0) {
+            Objects.checkIndex(lines[0], size());
+            Objects.checkIndex(lines[lines.length - 1], size());
+        }
+        cursors.addAll(lines);
+    }
+
+
+    /**
+     * Removes the extra cursor on the given line, if there is one.
+     *
+     * @param line The line number.
+     * @return true if a cursor was removed, false if there was none.
+     */
+    public boolean removeCursor(int line) {
+        return cursors.remove(line);
+    }
+
+
+    /**
+     * Removes every extra cursor.
+     */
+    public void clearCursors() {
+        cursors.clear();
+    }
+
+
+    /**
+     * Returns the lines of the extra cursors.
+     *
+     * @return The line numbers, in ascending order.
+     */
+    public int[] cursorLines() {
+        return cursors.toArray();
+    }
+
+
+    /**
+     * Replaces the line at every extra cursor by the result of the given
+     * function, such as {@code line -> line + ";"}, in a single batch that
+     * is undone in one step. The cursors stay on their lines.
+     *
+     * @param change The function computing the new text of a line.
+     */
+    public void replaceAtCursors(UnaryOperator<String> change) {
+        int[] lines = cursors.toArray();
+        batch(b -> {
+            for (int line : lines) {
+                b.replace(line, change.apply(entireText.get(line)));
+            }
+        });
+    }
+
+
+    /**
+     * Inserts the given string after the line at every extra cursor, in a
+     * single batch that is undone in one step, moving each cursor to the
+     * line it inserted.
+     *
+     * @param toInsert The string to be inserted.
+     */
+    public void insertAfterCursors(String toInsert) {
+        int[] lines = cursors.toArray();
+        batch(b -> {
+            for (int line : lines) {
+                b.insertAfter(line, toInsert);
+            }
+        });
+        cursors.offset(1, entireText.size());
+    }
+
+
+    /**
+     * Removes the line at every extra cursor, in a single batch that is
+     * undone in one step. Each cursor moves to the line that took the place
+     * of its line, or to the new last line; cursors that meet merge.
+     */
+    public void removeAtCursors() {
+        int[] lines = cursors.toArray();
+        batch(b -> {
+            for (int line : lines) {
+                b.remove(line);
+            }
+        });
+    }
+
+
+    /**
+     * Finds the first match of the pattern, scanning chunks of lines in
+     * parallel.
+     *
+     * @param pattern The pattern to look for.
+     * @return The first match, or null if there is none.
+     */
+    public DocumentSearch.Match find(Pattern pattern) {
+        sync();
+        return new DocumentSearch(store()).find(pattern);
+    }
+
+
+    /**
+     * Finds every match of the pattern, in document order, scanning chunks of
+     * lines in parallel ahead of the iteration. The text must not be edited
+     * while the iterator is in use.
+     *
+     * @param pattern The pattern to look for.
+     * @return An iterator over the matches.
+     */
+    public Iterator<DocumentSearch.Match> findAll(Pattern pattern) {
+        sync();
+        return new DocumentSearch(store()).findAll(pattern);
+    }
+
+
+    /**
+     * Finds the lines containing the given string. If the editor was built on
+     * a TrigramIndex, only the lines holding every trigram of the string are
+     * read; otherwise every line is scanned in parallel.
+     *
+     * @param literal The string to look for.
+     * @return The indices of the lines containing it, in ascending order.
+     */
+    public int[] findLines(String literal) {
+        sync();
+        if (store() instanceof TrigramIndex index) {
+            return index.linesContaining(literal);
+        }
+        IntArrayBackedList found = new IntArrayBackedList();
+        Iterator<DocumentSearch.Match> hits = findAll(Pattern.compile(literal, Pattern.LITERAL));
+        while (hits.hasNext()) {
+            int line = hits.next().getLine();
+            if (found.isEmpty() || found.getInt(found.size() - 1) != line) {
+                found.addLast(line);
+            }
+        }
+        return found.toArray();
+    }
+
+
+    /**
+     * Replaces every match of the pattern. The new lines are computed in
+     * parallel and applied as one batch, which is undone in one step.
+     *
+     * @param pattern     The pattern to look for.
+     * @param replacement The replacement, which may refer to groups as in
+     *                    Matcher.replaceAll.
+     * @return The number of lines changed.
+     */
+    public int replaceAll(Pattern pattern, String replacement) {
+        int[] changed = new int[1];
+        batch(b -> changed[0] = new DocumentSearch(store()).replaceAll(pattern, replacement, b));
+        return changed[0];
+    }
+
+
+    /**
+     * Reverts the most recent edit that was not undone yet, restoring the
+     * cursor to where it was before that edit. Consecutive lines inserted
+     * one after another are undone together.
+     *
+     * @return true if an edit was undone, false if there was none.
+     */
+    public boolean undo() {
+        if (!journal.canUndo()) {
+            return false;
+        }
+        cursor = journal.undo(entireText, cursors);
+        return true;
+    }
+
+
+    /**
+     * Repeats the most recently undone edit, moving the cursor to where that
+     * edit left it. Any new edit discards the edits that could be redone.
+     *
+     * @return true if an edit was redone, false if there was none.
+     */
+    public boolean redo() {
+        if (!journal.canRedo()) {
+            return false;
+        }
+        cursor = journal.redo(entireText, cursors);
+        return true;
+    }
+
+
+    /**
+     * Returns true while the document given to the constructor is still
+     * being read.
+     *
+     * @return true if more lines may still arrive
+     */
+    public boolean isLoading() {
+        sync();
+        return !loaded;
+    }
+
+
+    /**
+     * Waits for the document given to the constructor to be read completely
+     * and appends its remaining lines. Returns at once if there is none.
+     *
+     * @throws IOException          if the document could not be read; the
+     *                              lines read before the failure are kept.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public void awaitLoaded() throws IOException, InterruptedException {
+        if (loading != null) {
+            try {
+                loading.await();
+            } finally {
+                sync();
+            }
+        }
+    }
+
+
+    /**
+     * Stops reading the document given to the constructor. The lines read
+     * so far are kept, and isLoading turns false once the reading thread has
+     * stopped, which awaitLoaded waits for. Does nothing if there is no
+     * document being read.
+     */
+    public void cancelLoad() {
+        if (loading != null) {
+            loading.cancel();
+        }
+    }
+
+
+    /**
+     * Appends the lines read in the background since the last call.
+     */
+    private void sync() {
+        if (!loaded) {
+            loaded = loading.drainTo(entireText);
+        }
+    }
+
+
+    /**
+     * Returns the line store under the render cache, if there is one, for
+     * the operations that look at the store itself.
+     */
+    private List<String> store() {
+        return (entireText instanceof RenderCache cache) ? cache.getLines() : entireText;
+    }
+
+
+    /**
+     * Interns a line if the editor has an interner.
+     */
+    private String intern(String line) {
+        return (interner == null) ? line : interner.intern(line);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,409 @@
+import list.List;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Spliterator;
+
+/**
+ * A view of a list of lines that caches the rendered text of the document.
+ * The lines are grouped into blocks of consecutive lines, and every block
+ * keeps the text of its lines, each followed by a line feed. Edits made
+ * through this view only mark the blocks they touch as dirty, so rendering
+ * after an edit rebuilds one block and reuses the cached text of all others;
+ * rendering twice without an edit in between returns the same String.
+ *
+ * <p>The cache is opt-in: a MyTextEditor built on a RenderCache renders
+ * through it, any other editor builds its text from the lines every time.
+ * Once the text was rendered, the cache holds the blocks and the whole
+ * text, about two copies of the document, so it suits an editor that
+ * redraws a document of modest size after every keystroke, not a large
+ * document kept compact or on disk.
+ *
+ * <p>Blocks start out with {@link #BLOCK_SIZE} lines. Insertions grow the
+ * block they land in, which is split once it reaches twice that size, and
+ * blocks that lose all their lines are dropped. A Fenwick tree over the
+ * line counts of the blocks finds the block of a line in O(log(n /
+ * BLOCK_SIZE)) and is updated in the same time by an edit within a block;
+ * it is only rebuilt when blocks are split or dropped.
+ *
+ * @version 1.0.0
+ */
+public class RenderCache implements List<String> {
+
+    /**
+     * The number of lines of a freshly split block.
+     */
+    public static final int BLOCK_SIZE = 256;
+
+    /**
+     * The lines of the document.
+     */
+    private final List<String> lines;
+    /**
+     * The number of lines in each block.
+     */
+    private int[] counts = new int[16];
+    /**
+     * The rendered text of each block, or null if the block is dirty.
+     */
+    private String[] texts = new String[16];
+    /**
+     * The number of blocks in use.
+     */
+    private int blocks = 0;
+    /**
+     * The Fenwick tree over counts: entry i holds the total count of the
+     * lowest-set-bit-of-i blocks that end with block i - 1; entry 0 is
+     * unused.
+     */
+    private int[] tree = new int[17];
+    /**
+     * The index of the first line of the block found by the last lookup.
+     */
+    private int found = 0;
+    /**
+     * The rendered text of the whole document, or null if a block is dirty.
+     */
+    private String text;
+
+    /**
+     * A RenderCache constructor.
+     *
+     * @param lines The lines of the document, which may already hold text.
+     */
+    public RenderCache(List<String> lines) {
+        this.lines = lines;
+        for (int start = 0; start < lines.size(); start += BLOCK_SIZE) {
+            openBlock(blocks, Math.min(BLOCK_SIZE, lines.size() - start));
+        }
+        rebuildTree();
+    }
+
+    /**
+     * Returns the list of lines this view edits.
+     *
+     * @return the underlying list
+     */
+    public List<String> getLines() {
+        return lines;
+    }
+
+    /**
+     * Returns the text of the whole document: every line followed by a line
+     * feed, with leading and trailing whitespace removed. Only the blocks
+     * edited since the last call are rebuilt.
+     *
+     * @return The document text.
+     */
+    public String text() {
+        if (text == null) {
+            long length = 0;
+            int start = 0;
+            Iterator<String> walk = null; // at line start while dirty blocks follow each other
+            for (int b = 0; b < blocks; b++) {
+                if (texts[b] == null) {
+                    if (walk == null) {
+                        walk = lines.iterator(start);
+                    }
+                    StringBuilder block = new StringBuilder();
+                    for (int i = 0; i < counts[b]; i++) {
+                        block.append(walk.next()).append("\n");
+                    }
+                    texts[b] = block.toString();
+                } else {
+                    walk = null;
+                }
+                length += texts[b].length();
+                start += counts[b];
+            }
+            StringBuilder builder = new StringBuilder((int) Math.min(length, Integer.MAX_VALUE - 8));
+            for (int b = 0; b < blocks; b++) {
+                builder.append(texts[b]);
+            }
+            // Trim inside the builder, so the text is only copied once
+            int from = 0;
+            int to = builder.length();
+            while (from < to && builder.charAt(from) <= ' ') {
+                from++;
+            }
+            while (to > from && builder.charAt(to - 1) <= ' ') {
+                to--;
+            }
+            text = builder.substring(from, to);
+        }
+        return text;
+    }
+
+    /**
+     * Returns the number of lines.
+     *
+     * @return number of lines in the document
+     */
+    public int size() {
+        return lines.size();
+    }
+
+    /**
+     * Tests whether the document has no lines.
+     *
+     * @return true if the document is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    /**
+     * Returns (but does not remove) the line at index i.
+     *
+     * @param index The index of the line to return.
+     * @return The line at the specified index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public String get(int index) throws IndexOutOfBoundsException {
+        return lines.get(index);
+    }
+
+    /**
+     * Replaces the line at the specified index and marks its block dirty.
+     *
+     * @param index   The index of the line to replace.
+     * @param element The new line.
+     * @return the previously stored line
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public String set(int index, String element) throws IndexOutOfBoundsException {
+        String previously = lines.set(index, element);
+        dirty(locate(index));
+        return previously;
+    }
+
+    /**
+     * Inserts a line and grows the block it lands in.
+     *
+     * @param index   The index at which the new line should be stored.
+     * @param element The new line.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     */
+    public void add(int index, String element) throws IndexOutOfBoundsException {
+        lines.add(index, element);
+        grow(index, 1);
+    }
+
+    /**
+     * Removes a line and shrinks the block it was in.
+     *
+     * @param index The index of the line to be removed.
+     * @return The line that had be stored at the given index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public String remove(int index) throws IndexOutOfBoundsException {
+        String previously = lines.remove(index);
+        shrink(index, 1);
+        return previously;
+    }
+
+    /**
+     * Inserts len lines of the given array, starting with src[off], at the
+     * specified index, growing the block they land in.
+     *
+     * @param index The index at which the first new line should be stored.
+     * @param src   The array holding the new lines.
+     * @param off   The position in src of the first new line.
+     * @param len   The number of lines to insert.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size(), or off and len do not
+     *                                   describe a range of src
+     */
+    public void addAll(int index, String[] src, int off, int len) throws IndexOutOfBoundsException {
+        lines.addAll(index, src, off, len);
+        if (len > 0) {
+            grow(index, len);
+        }
+    }
+
+    /**
+     * Removes the lines with indices from (inclusive) to to (exclusive),
+     * shrinking the blocks they were in.
+     *
+     * @param from The index of the first line to remove.
+     * @param to   The index after the last line to remove.
+     * @throws IndexOutOfBoundsException if from is negative, to is greater
+     *                                   than size(), or from is greater than to
+     */
+    public void removeRange(int from, int to) throws IndexOutOfBoundsException {
+        lines.removeRange(from, to);
+        shrink(from, to - from);
+    }
+
+    /**
+     * Returns an iterator of the underlying list from the given line on.
+     *
+     * @param from The index of the first line returned.
+     * @return an iterator starting at from
+     * @throws IndexOutOfBoundsException if from is negative or greater than
+     *                                   size()
+     */
+    public Iterator<String> iterator(int from) throws IndexOutOfBoundsException {
+        return lines.iterator(from);
+    }
+
+    /**
+     * Returns a spliterator of the underlying list.
+     *
+     * @return a spliterator over the lines in order
+     */
+    public Spliterator<String> spliterator() {
+        return lines.spliterator();
+    }
+
+    /**
+     * Grows the underlying list, if needed, so that it can hold at least the
+     * given number of lines.
+     *
+     * @param capacity The number of lines the list should be able to hold.
+     */
+    public void ensureCapacity(int capacity) {
+        lines.ensureCapacity(capacity);
+    }
+
+    /**
+     * Accounts for count lines inserted at index, splitting the receiving
+     * block into blocks of BLOCK_SIZE lines once it is twice that size.
+     */
+    private void grow(int index, int count) {
+        if (blocks == 0) {
+            openBlock(0, 0);
+            rebuildTree();
+        }
+        int b = locate(index);
+        counts[b] += count;
+        dirty(b);
+        if (counts[b] < 2 * BLOCK_SIZE) {
+            addToTree(b, count);
+            return;
+        }
+        while (counts[b] >= 2 * BLOCK_SIZE) {
+            openBlock(b + 1, counts[b] - BLOCK_SIZE);
+            counts[b++] = BLOCK_SIZE;
+        }
+        rebuildTree();
+    }
+
+    /**
+     * Accounts for count lines removed at index, dropping emptied blocks
+     * with a single pass over the blocks after them.
+     */
+    private void shrink(int index, int count) {
+        if (count == 0) {
+            return;
+        }
+        int first = locate(index);
+        int b = first;
+        int offset = index - found;
+        boolean emptied = false;
+        while (count > 0) {
+            int taken = Math.min(counts[b] - offset, count);
+            counts[b] -= taken;
+            count -= taken;
+            dirty(b);
+            if (counts[b] == 0) {
+                emptied = true;
+            } else {
+                addToTree(b, -taken);
+            }
+            b++;
+            offset = 0;
+        }
+        if (emptied) {
+            int kept = first;
+            for (int k = first; k < blocks; k++) {
+                if (counts[k] > 0) {
+                    counts[kept] = counts[k];
+                    texts[kept++] = texts[k];
+                }
+            }
+            Arrays.fill(texts, kept, blocks, null); // help garbage collection
+            blocks = kept;
+            rebuildTree();
+        }
+    }
+
+    /**
+     * Finds the block holding the line at index, or the last block if index
+     * is the number of lines, by descending the Fenwick tree.
+     *
+     * @param index The index of a line.
+     * @return The block holding it; its first line is left in found.
+     */
+    private int locate(int index) {
+        int b = 0;
+        int remaining = index;
+        for (int step = Integer.highestOneBit(blocks); step > 0; step >>= 1) {
+            if (b + step <= blocks && tree[b + step] <= remaining) {
+                b += step;
+                remaining -= tree[b];
+            }
+        }
+        if (b == blocks) { // index is the number of lines
+            b--;
+            remaining = counts[b];
+        }
+        found = index - remaining;
+        return b;
+    }
+
+    /**
+     * Adds delta to the count of block b in the Fenwick tree.
+     */
+    private void addToTree(int b, int delta) {
+        for (int i = b + 1; i <= blocks; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Rebuilds the Fenwick tree from the counts in O(blocks).
+     */
+    private void rebuildTree() {
+        if (tree.length < blocks + 1) {
+            tree = new int[counts.length + 1];
+        }
+        for (int i = 1; i <= blocks; i++) {
+            tree[i] = counts[i - 1];
+        }
+        for (int i = 1; i <= blocks; i++) {
+            int parent = i + (i & -i);
+            if (parent <= blocks) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    /**
+     * Marks a block, and with it the whole text, as dirty.
+     */
+    private void dirty(int b) {
+        texts[b] = null;
+        text = null;
+    }
+
+    /**
+     * Inserts a new, dirty block with the given number of lines at position b.
+     */
+    private void openBlock(int b, int count) {
+        if (blocks == counts.length) {
+            counts = Arrays.copyOf(counts, 2 * blocks);
+            texts = Arrays.copyOf(texts, 2 * blocks);
+        }
+        System.arraycopy(counts, b, counts, b + 1, blocks - b);
+        System.arraycopy(texts, b, texts, b + 1, blocks - b);
+        counts[b] = count;
+        texts[b] = null;
+        blocks++;
+        text = null;
+    }
+}
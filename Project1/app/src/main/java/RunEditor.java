@@ -1,3 +1,6 @@
+import java.nio.file.Paths;
+import java.util.Objects;
+
 /**
  * A way to invoke the editor from the command line.
  */
@@ -6,16 +9,13 @@ public class RunEditor {
      * The main entry point
      *
      * @param args No parameters expected.
+     * @throws Exception if the document could not be read.
      */
-    public static void main(String[] args) {
-//TODO        SimpleTextEditor editor = new MyTextEditor();
-        String[] expected = EditorUtilities.readResourceFile("final.txt");
-
-        // Load content into editor
-        for (String line : expected) {
-//TODO            editor.insertAfterCursor(line);
-        }
+    public static void main(String[] args) throws Exception {
+        // Returns at once; the lines stream in while the top can be read
+        MyTextEditor editor = EditorUtilities.openAsync(Paths.get(Objects.requireNonNull(RunEditor.class.getResource("final.txt")).toURI()));
 
-//TODO        System.out.println(editor);
+        editor.awaitLoaded();
+        System.out.println(editor);
     }
 }
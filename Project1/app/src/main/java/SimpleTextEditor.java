@@ -1,3 +1,5 @@
+import java.util.function.Consumer;
+
 /**
  * This is a simple text editor interface, which assumes a text editor
  * is built for lines of text. Each line of text is to be viewed as a
@@ -99,4 +101,22 @@ public interface SimpleTextEditor {
      * in which case the cursor should move to the new last line.
      */
     void removeAtCursor();
+
+    /**
+     * Applies a batch of line edits in one pass. The given action submits the
+     * edits to an EditBatch, addressing lines of the text as it is before the
+     * batch; nothing changes if the action throws.
+     * 
+     * <p>By default the edits are applied one at a time through the cursor
+     * methods, from the bottom of the text to the top, and the cursor is put
+     * back on its line. Editors that can apply a batch in a single pass
+     * override this.
+     * 
+     * @param edits The action submitting the edits.
+     */
+    default void batch(Consumer<EditBatch> edits) {
+        EditBatch batch = new EditBatch(size(), null);
+        edits.accept(batch);
+        batch.applyTo(this);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,338 @@
+import list.IntArrayBackedList;
+import list.List;
+import list.Position;
+import list.Sequence;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A view of a sequence of lines that keeps an inverted index from every
+ * trigram (three consecutive characters) to the lines containing it, so that
+ * repeated searches for a literal string only look at the lines holding all
+ * of its trigrams instead of scanning the whole document.
+ *
+ * <p>Line numbers shift with every insertion and removal, so the posting
+ * lists store stable line ids instead, as sorted IntArrayBackedLists. Each
+ * id refers to the Position of its line in the sequence, which gives the
+ * current line number in O(1). An edited line gets a fresh id, appended to
+ * the posting lists of its trigrams; the id it had before is only retired,
+ * and retired ids are dropped from the posting lists once they outnumber the
+ * live lines. Edits therefore cost O(length of the line).
+ *
+ * <p>To search an editor with the index, build it on one, for example
+ * {@code new MyTextEditor(new TrigramIndex(new ArraySequence<>()))}.
+ *
+ * @version 1.0.0
+ */
+public class TrigramIndex implements List<String> {
+
+    /**
+     * The number of retired ids tolerated regardless of the document size.
+     */
+    static final int MIN_RETIRED = 1024;
+
+    /**
+     * The lines of the document.
+     */
+    private final Sequence<String> lines;
+    /**
+     * The posting list of every trigram occurring in some line.
+     */
+    private final Map<Long, IntArrayBackedList> postings = new HashMap<>();
+    /**
+     * The id of each line, in line order.
+     */
+    private final IntArrayBackedList ids = new IntArrayBackedList();
+    /**
+     * The position of the line holding each id, or null once it is retired.
+     */
+    private Position<String>[] positions;
+    /**
+     * The next id to hand out.
+     */
+    private int nextId = 0;
+    /**
+     * The number of retired ids still in the posting lists.
+     */
+    private int retired = 0;
+
+    /**
+     * A TrigramIndex constructor, indexing the lines already present.
+     *
+     * @param lines The lines of the document.
+     */
+    @SuppressWarnings("unchecked") // safe cast
+    public TrigramIndex(Sequence<String> lines) {
+        this.lines = lines;
+        positions = (Position<String>[]) new Position<?>[16];
+        rebuild();
+    }
+
+    /**
+     * Returns the sequence of lines this view edits.
+     *
+     * @return the underlying sequence
+     */
+    public Sequence<String> getLines() {
+        return lines;
+    }
+
+    /**
+     * Finds the lines containing the given string. Only the lines holding all
+     * trigrams of the string are read, so the cost depends on the number of
+     * candidate lines and not on the size of the document. Strings shorter
+     * than three characters have no trigrams and are searched for in every
+     * line.
+     *
+     * @param literal The string to look for.
+     * @return The indices of the lines containing it, in ascending order.
+     */
+    public int[] linesContaining(String literal) {
+        IntArrayBackedList found = new IntArrayBackedList();
+        if (literal.length() < 3) {
+            for (int i = 0; i < lines.size(); i++) {
+                if (lines.get(i).contains(literal)) {
+                    found.addLast(i);
+                }
+            }
+            return found.toArray();
+        }
+
+        IntArrayBackedList[] lists = new IntArrayBackedList[literal.length() - 2];
+        for (int i = 0; i < lists.length; i++) {
+            lists[i] = postings.get(trigram(literal, i));
+            if (lists[i] == null) {
+                return new int[0];
+            }
+        }
+        Arrays.sort(lists, (a, b) -> Integer.compare(a.size(), b.size()));
+        int[] candidates = lists[0].toArray();
+        int candidateCount = candidates.length;
+        for (int l = 1; l < lists.length && candidateCount > 0; l++) {
+            if (lists[l] != lists[l - 1]) {
+                candidateCount = intersect(candidates, candidateCount, lists[l]);
+            }
+        }
+
+        for (int c = 0; c < candidateCount; c++) {
+            Position<String> position = positions[candidates[c]];
+            if (position != null && position.getElement().contains(literal)) {
+                found.addLast(lines.indexOf(position));
+            }
+        }
+        int[] result = found.toArray();
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns the number of lines.
+     *
+     * @return number of lines in the document
+     */
+    public int size() {
+        return lines.size();
+    }
+
+    /**
+     * Tests whether the document has no lines.
+     *
+     * @return true if the document is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return lines.isEmpty();
+    }
+
+    /**
+     * Returns (but does not remove) the line at index i.
+     *
+     * @param index The index of the line to return.
+     * @return The line at the specified index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public String get(int index) throws IndexOutOfBoundsException {
+        return lines.get(index);
+    }
+
+    /**
+     * Replaces the line at the specified index and indexes it under a new id.
+     *
+     * @param index   The index of the line to replace.
+     * @param element The new line.
+     * @return the previously stored line
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public String set(int index, String element) throws IndexOutOfBoundsException {
+        String previously = lines.set(index, element);
+        retire(ids.getInt(index));
+        ids.setInt(index, register(lines.atIndex(index), element));
+        compactIfNeeded();
+        return previously;
+    }
+
+    /**
+     * Inserts a line and indexes it.
+     *
+     * @param index   The index at which the new line should be stored.
+     * @param element The new line.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     */
+    public void add(int index, String element) throws IndexOutOfBoundsException {
+        lines.add(index, element);
+        ids.addInt(index, register(lines.atIndex(index), element));
+    }
+
+    /**
+     * Removes a line and retires its id.
+     *
+     * @param index The index of the line to be removed.
+     * @return The line that had be stored at the given index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public String remove(int index) throws IndexOutOfBoundsException {
+        String previously = lines.remove(index);
+        retire(ids.removeInt(index));
+        compactIfNeeded();
+        return previously;
+    }
+
+    /**
+     * Inserts len lines of the given array, starting with src[off], at the
+     * specified index, and indexes them.
+     *
+     * @param index The index at which the first new line should be stored.
+     * @param src   The array holding the new lines.
+     * @param off   The position in src of the first new line.
+     * @param len   The number of lines to insert.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size(), or off and len do not
+     *                                   describe a range of src
+     */
+    public void addAll(int index, String[] src, int off, int len) throws IndexOutOfBoundsException {
+        lines.addAll(index, src, off, len);
+        int[] added = new int[len];
+        for (int i = 0; i < len; i++) {
+            added[i] = register(lines.atIndex(index + i), src[off + i]);
+        }
+        ids.addAll(index, added, 0, len);
+    }
+
+    /**
+     * Removes the lines with indices from (inclusive) to to (exclusive) and
+     * retires their ids.
+     *
+     * @param from The index of the first line to remove.
+     * @param to   The index after the last line to remove.
+     * @throws IndexOutOfBoundsException if from is negative, to is greater
+     *                                   than size(), or from is greater than to
+     */
+    public void removeRange(int from, int to) throws IndexOutOfBoundsException {
+        lines.removeRange(from, to);
+        for (int i = from; i < to; i++) {
+            retire(ids.getInt(i));
+        }
+        ids.removeRange(from, to);
+        compactIfNeeded();
+    }
+
+    /**
+     * Grows the underlying sequence and the id table, if needed, so that they
+     * can hold at least the given number of lines.
+     *
+     * @param capacity The number of lines the document should be able to hold.
+     */
+    public void ensureCapacity(int capacity) {
+        lines.ensureCapacity(capacity);
+        ids.ensureCapacity(capacity);
+    }
+
+    /**
+     * Hands out a new id for a line and adds it to the posting lists of all
+     * trigrams of the line. Ids only grow, so every posting list stays sorted.
+     *
+     * @return The new id.
+     */
+    private int register(Position<String> position, String line) {
+        if (nextId == positions.length) {
+            positions = Arrays.copyOf(positions, 2 * nextId);
+        }
+        int id = nextId++;
+        positions[id] = position;
+        for (int i = 0; i + 3 <= line.length(); i++) {
+            IntArrayBackedList list = postings.computeIfAbsent(trigram(line, i), key -> new IntArrayBackedList(4));
+            if (list.isEmpty() || list.getInt(list.size() - 1) != id) { // a trigram may repeat in a line
+                list.addLast(id);
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Retires an id; it stays in the posting lists until the next compaction.
+     */
+    private void retire(int id) {
+        positions[id] = null; // help garbage collection
+        retired++;
+    }
+
+    /**
+     * Rebuilds the index once retired ids outnumber the lines, so the posting
+     * lists stay proportional to the document.
+     */
+    private void compactIfNeeded() {
+        if (retired > MIN_RETIRED && retired > lines.size()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Indexes every line from scratch, numbering the ids in line order.
+     */
+    private void rebuild() {
+        postings.clear();
+        Arrays.fill(positions, null);
+        nextId = 0;
+        retired = 0;
+        ids.clear();
+        ensureCapacity(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            ids.addLast(register(lines.atIndex(i), lines.get(i)));
+        }
+    }
+
+    /**
+     * Keeps the candidate ids that also occur in the given posting list. Both
+     * are sorted, so each candidate is looked up by binary search in the part
+     * of the list after the previous one; the cost depends on the number of
+     * candidates, not on the length of the list.
+     *
+     * @return The number of candidates left.
+     */
+    private static int intersect(int[] candidates, int count, IntArrayBackedList list) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < count && from < list.size(); i++) {
+            int found = list.binarySearch(from, list.size(), candidates[i]);
+            if (found >= 0) {
+                candidates[kept++] = candidates[i];
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return kept;
+    }
+
+    /**
+     * Packs the three characters of text starting at index into a key.
+     */
+    private static long trigram(String text, int index) {
+        return ((long) text.charAt(index) << 32) | ((long) text.charAt(index + 1) << 16) | text.charAt(index + 2);
+    }
+}
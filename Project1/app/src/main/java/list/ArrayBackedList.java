@@ -1,5 +1,13 @@
 package list;
 
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
 /**
  * Realization of a list by means of a dynamic array. This is a simplified
  * version of the java.util.ArrayList class.
@@ -23,15 +31,36 @@ public class ArrayBackedList<E> implements List<E> {
     /** Number of elements stored in the list. */
     private int size = 0;
 
+    /** Number of structural changes, so iterators can fail fast. */
+    private int modCount = 0;
+
+    /** Decides how the array grows and whether it shrinks. */
+    private final GrowthPolicy policy;
+
+    /** The counters resizes and moves are reported to, or null. */
+    private ListCounters counters;
+
     /** Creates an array list with default initial capacity. */
     public ArrayBackedList() {
         this(INITIAL_CAPACITY);
     }
 
     /** Creates an array list with given initial capacity. */
-    @SuppressWarnings("unchecked") // safe cast
     public ArrayBackedList(int capacity) {
+        this(capacity, GrowthPolicy.DOUBLING);
+    }
+
+    /**
+     * Creates an array list with given initial capacity, growing and
+     * shrinking its array according to the given policy.
+     *
+     * @param capacity The initial capacity.
+     * @param policy   The growth policy.
+     */
+    @SuppressWarnings("unchecked") // safe cast
+    public ArrayBackedList(int capacity, GrowthPolicy policy) {
         elements = (E[]) new Object[capacity];
+        this.policy = Objects.requireNonNull(policy);
     }
 
     /**
@@ -95,9 +124,9 @@ public class ArrayBackedList<E> implements List<E> {
     public void add(int index, E element) throws IndexOutOfBoundsException {
         checkIndex(index, size + 1);
 
-        // Double capacity if out of room
+        // Grow the array if out of room
         if (size == elements.length) {
-            expand(2 * elements.length);
+            expand(policy.grow(elements.length, size + 1));
         }
 
         shiftUp(index);
@@ -118,10 +147,123 @@ public class ArrayBackedList<E> implements List<E> {
         E previously = elements[index];
 
         shiftDown(index);
+        shrinkIfSparse();
 
         return previously;
     }
 
+    /**
+     * Inserts len elements of the given array, starting with src[off], at the
+     * specified index of the list. The tail of the list is moved once, by a
+     * single array copy, however many elements are inserted.
+     *
+     * @param index The index at which the first new element should be stored.
+     * @param src   The array holding the new elements.
+     * @param off   The position in src of the first new element.
+     * @param len   The number of elements to insert.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size(), or off and len do not
+     *                                   describe a range of src
+     */
+    public void addAll(int index, E[] src, int off, int len) throws IndexOutOfBoundsException {
+        checkIndex(index, size + 1);
+        Objects.checkFromIndexSize(off, len, src.length);
+        ensureCapacity(size + len);
+
+        moved(size - index);
+        System.arraycopy(elements, index, elements, index + len, size - index);
+        System.arraycopy(src, off, elements, index, len);
+        size += len;
+        modCount++;
+    }
+
+    /**
+     * Removes the elements with indices from (inclusive) to to (exclusive).
+     * The tail of the list is moved once, by a single array copy.
+     *
+     * @param from The index of the first element to remove.
+     * @param to   The index after the last element to remove.
+     * @throws IndexOutOfBoundsException if from is negative, to is greater
+     *                                   than size(), or from is greater than to
+     */
+    public void removeRange(int from, int to) throws IndexOutOfBoundsException {
+        Objects.checkFromToIndex(from, to, size);
+
+        moved(size - to);
+        System.arraycopy(elements, to, elements, from, size - to);
+        Arrays.fill(elements, size - (to - from), size, null); // help garbage collection
+        size -= to - from;
+        modCount++;
+        shrinkIfSparse();
+    }
+
+    /**
+     * Grows the internal array, if needed, so that it can hold at least the
+     * given number of elements.
+     *
+     * @param capacity The number of elements the list should be able to hold.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            expand(policy.grow(elements.length, capacity));
+        }
+    }
+
+    /**
+     * Shrinks the internal array to the size of the list, giving back the
+     * memory a shrinking policy would keep as room to grow.
+     */
+    public void trimToSize() {
+        if (size < elements.length) {
+            expand(size);
+        }
+    }
+
+    /**
+     * Returns the length of the internal array.
+     *
+     * @return the number of elements the list can hold without resizing
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Reports the resizes of the array and the elements moved by insertions
+     * and removals to the given counters from now on.
+     *
+     * @param counters The counters, or null to stop counting.
+     */
+    public void setCounters(ListCounters counters) {
+        this.counters = counters;
+    }
+
+    /**
+     * Returns an iterator over the elements from the given index on, which
+     * reads the array directly and fails fast once the list was changed
+     * other than through set.
+     *
+     * @param from The index of the first element returned.
+     * @return an iterator starting at from
+     * @throws IndexOutOfBoundsException if from is negative or greater than
+     *                                   size()
+     */
+    public Iterator<E> iterator(int from) throws IndexOutOfBoundsException {
+        checkIndex(from, size + 1);
+        return new Itr(from);
+    }
+
+    /**
+     * Returns a SIZED and SUBSIZED spliterator over the array, which splits
+     * its index range in halves. It binds to the array on first use and
+     * fails fast like the iterator.
+     *
+     * @return a spliterator over the elements in list order
+     */
+    public Spliterator<E> spliterator() {
+        return new ArraySpliterator(0, -1, 0);
+    }
+
     /** Checks whether the given index is in the range [0, n-1]. */
     protected void checkIndex(int index, int range) throws IndexOutOfBoundsException {
         if (index < 0 || index >= range) {
@@ -133,8 +275,12 @@ public class ArrayBackedList<E> implements List<E> {
     @SuppressWarnings("unchecked") // safe cast
     protected void expand(int capacity) {
         E[] temp = (E[]) new Object[capacity]; // safe cast
+        if (counters != null) {
+            counters.expanded();
+        }
         if (size >= 0) System.arraycopy(elements, 0, temp, 0, size);
         elements = temp; // start using the new array
+        modCount++;
     }
 
     /**
@@ -143,10 +289,10 @@ public class ArrayBackedList<E> implements List<E> {
      * @param index Start at this index.
      */
     private void shiftUp(int index) {
-        for (int i = size - 1; i >= index; i--) {
-            elements[i + 1] = elements[i];
-        }
+        moved(size - index);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
         size++;
+        modCount++;
     }
 
     /**
@@ -155,10 +301,177 @@ public class ArrayBackedList<E> implements List<E> {
      * @param index Start at this index.
      */
     private void shiftDown(int index) {
-        for (int i = index; i < size - 1; i++) {
-            elements[i] = elements[i + 1];
-        }
+        moved(size - index - 1);
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
         elements[size - 1] = null; // help garbage collection
         size--;
+        modCount++;
+    }
+
+    /** Shrinks the array after a removal if the policy says so. */
+    private void shrinkIfSparse() {
+        int capacity = policy.shrink(elements.length, size);
+        if (capacity < elements.length) {
+            expand(capacity);
+        }
+    }
+
+    /** Reports moved elements to the counters, if any. */
+    private void moved(int count) {
+        if (counters != null) {
+            counters.moved(count);
+        }
+    }
+
+    /**
+     * An iterator reading the array directly.
+     */
+    private class Itr implements Iterator<E> {
+
+        /** The index of the next element. */
+        private int next;
+
+        /** The modCount the iterator expects. */
+        private final int expectedModCount = modCount;
+
+        /** Creates an iterator starting at the given index. */
+        Itr(int from) {
+            next = from;
+        }
+
+        /**
+         * Tests whether there is another element.
+         *
+         * @return true if next() returns an element
+         */
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        /**
+         * Returns the next element.
+         *
+         * @return the next element
+         * @throws NoSuchElementException          if there is none
+         * @throws ConcurrentModificationException if the list was changed
+         */
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            return elements[next++];
+        }
+    }
+
+    /**
+     * A spliterator over a range of the array.
+     */
+    private class ArraySpliterator implements Spliterator<E> {
+
+        /** The index of the next element. */
+        private int index;
+
+        /** The index after the last element, or -1 until first use. */
+        private int fence;
+
+        /** The modCount the spliterator expects once bound. */
+        private int expectedModCount;
+
+        /** Creates a spliterator over the indices [origin, fence). */
+        ArraySpliterator(int origin, int fence, int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        /** Returns the fence, binding it to the list on first use. */
+        private int fence() {
+            if (fence < 0) {
+                expectedModCount = modCount;
+                fence = size;
+            }
+            return fence;
+        }
+
+        /**
+         * Splits off the first half of the remaining elements.
+         *
+         * @return a spliterator over the first half, or null if too small
+         */
+        public Spliterator<E> trySplit() {
+            int high = fence();
+            int middle = (index + high) >>> 1;
+            if (middle <= index) {
+                return null;
+            }
+            Spliterator<E> prefix = new ArraySpliterator(index, middle, expectedModCount);
+            index = middle;
+            return prefix;
+        }
+
+        /**
+         * Passes the next element to the action, if there is one.
+         *
+         * @param action The action.
+         * @return true if there was an element
+         */
+        public boolean tryAdvance(Consumer<? super E> action) {
+            int high = fence();
+            if (index >= high) {
+                return false;
+            }
+            E[] array = elements;
+            if (index >= array.length) { // the array shrank since binding
+                throw new ConcurrentModificationException();
+            }
+            E element = array[index++];
+            action.accept(element);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return true;
+        }
+
+        /**
+         * Passes every remaining element to the action, checking for changes
+         * once at the end.
+         *
+         * @param action The action.
+         */
+        public void forEachRemaining(Consumer<? super E> action) {
+            int high = fence();
+            E[] array = elements;
+            if (high > array.length) { // the array shrank since binding
+                throw new ConcurrentModificationException();
+            }
+            for (int i = index; i < high; i++) {
+                action.accept(array[i]);
+            }
+            index = high;
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        /**
+         * Returns the number of remaining elements.
+         *
+         * @return the exact number of elements left
+         */
+        public long estimateSize() {
+            return fence() - index;
+        }
+
+        /**
+         * Returns ORDERED, SIZED and SUBSIZED.
+         *
+         * @return the characteristics
+         */
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
     }
 }
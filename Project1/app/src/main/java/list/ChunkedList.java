@@ -0,0 +1,518 @@
+package list;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Realization of a list by means of fixed-size blocks (an unrolled list).
+ * The elements are kept in a directory of arrays of at most blockSize
+ * elements each, so no array is ever larger than a block: growing the list
+ * adds blocks instead of copying everything, and an insertion or removal
+ * only shifts the elements of one block and, when a block splits or goes
+ * away, one slot per block of the directory.
+ *
+ * <p>A prefix index records where each block starts. Every edit brings
+ * the entries after the block it changed up to date before it returns, so
+ * get and set only read the index: a list that is no longer edited can be
+ * read by any number of threads, as the parallel searches and streams do.
+ * A lookup is a binary search of the index, O(log(n / blockSize)); an edit
+ * costs O(blockSize + n / blockSize), which is O(sqrt(n)) when blockSize is
+ * close to sqrt(n).
+ *
+ * <p>A full block splits in two halves, except at the end of the list,
+ * where appending starts a new block so that a document loaded in order
+ * fills its blocks completely. A block that falls under a quarter full is
+ * merged into a neighbour when the two fit in three quarters of a block,
+ * empty blocks are dropped, and the directory halves once it is three
+ * quarters empty, so the list gives memory back as the document shrinks.
+ *
+ * @version 1.0.0
+ * @see IndexOutOfBoundsException
+ * @see List
+ */
+public class ChunkedList<E> implements List<E> {
+
+    /** Default maximum number of elements in a block. */
+    public static final int BLOCK_SIZE = 1024;
+
+    /** Capacity of the first block, which grows up to a full block. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Initial number of slots in the directory. */
+    private static final int INITIAL_BLOCKS = 4;
+
+    /** The maximum number of elements in a block. */
+    private final int blockSize;
+
+    /** The blocks, in order; only the first blockCount are in use. */
+    private Object[][] blocks = new Object[INITIAL_BLOCKS][];
+
+    /** The number of elements in each block. */
+    private int[] sizes = new int[INITIAL_BLOCKS];
+
+    /** The index of the first element of each block, for the valid blocks. */
+    private int[] starts = new int[INITIAL_BLOCKS];
+
+    /** The number of blocks in use. */
+    private int blockCount = 0;
+
+    /**
+     * The number of leading blocks whose entry of starts is up to date; less
+     * than blockCount only while an edit is in progress.
+     */
+    private int validBlocks = 0;
+
+    /** Number of elements stored in the list. */
+    private int size = 0;
+
+    /** Creates a chunked list with the default block size. */
+    public ChunkedList() {
+        this(BLOCK_SIZE);
+    }
+
+    /**
+     * Creates a chunked list with the given block size.
+     *
+     * @param blockSize The maximum number of elements in a block.
+     * @throws IllegalArgumentException if blockSize is less than 2.
+     */
+    public ChunkedList(int blockSize) {
+        if (blockSize < 2) {
+            throw new IllegalArgumentException("Illegal block size: " + blockSize);
+        }
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Returns the number of elements in the list.
+     *
+     * @return number of elements in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Tests whether the list is empty.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns (but does not remove) the element at index i.
+     *
+     * @param index The index of the element to return.
+     * @return The element at the specified index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    @SuppressWarnings("unchecked") // only elements of type E are stored
+    public E get(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        int b = blockOf(index);
+        return (E) blocks[b][index - starts[b]];
+    }
+
+    /**
+     * Replaces the element at the specified index, and returns the element
+     * previously stored.
+     *
+     * @param index   The index of the element to replace.
+     * @param element The new element to be stored.
+     * @return the previously stored element
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    @SuppressWarnings("unchecked") // only elements of type E are stored
+    public E set(int index, E element) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        int b = blockOf(index);
+        Object[] block = blocks[b];
+        int offset = index - starts[b];
+        E previously = (E) block[offset];
+        block[offset] = element;
+        return previously;
+    }
+
+    /**
+     * Inserts the given element at the specified index of the list, shifting
+     * the following elements of its block one position further. A full
+     * block is split first.
+     *
+     * @param index   The index at which the new element should be stored.
+     * @param element the new element to be stored
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     */
+    public void add(int index, E element) throws IndexOutOfBoundsException {
+        checkIndex(index, size + 1);
+        if (blockCount == 0) {
+            openBlocks(0, 1);
+            blocks[0] = new Object[Math.min(INITIAL_CAPACITY, blockSize)];
+            starts[0] = 0;
+        }
+        int b = blockOf(index);
+        int offset = index - starts[b];
+        if (sizes[b] == blockSize) {
+            if (offset == sizes[b]) { // appending: start a new block
+                b++;
+                offset = 0;
+                openBlocks(b, 1);
+                starts[b] = index;
+                blocks[b] = new Object[blockSize];
+            } else {
+                split(b);
+                if (offset > sizes[b]) {
+                    offset -= sizes[b];
+                    b++;
+                }
+            }
+        } else if (sizes[b] == blocks[b].length) {
+            blocks[b] = Arrays.copyOf(blocks[b], Math.min(2 * sizes[b], blockSize));
+        }
+
+        Object[] block = blocks[b];
+        System.arraycopy(block, offset, block, offset + 1, sizes[b] - offset);
+        block[offset] = element;
+        sizes[b]++;
+        size++;
+        if (validBlocks == blockCount) { // the directory did not change
+            shiftStarts(b + 1, 1);
+        } else {
+            validBlocks = Math.min(validBlocks, b + 1);
+            reindex();
+        }
+    }
+
+    /**
+     * Removes and returns the element at the given index, shifting the
+     * following elements of its block one position closer to the front.
+     * The block is merged into a neighbour if it became small enough.
+     *
+     * @param index The index of the element to be removed.
+     * @return The element that had be stored at the given index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     */
+    @SuppressWarnings("unchecked") // only elements of type E are stored
+    public E remove(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        int b = blockOf(index);
+        Object[] block = blocks[b];
+        int offset = index - starts[b];
+        E previously = (E) block[offset];
+
+        System.arraycopy(block, offset + 1, block, offset, sizes[b] - offset - 1);
+        block[--sizes[b]] = null; // help garbage collection
+        size--;
+        shiftStarts(b + 1, -1);
+        rebalance(b);
+        reindex();
+
+        return previously;
+    }
+
+    /**
+     * Inserts len elements of the given array, starting with src[off], at the
+     * specified index of the list. If they do not fit in the block at the
+     * index, the block is cut at the index, filled up, and the remaining
+     * elements and the cut-off tail are packed into full new blocks that are
+     * added to the directory with a single shift.
+     *
+     * @param index The index at which the first new element should be stored.
+     * @param src   The array holding the new elements.
+     * @param off   The position in src of the first new element.
+     * @param len   The number of elements to insert.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size(), or off and len do not
+     *                                   describe a range of src
+     */
+    public void addAll(int index, E[] src, int off, int len) throws IndexOutOfBoundsException {
+        checkIndex(index, size + 1);
+        Objects.checkFromIndexSize(off, len, src.length);
+        if (len == 0) {
+            return;
+        }
+        if (blockCount == 0) {
+            openBlocks(0, 1);
+            blocks[0] = new Object[Math.min(Math.max(len, INITIAL_CAPACITY), blockSize)];
+            starts[0] = 0;
+        }
+        int b = blockOf(index);
+        int offset = index - starts[b];
+        int count = sizes[b];
+        validBlocks = Math.min(validBlocks, b + 1);
+        size += len;
+
+        if (count + len <= blockSize) { // fits in the block
+            reserve(b, count + len);
+            Object[] block = blocks[b];
+            System.arraycopy(block, offset, block, offset + len, count - offset);
+            System.arraycopy(src, off, block, offset, len);
+            sizes[b] = count + len;
+            reindex();
+            return;
+        }
+
+        // Cut off the tail of the block and fill the block up
+        Object[] tail = Arrays.copyOfRange(blocks[b], offset, count);
+        int head = Math.min(len, blockSize - offset);
+        reserve(b, offset + head);
+        Object[] block = blocks[b];
+        System.arraycopy(src, off, block, offset, head);
+        Arrays.fill(block, offset + head, Math.max(count, offset + head), null); // help garbage collection
+        sizes[b] = offset + head;
+
+        // Pack the rest of src and the tail into new blocks
+        int rest = len - head;
+        int remaining = rest + tail.length;
+        int added = (remaining + blockSize - 1) / blockSize;
+        openBlocks(b + 1, added);
+        int from = off + head;
+        int fromTail = 0;
+        for (int k = b + 1; k <= b + added; k++) {
+            int n = Math.min(blockSize, remaining);
+            Object[] fresh = new Object[n];
+            int fromSrc = Math.min(n, off + len - from);
+            System.arraycopy(src, from, fresh, 0, fromSrc);
+            System.arraycopy(tail, fromTail, fresh, fromSrc, n - fromSrc);
+            from += fromSrc;
+            fromTail += n - fromSrc;
+            blocks[k] = fresh;
+            sizes[k] = n;
+            remaining -= n;
+        }
+        reindex();
+    }
+
+    /**
+     * Removes the elements with indices from (inclusive) to to (exclusive).
+     * Whole blocks in the range are dropped from the directory with a single
+     * shift; only the blocks at both ends have elements moved.
+     *
+     * @param from The index of the first element to remove.
+     * @param to   The index after the last element to remove.
+     * @throws IndexOutOfBoundsException if from is negative, to is greater
+     *                                   than size(), or from is greater than to
+     */
+    public void removeRange(int from, int to) throws IndexOutOfBoundsException {
+        Objects.checkFromToIndex(from, to, size);
+        if (from == to) {
+            return;
+        }
+        int first = blockOf(from);
+        int last = blockOf(to - 1);
+        int head = from - starts[first];
+        int keep = to - starts[last]; // elements of the last block up to to
+        validBlocks = Math.min(validBlocks, first + 1);
+        size -= to - from;
+
+        if (first == last) {
+            Object[] block = blocks[first];
+            System.arraycopy(block, keep, block, head, sizes[first] - keep);
+            Arrays.fill(block, sizes[first] - (keep - head), sizes[first], null); // help garbage collection
+            sizes[first] -= keep - head;
+            rebalance(first);
+            reindex();
+            return;
+        }
+
+        Arrays.fill(blocks[first], head, sizes[first], null); // help garbage collection
+        sizes[first] = head;
+        Object[] block = blocks[last];
+        System.arraycopy(block, keep, block, 0, sizes[last] - keep);
+        Arrays.fill(block, sizes[last] - keep, sizes[last], null); // help garbage collection
+        sizes[last] -= keep;
+        closeBlocks(first + 1, last - first - 1);
+        rebalance(first + 1);
+        rebalance(first);
+        reindex();
+    }
+
+    /**
+     * Makes room in the directory for the given number of elements, so that
+     * filling the list does not grow the directory again and again.
+     *
+     * @param capacity The number of elements the list should be able to hold.
+     */
+    public void ensureCapacity(int capacity) {
+        int needed = (int) (((long) capacity + blockSize - 1) / blockSize);
+        if (needed > blocks.length) {
+            resize(Math.max(needed, 2 * blocks.length));
+        }
+    }
+
+    /**
+     * Returns the number of blocks in use.
+     *
+     * @return the number of blocks
+     */
+    int blockCount() {
+        return blockCount;
+    }
+
+    /**
+     * Returns the number of slots in the directory.
+     *
+     * @return the capacity of the directory, in blocks
+     */
+    int directoryCapacity() {
+        return blocks.length;
+    }
+
+    /** Checks whether the given index is in the range [0, n-1]. */
+    protected void checkIndex(int index, int range) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= range) {
+            throw new IndexOutOfBoundsException("Illegal index: " + index);
+        }
+    }
+
+    /**
+     * Returns the block holding the element at the given index. It only
+     * reads the prefix index, which is up to date between edits.
+     *
+     * @param index An index in the range [0, size()]; size() maps to the
+     *              last block.
+     * @return the number of the block
+     */
+    private int blockOf(int index) {
+        int low = 0;
+        int high = blockCount - 1;
+        while (low < high) { // the last block starting at or before index
+            int middle = (low + high + 1) >>> 1;
+            if (starts[middle] <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Moves the start of every block from the given one on by delta, which
+     * keeps the prefix index up to date when only the size of the block
+     * before changed.
+     */
+    private void shiftStarts(int from, int delta) {
+        for (int b = from; b < blockCount; b++) {
+            starts[b] += delta;
+        }
+    }
+
+    /**
+     * Brings the entries of the prefix index after the last valid one up to
+     * date; every edit ends with this.
+     */
+    private void reindex() {
+        if (blockCount == 0) {
+            validBlocks = 0;
+            return;
+        }
+        if (validBlocks == 0) {
+            starts[0] = 0;
+            validBlocks = 1;
+        }
+        for (int b = validBlocks; b < blockCount; b++) {
+            starts[b] = starts[b - 1] + sizes[b - 1];
+        }
+        validBlocks = blockCount;
+    }
+
+    /**
+     * Grows the array of a block, if needed, to hold the given number of
+     * elements, which is at most blockSize.
+     */
+    private void reserve(int b, int capacity) {
+        if (capacity > blocks[b].length) {
+            blocks[b] = Arrays.copyOf(blocks[b], Math.min(Math.max(capacity, 2 * blocks[b].length), blockSize));
+        }
+    }
+
+    /**
+     * Splits a full block in two halves; the upper half becomes block b+1.
+     */
+    private void split(int b) {
+        int half = sizes[b] / 2;
+        openBlocks(b + 1, 1);
+        Object[] upper = new Object[blockSize];
+        System.arraycopy(blocks[b], half, upper, 0, sizes[b] - half);
+        Arrays.fill(blocks[b], half, sizes[b], null); // help garbage collection
+        blocks[b + 1] = upper;
+        sizes[b + 1] = sizes[b] - half;
+        sizes[b] = half;
+    }
+
+    /**
+     * Drops block b if it is empty, or merges it into a neighbour if it is
+     * under a quarter full and the two fit in three quarters of a block.
+     */
+    private void rebalance(int b) {
+        if (b >= blockCount) {
+            return;
+        }
+        if (sizes[b] == 0) {
+            closeBlocks(b, 1);
+        } else if (sizes[b] < blockSize / 4) {
+            if (b + 1 < blockCount && sizes[b] + sizes[b + 1] <= blockSize * 3 / 4) {
+                merge(b);
+            } else if (b > 0 && sizes[b - 1] + sizes[b] <= blockSize * 3 / 4) {
+                merge(b - 1);
+            }
+        }
+    }
+
+    /**
+     * Appends the elements of block b+1 to block b and drops block b+1.
+     */
+    private void merge(int b) {
+        reserve(b, sizes[b] + sizes[b + 1]);
+        System.arraycopy(blocks[b + 1], 0, blocks[b], sizes[b], sizes[b + 1]);
+        sizes[b] += sizes[b + 1];
+        validBlocks = Math.min(validBlocks, b + 1);
+        closeBlocks(b + 1, 1);
+    }
+
+    /**
+     * Inserts count empty slots into the directory at position at, growing
+     * the directory if needed.
+     */
+    private void openBlocks(int at, int count) {
+        if (blockCount + count > blocks.length) {
+            resize(Math.max(blockCount + count, 2 * blocks.length));
+        }
+        System.arraycopy(blocks, at, blocks, at + count, blockCount - at);
+        System.arraycopy(sizes, at, sizes, at + count, blockCount - at);
+        Arrays.fill(sizes, at, at + count, 0);
+        blockCount += count;
+        validBlocks = Math.min(validBlocks, at);
+    }
+
+    /**
+     * Removes count blocks from the directory starting at position at,
+     * shrinking the directory once it is three quarters empty.
+     */
+    private void closeBlocks(int at, int count) {
+        if (count == 0) {
+            return;
+        }
+        System.arraycopy(blocks, at + count, blocks, at, blockCount - at - count);
+        System.arraycopy(sizes, at + count, sizes, at, blockCount - at - count);
+        Arrays.fill(blocks, blockCount - count, blockCount, null); // help garbage collection
+        blockCount -= count;
+        validBlocks = Math.min(validBlocks, at);
+        if (blocks.length > INITIAL_BLOCKS && blockCount <= blocks.length / 4) {
+            resize(Math.max(INITIAL_BLOCKS, blocks.length / 2));
+        }
+    }
+
+    /** Resizes the directory to have given capacity >= blockCount. */
+    private void resize(int capacity) {
+        blocks = Arrays.copyOf(blocks, capacity);
+        sizes = Arrays.copyOf(sizes, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+    }
+}
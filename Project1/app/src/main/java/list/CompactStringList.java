@@ -0,0 +1,606 @@
+package list;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A list of strings that stores the UTF-8 bytes of its elements back to back
+ * in large shared slabs, instead of one String and one array per element.
+ * Each element is stored as its length, in one to five bytes, followed by
+ * its text. A String is only materialized when an element is read.
+ *
+ * <p>The elements are kept in groups of at most GROUP_SIZE consecutive
+ * elements, stored back to back in one slab, so the only table on the heap
+ * has one entry per group: where it starts, its first index and its length
+ * in bytes, 16 bytes per group or half a byte per element when the groups
+ * are full. A document of 400 million lines so needs about 200 MB of index
+ * rather than the 3.2 GB one long per line would take. Reading an element
+ * finds its group by binary search, jumps to the last checkpoint before it
+ * recorded in the header of the group, and skips over the lengths of the
+ * few elements in between. An edit rewrites the group it falls in and
+ * shifts the first index of the groups after it; appending to the end of
+ * the list fills the last group in place.
+ *
+ * <p>Slabs are only ever appended to: a rewritten or removed group leaves
+ * its old bytes behind as garbage, and the live groups are copied into
+ * fresh slabs once the garbage outweighs them. Reading never changes the
+ * list, so any number of threads may read it while no thread edits it.
+ *
+ * <p>Slabs come from {@link #allocateSlab}, so a subclass can keep them
+ * somewhere other than the Java heap.
+ *
+ * @version 1.0.0
+ * @see IndexOutOfBoundsException
+ * @see List
+ */
+public class CompactStringList implements List<String> {
+
+    /** Default slab size in bytes. */
+    public static final int SLAB_SIZE = 1 << 20;
+
+    /** The most elements stored in one group. */
+    static final int GROUP_SIZE = 32;
+
+    /** The number of elements from one checkpoint of a group to the next. */
+    private static final int CHECKPOINT = 8;
+
+    /**
+     * The size of the header of a group: the offsets, from the start of the
+     * group, of its elements CHECKPOINT, 2 * CHECKPOINT and so on, as ints.
+     */
+    private static final int HEADER = (GROUP_SIZE / CHECKPOINT - 1) * Integer.BYTES;
+
+    /** The size of a new slab, unless a group needs a larger one. */
+    private final int slabSize;
+
+    /** The slabs holding the bytes of the elements. */
+    private ArrayBackedList<ByteBuffer> slabs = new ArrayBackedList<>();
+
+    /** The slab new groups are written to, or null before the first one. */
+    private ByteBuffer tail;
+
+    /** The number of bytes written to the tail slab. */
+    private int fill = 0;
+
+    /** Where the bytes of each group start, as (slab << 32 | offset). */
+    private final LongArrayBackedList groupStarts = new LongArrayBackedList();
+
+    /** The index of the first element of each group. */
+    private final IntArrayBackedList groupFirsts = new IntArrayBackedList();
+
+    /** The number of bytes of each group, with the lengths of its elements. */
+    private final IntArrayBackedList groupBytes = new IntArrayBackedList();
+
+    /** The number of elements in the list. */
+    private int size = 0;
+
+    /** The number of bytes of the groups in the list. */
+    private long liveBytes = 0;
+
+    /** The number of bytes in the slabs left behind by rewritten groups. */
+    private long garbageBytes = 0;
+
+    /** Creates a compact list with the default slab size. */
+    public CompactStringList() {
+        this(SLAB_SIZE);
+    }
+
+    /**
+     * Creates a compact list with the given slab size.
+     *
+     * @param slabSize The size of a slab in bytes.
+     */
+    public CompactStringList(int slabSize) {
+        if (slabSize <= 0) {
+            throw new IllegalArgumentException("Illegal slab size: " + slabSize);
+        }
+        this.slabSize = slabSize;
+    }
+
+    /**
+     * Returns the number of elements in the list.
+     *
+     * @return number of elements in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Tests whether the list is empty.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Decodes and returns the element at index i.
+     *
+     * @param index The index of the element to return.
+     * @return The element at the specified index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public String get(int index) throws IndexOutOfBoundsException {
+        Objects.checkIndex(index, size);
+        int group = groupOf(index);
+        long start = groupStarts.getLong(group);
+        ByteBuffer slab = slabs.get((int) (start >>> 32));
+        int offset = locate(slab, (int) start, index - groupFirsts.getInt(group));
+        int length = lengthAt(slab, offset);
+        offset += prefixSize(length);
+        if (slab.hasArray()) {
+            return new String(slab.array(), slab.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        slab.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Replaces the element at the specified index, and returns the element
+     * previously stored.
+     *
+     * @param index   The index of the element to replace.
+     * @param element The new element to be stored.
+     * @return the previously stored element
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public String set(int index, String element) throws IndexOutOfBoundsException {
+        String previously = get(index);
+        byte[] bytes = element.getBytes(StandardCharsets.UTF_8);
+        splice(index, index + 1, new byte[][]{encode(bytes, 0, bytes.length)}, 1);
+
+        return previously;
+    }
+
+    /**
+     * Inserts the given element at the specified index of the list, shifting
+     * all subsequent elements in the list one position further to make room.
+     *
+     * @param index   The index at which the new element should be stored.
+     * @param element the new element to be stored
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     */
+    public void add(int index, String element) throws IndexOutOfBoundsException {
+        byte[] bytes = element.getBytes(StandardCharsets.UTF_8);
+        addUtf8(index, bytes, 0, bytes.length);
+    }
+
+    /**
+     * Inserts an element given as UTF-8 bytes, which are copied as they are,
+     * at the specified index of the list. Text read from a file can so be
+     * stored without first being decoded into a String.
+     *
+     * @param index The index at which the new element should be stored.
+     * @param src   The array holding the UTF-8 bytes of the new element.
+     * @param off   The position in src of the first byte.
+     * @param len   The number of bytes.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size(), or off and len do not
+     *                                   describe a range of src
+     */
+    public void addUtf8(int index, byte[] src, int off, int len) throws IndexOutOfBoundsException {
+        Objects.checkIndex(index, size + 1);
+        Objects.checkFromIndexSize(off, len, src.length);
+        if (!appendInPlace(index, src, off, len)) {
+            splice(index, index, new byte[][]{encode(src, off, len)}, 1);
+        }
+    }
+
+    /**
+     * Removes and returns the element at the given index, shifting all
+     * subsequent elements in the list one position closer to the front.
+     *
+     * @param index The index of the element to be removed.
+     * @return The element that had be stored at the given index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public String remove(int index) throws IndexOutOfBoundsException {
+        String previously = get(index);
+        splice(index, index + 1, null, 0);
+
+        return previously;
+    }
+
+    /**
+     * Inserts len elements of the given array, starting with src[off], at the
+     * specified index of the list. Only the group the block lands in is
+     * rewritten, and the index of groups is shifted once for the whole block.
+     *
+     * @param index The index at which the first new element should be stored.
+     * @param src   The array holding the new elements.
+     * @param off   The position in src of the first new element.
+     * @param len   The number of elements to insert.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size(), or off and len do not
+     *                                   describe a range of src
+     */
+    public void addAll(int index, String[] src, int off, int len) throws IndexOutOfBoundsException {
+        Objects.checkIndex(index, size + 1);
+        Objects.checkFromIndexSize(off, len, src.length);
+        if (len == 0) {
+            return;
+        }
+        byte[][] added = new byte[len][];
+        for (int i = 0; i < len; i++) {
+            byte[] bytes = src[off + i].getBytes(StandardCharsets.UTF_8);
+            added[i] = encode(bytes, 0, bytes.length);
+        }
+        splice(index, index, added, len);
+    }
+
+    /**
+     * Removes the elements with indices from (inclusive) to to (exclusive).
+     *
+     * @param from The index of the first element to remove.
+     * @param to   The index after the last element to remove.
+     * @throws IndexOutOfBoundsException if from is negative, to is greater
+     *                                   than size(), or from is greater than to
+     */
+    public void removeRange(int from, int to) throws IndexOutOfBoundsException {
+        Objects.checkFromToIndex(from, to, size);
+        if (from < to) {
+            splice(from, to, null, 0);
+        }
+    }
+
+    /**
+     * Grows the index of groups, if needed, so that it can hold at least the
+     * given number of elements.
+     *
+     * @param capacity The number of elements the list should be able to hold.
+     */
+    public void ensureCapacity(int capacity) {
+        int groups = capacity / GROUP_SIZE + 1;
+        groupStarts.ensureCapacity(groups);
+        groupFirsts.ensureCapacity(groups);
+        groupBytes.ensureCapacity(groups);
+    }
+
+    /**
+     * Returns the number of bytes held by the slabs, live or not.
+     *
+     * @return the total capacity of the slabs
+     */
+    public long slabBytes() {
+        long total = 0;
+        for (int i = 0; i < slabs.size(); i++) {
+            total += slabs.get(i).capacity();
+        }
+        return total;
+    }
+
+    /**
+     * Returns the number of groups the elements are kept in, which is the
+     * number of entries of the index on the heap.
+     *
+     * @return the number of groups
+     */
+    int groupCount() {
+        return groupStarts.size();
+    }
+
+    /**
+     * Allocates a slab. The default keeps it on the Java heap.
+     *
+     * @param capacity The size of the slab in bytes.
+     * @return A new buffer of the given capacity.
+     */
+    protected ByteBuffer allocateSlab(int capacity) {
+        return ByteBuffer.allocate(capacity);
+    }
+
+    /**
+     * Returns the group holding the element at the given index. While every
+     * group before it is full, as in a document loaded in order, that is
+     * index / GROUP_SIZE; otherwise the index of groups is searched.
+     */
+    private int groupOf(int index) {
+        int guess = index / GROUP_SIZE;
+        if (guess < groupFirsts.size() && groupFirsts.getInt(guess) == guess * GROUP_SIZE
+                && index < groupEnd(guess)) {
+            return guess;
+        }
+        int found = groupFirsts.binarySearch(0, groupFirsts.size(), index);
+        return (found >= 0) ? found : -found - 2;
+    }
+
+    /**
+     * Returns the index after the last element of a group.
+     */
+    private int groupEnd(int group) {
+        return (group + 1 < groupFirsts.size()) ? groupFirsts.getInt(group + 1) : size;
+    }
+
+    /**
+     * Returns the number of elements in a group.
+     */
+    private int countOf(int group) {
+        return groupEnd(group) - groupFirsts.getInt(group);
+    }
+
+    /**
+     * Appends an element to the last group without rewriting it, if the
+     * element goes at the end of the list, the group has room for it, and the
+     * group is the last thing written to the tail slab with space after it.
+     *
+     * @return true if the element was appended.
+     */
+    private boolean appendInPlace(int index, byte[] src, int off, int len) {
+        int last = groupStarts.size() - 1;
+        if (index != size || last < 0 || size - groupFirsts.getInt(last) == GROUP_SIZE) {
+            return false;
+        }
+        long start = groupStarts.getLong(last);
+        int bytes = groupBytes.getInt(last);
+        int length = prefixSize(len) + len;
+        if ((int) (start >>> 32) != slabs.size() - 1 || (int) start + bytes != fill
+                || length > tail.capacity() - fill) {
+            return false;
+        }
+        int offset = fill;
+        int position = size - groupFirsts.getInt(last);
+        if (position % CHECKPOINT == 0) {
+            tail.putInt((int) start + (position / CHECKPOINT - 1) * Integer.BYTES, offset - (int) start);
+        }
+        for (int rest = len; ; rest >>>= 7) {
+            if (rest < 0x80) {
+                tail.put(offset++, (byte) rest);
+                break;
+            }
+            tail.put(offset++, (byte) (rest | 0x80));
+        }
+        tail.put(offset, src, off, len);
+        fill += length;
+        liveBytes += length;
+        groupBytes.setInt(last, bytes + length);
+        size++;
+
+        return true;
+    }
+
+    /**
+     * Replaces the elements with indices from (inclusive) to to (exclusive)
+     * by count encoded elements, rewriting the groups they fall in. Elements
+     * appended to the end of the list fill up the last group and then new
+     * groups, all of them full but the last one; elsewhere the elements of
+     * the rewritten groups are spread evenly over as few groups as hold
+     * them, and a group left under a quarter full takes in one of its
+     * neighbours when the two fit in one group.
+     *
+     * @param from     The index of the first element to replace.
+     * @param to       The index after the last element to replace.
+     * @param inserted The new elements, length prefix included, or null.
+     * @param count    The number of new elements.
+     */
+    private void splice(int from, int to, byte[][] inserted, int count) {
+        int groups = groupStarts.size();
+        boolean appending = from == size;
+        int first;
+        int end;
+        if (appending) {
+            end = groups;
+            first = (groups > 0 && countOf(groups - 1) < GROUP_SIZE) ? groups - 1 : groups;
+        } else {
+            first = groupOf(from);
+            end = (to > from ? groupOf(to - 1) : first) + 1;
+        }
+        int firstIndex = (first < groups) ? groupFirsts.getInt(first) : size;
+        int kept = ((end > first) ? groupEnd(end - 1) : size) - firstIndex - (to - from) + count;
+        if (!appending && kept < GROUP_SIZE / 4) {
+            if (end < groups && kept + countOf(end) <= GROUP_SIZE) {
+                kept += countOf(end++);
+            } else if (first > 0 && kept + countOf(first - 1) <= GROUP_SIZE) {
+                kept += countOf(--first);
+                firstIndex = groupFirsts.getInt(first);
+            }
+        }
+
+        byte[][] elements = new byte[kept][];
+        int n = 0;
+        int index = firstIndex;
+        for (int group = first; group < end; group++) {
+            long start = groupStarts.getLong(group);
+            ByteBuffer slab = slabs.get((int) (start >>> 32));
+            int offset = (int) start + HEADER;
+            for (int last = groupEnd(group); index < last; index++) {
+                int stored = stored(slab, offset);
+                if (index == from) {
+                    for (int i = 0; i < count; i++) {
+                        elements[n++] = inserted[i];
+                    }
+                }
+                if (index < from || index >= to) {
+                    byte[] element = new byte[stored];
+                    slab.get(offset, element);
+                    elements[n++] = element;
+                }
+                offset += stored;
+            }
+            int bytes = groupBytes.getInt(group);
+            liveBytes -= bytes;
+            garbageBytes += bytes;
+        }
+        if (n < kept) { // inserted after the last element of the groups
+            for (int i = 0; i < count; i++) {
+                elements[n++] = inserted[i];
+            }
+        }
+
+        groupStarts.removeRange(first, end);
+        groupFirsts.removeRange(first, end);
+        groupBytes.removeRange(first, end);
+        int delta = count - (to - from);
+        for (int group = first; group < groupFirsts.size(); group++) {
+            groupFirsts.setInt(group, groupFirsts.getInt(group) + delta);
+        }
+        size += delta;
+
+        int pieces = (kept + GROUP_SIZE - 1) / GROUP_SIZE;
+        long[] starts = new long[pieces];
+        int[] firsts = new int[pieces];
+        int[] sizes = new int[pieces];
+        for (int piece = 0, e = 0; piece < pieces; piece++) {
+            int take = appending ? Math.min(GROUP_SIZE, kept - e)
+                    : (kept - e + pieces - piece - 1) / (pieces - piece);
+            int bytes = HEADER;
+            for (int i = e; i < e + take; i++) {
+                bytes += elements[i].length;
+            }
+            long start = reserve(bytes);
+            int offset = (int) start + HEADER;
+            for (int i = e; i < e + take; i++) {
+                if (i > e && (i - e) % CHECKPOINT == 0) {
+                    tail.putInt((int) start + ((i - e) / CHECKPOINT - 1) * Integer.BYTES, offset - (int) start);
+                }
+                tail.put(offset, elements[i]);
+                offset += elements[i].length;
+                elements[i] = null; // help garbage collection
+            }
+            starts[piece] = start;
+            firsts[piece] = firstIndex + e;
+            sizes[piece] = bytes;
+            e += take;
+        }
+        groupStarts.addAll(first, starts, 0, pieces);
+        groupFirsts.addAll(first, firsts, 0, pieces);
+        groupBytes.addAll(first, sizes, 0, pieces);
+        compactIfNeeded();
+    }
+
+    /**
+     * Encodes an element as its length followed by its bytes.
+     */
+    private static byte[] encode(byte[] src, int off, int len) {
+        byte[] element = new byte[prefixSize(len) + len];
+        int at = 0;
+        for (int rest = len; ; rest >>>= 7) {
+            if (rest < 0x80) {
+                element[at++] = (byte) rest;
+                break;
+            }
+            element[at++] = (byte) (rest | 0x80);
+        }
+        System.arraycopy(src, off, element, at, len);
+
+        return element;
+    }
+
+    /**
+     * Reserves room at the end of the tail slab, starting a new slab if it
+     * does not fit.
+     *
+     * @return Where the room starts, as (slab << 32 | offset).
+     */
+    private long reserve(int length) {
+        if (tail == null || length > tail.capacity() - fill) {
+            tail = allocateSlab(Math.max(slabSize, length));
+            slabs.add(slabs.size(), tail);
+            fill = 0;
+        }
+        long start = ((long) (slabs.size() - 1) << 32) | fill;
+        fill += length;
+        liveBytes += length;
+
+        return start;
+    }
+
+    /**
+     * Returns the offset of an element of a group: the checkpoint before it
+     * is read from the header, and the elements from there are skipped over.
+     *
+     * @param slab     The slab of the group.
+     * @param start    The offset of the group in the slab.
+     * @param position The position of the element in the group.
+     * @return The offset of the element in the slab.
+     */
+    private static int locate(ByteBuffer slab, int start, int position) {
+        if (position < CHECKPOINT) {
+            return skip(slab, start + HEADER, position);
+        }
+        int checkpoint = slab.getInt(start + (position / CHECKPOINT - 1) * Integer.BYTES);
+        return skip(slab, start + checkpoint, position % CHECKPOINT);
+    }
+
+    /**
+     * Returns the offset of the element count elements after the one at the
+     * given offset, reading the array of a heap slab directly.
+     */
+    private static int skip(ByteBuffer slab, int offset, int count) {
+        if (slab.hasArray()) {
+            byte[] array = slab.array();
+            int base = slab.arrayOffset();
+            for (; count > 0; count--) {
+                byte b = array[base + offset];
+                offset += (b >= 0) ? 1 + b : stored(slab, offset);
+            }
+            return offset;
+        }
+        for (; count > 0; count--) {
+            offset += stored(slab, offset);
+        }
+        return offset;
+    }
+
+    /**
+     * Returns the number of bytes an element takes in its slab, its length
+     * included.
+     */
+    private static int stored(ByteBuffer slab, int offset) {
+        int length = lengthAt(slab, offset);
+        return prefixSize(length) + length;
+    }
+
+    /**
+     * Reads the length stored at the given offset, seven bits per byte with
+     * the high bit set on every byte but the last.
+     */
+    private static int lengthAt(ByteBuffer slab, int offset) {
+        int length = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = slab.get(offset++);
+            length |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return length;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of bytes the given length is stored in.
+     */
+    private static int prefixSize(int length) {
+        return length < 1 << 7 ? 1 : length < 1 << 14 ? 2 : length < 1 << 21 ? 3 : length < 1 << 28 ? 4 : 5;
+    }
+
+    /**
+     * Copies the live groups into fresh slabs, in list order, once the
+     * garbage outweighs them and fills at least a slab.
+     */
+    private void compactIfNeeded() {
+        if (garbageBytes <= slabSize || garbageBytes <= liveBytes) {
+            return;
+        }
+        ArrayBackedList<ByteBuffer> old = slabs;
+        slabs = new ArrayBackedList<>();
+        tail = null;
+        fill = 0;
+        liveBytes = 0;
+        garbageBytes = 0;
+        for (int group = 0; group < groupStarts.size(); group++) {
+            long start = groupStarts.getLong(group);
+            ByteBuffer slab = old.get((int) (start >>> 32));
+            int bytes = groupBytes.getInt(group);
+            long moved = reserve(bytes);
+            tail.put((int) moved, slab, (int) start, bytes);
+            groupStarts.setLong(group, moved);
+        }
+    }
+}
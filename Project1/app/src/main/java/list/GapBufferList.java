@@ -0,0 +1,538 @@
+package list;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Realization of a list by means of a gap buffer. The elements are kept in a
+ * single array with one contiguous run of free slots (the gap) sitting at the
+ * most recent edit point. Inserting or removing next to the gap only touches
+ * one slot, and moving the edit point elsewhere only slides the gap over the
+ * elements in between, so runs of edits around a cursor cost O(1) amortized.
+ *
+ * @see IndexOutOfBoundsException
+ * @see List
+ */
+public class GapBufferList<E> implements List<E> {
+
+    /** Default array capacity. */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /** Array storing the elements of the list, with the gap somewhere inside. */
+    private E[] elements;
+
+    /** Slot of the first free cell of the gap (the logical edit point). */
+    private int gapStart = 0;
+
+    /** Slot of the first element stored after the gap. */
+    private int gapEnd;
+
+    /** Number of structural changes, so iterators can fail fast. */
+    private int modCount = 0;
+
+    /** Decides how the array grows and whether it shrinks. */
+    private final GrowthPolicy policy;
+
+    /** The counters resizes and moves are reported to, or null. */
+    private ListCounters counters;
+
+    /** Creates a gap buffer with default initial capacity. */
+    public GapBufferList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /** Creates a gap buffer with given initial capacity. */
+    public GapBufferList(int capacity) {
+        this(capacity, GrowthPolicy.DOUBLING);
+    }
+
+    /**
+     * Creates a gap buffer with given initial capacity, growing and shrinking
+     * its array according to the given policy.
+     *
+     * @param capacity The initial capacity.
+     * @param policy   The growth policy.
+     */
+    @SuppressWarnings("unchecked") // safe cast
+    public GapBufferList(int capacity, GrowthPolicy policy) {
+        elements = (E[]) new Object[Math.max(capacity, 1)];
+        gapEnd = elements.length;
+        this.policy = Objects.requireNonNull(policy);
+    }
+
+    /**
+     * Returns the number of elements in the list.
+     *
+     * @return number of elements in the list
+     */
+    public int size() {
+        return elements.length - (gapEnd - gapStart);
+    }
+
+    /**
+     * Tests whether the list is empty.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns (but does not remove) the element at index i. Reading never
+     * moves the gap.
+     *
+     * @param index The index of the element to return.
+     * @return The element at the specified index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public E get(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, size());
+        return elements[slotOf(index)];
+    }
+
+    /**
+     * Replaces the element at the specified index, and returns the element
+     * previously stored. Replacing never moves the gap.
+     *
+     * @param index   The index of the element to replace.
+     * @param element The new element to be stored.
+     * @return the previously stored element
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public E set(int index, E element) throws IndexOutOfBoundsException {
+        checkIndex(index, size());
+        int slot = slotOf(index);
+        E previously = elements[slot];
+        elements[slot] = element;
+        relocated(element, slot);
+
+        return previously;
+    }
+
+    /**
+     * Inserts the given element at the specified index of the list. The gap
+     * is first moved to the index, then the element is written into it.
+     *
+     * @param index   The index at which the new element should be stored.
+     * @param element the new element to be stored
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     */
+    public void add(int index, E element) throws IndexOutOfBoundsException {
+        checkIndex(index, size() + 1);
+
+        // Grow the array if the gap is used up
+        if (gapStart == gapEnd) {
+            expand(policy.grow(elements.length, elements.length + 1));
+        }
+
+        moveGap(index);
+        elements[gapStart] = element;
+        relocated(element, gapStart++);
+        modCount++;
+    }
+
+    /**
+     * Removes and returns the element at the given index. The gap is first
+     * moved to the index, then widened by one slot to swallow the element.
+     *
+     * @param index The index of the element to be removed.
+     * @return The element that had be stored at the given index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public E remove(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, size());
+        moveGap(index);
+
+        E previously = elements[gapEnd];
+        elements[gapEnd++] = null; // help garbage collection
+        modCount++;
+        shrinkIfSparse();
+
+        return previously;
+    }
+
+    /**
+     * Inserts len elements of the given array, starting with src[off], at the
+     * specified index of the list. The gap is moved to the index once and the
+     * new elements are copied into it with a single array copy.
+     *
+     * @param index The index at which the first new element should be stored.
+     * @param src   The array holding the new elements.
+     * @param off   The position in src of the first new element.
+     * @param len   The number of elements to insert.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size(), or off and len do not
+     *                                   describe a range of src
+     */
+    public void addAll(int index, E[] src, int off, int len) throws IndexOutOfBoundsException {
+        checkIndex(index, size() + 1);
+        Objects.checkFromIndexSize(off, len, src.length);
+        ensureCapacity(size() + len);
+
+        moveGap(index);
+        System.arraycopy(src, off, elements, gapStart, len);
+        relocatedRange(gapStart, gapStart + len);
+        gapStart += len;
+        modCount++;
+    }
+
+    /**
+     * Removes the elements with indices from (inclusive) to to (exclusive).
+     * The gap is moved to from once and then widened to swallow the range.
+     *
+     * @param from The index of the first element to remove.
+     * @param to   The index after the last element to remove.
+     * @throws IndexOutOfBoundsException if from is negative, to is greater
+     *                                   than size(), or from is greater than to
+     */
+    public void removeRange(int from, int to) throws IndexOutOfBoundsException {
+        Objects.checkFromToIndex(from, to, size());
+        moveGap(from);
+
+        clear(gapEnd, gapEnd + (to - from));
+        gapEnd += to - from;
+        modCount++;
+        shrinkIfSparse();
+    }
+
+    /**
+     * Grows the internal array, if needed, so that it can hold at least the
+     * given number of elements.
+     *
+     * @param capacity The number of elements the list should be able to hold.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            expand(policy.grow(elements.length, capacity));
+        }
+    }
+
+    /**
+     * Shrinks the internal array to the size of the list, closing the gap.
+     * The next insertion grows the array again.
+     */
+    public void trimToSize() {
+        if (size() < elements.length) {
+            expand(Math.max(size(), 1));
+        }
+    }
+
+    /**
+     * Returns the length of the internal array.
+     *
+     * @return the number of elements the list can hold without resizing
+     */
+    public int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Reports the resizes of the array and the elements moved by sliding the
+     * gap to the given counters from now on.
+     *
+     * @param counters The counters, or null to stop counting.
+     */
+    public void setCounters(ListCounters counters) {
+        this.counters = counters;
+    }
+
+    /**
+     * Returns an iterator over the elements from the given index on, which
+     * reads the array directly, stepping over the gap, and fails fast once
+     * the list was changed other than through set.
+     *
+     * @param from The index of the first element returned.
+     * @return an iterator starting at from
+     * @throws IndexOutOfBoundsException if from is negative or greater than
+     *                                   size()
+     */
+    public Iterator<E> iterator(int from) throws IndexOutOfBoundsException {
+        checkIndex(from, size() + 1);
+        return new Itr(from);
+    }
+
+    /**
+     * Returns a SIZED and SUBSIZED spliterator over the elements, which
+     * splits their index range in halves and walks the runs before and after
+     * the gap directly. It binds to the array on first use and fails fast
+     * like the iterator.
+     *
+     * @return a spliterator over the elements in list order
+     */
+    public Spliterator<E> spliterator() {
+        return new GapSpliterator(0, -1, 0);
+    }
+
+    /** Checks whether the given index is in the range [0, n-1]. */
+    protected void checkIndex(int index, int range) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= range) {
+            throw new IndexOutOfBoundsException("Illegal index: " + index);
+        }
+    }
+
+    /** Translates a logical index into the array slot holding it. */
+    private int slotOf(int index) {
+        return (index < gapStart) ? index : index + (gapEnd - gapStart);
+    }
+
+    /**
+     * Translates the array slot of a stored element back into its logical
+     * index. Together with {@link #relocated} this lets a subclass find the
+     * index of an element in O(1).
+     *
+     * @param slot The array slot of an element, as last reported to relocated.
+     * @return The current index of that element.
+     */
+    protected int indexOfSlot(int slot) {
+        return (slot < gapStart) ? slot : slot - (gapEnd - gapStart);
+    }
+
+    /**
+     * Called whenever an element is written to an array slot: when it is
+     * added or set, and every time the gap or a resize moves it. The default
+     * implementation does nothing.
+     *
+     * @param element The element that was written.
+     * @param slot    The array slot it now occupies.
+     */
+    protected void relocated(E element, int slot) {
+    }
+
+    /** Reports every element in the slots [from, to) as relocated. */
+    private void relocatedRange(int from, int to) {
+        for (int i = from; i < to; i++) {
+            relocated(elements[i], i);
+        }
+    }
+
+    /**
+     * Resizes internal array to have given capacity >= size. The elements
+     * after the gap are moved to the end of the new array, so the gap keeps
+     * its logical position and absorbs all of the new room, or gives up the
+     * room removed when the array shrinks.
+     */
+    @SuppressWarnings("unchecked") // safe cast
+    protected void expand(int capacity) {
+        E[] temp = (E[]) new Object[capacity]; // safe cast
+        if (counters != null) {
+            counters.expanded();
+        }
+        int tail = elements.length - gapEnd;
+        System.arraycopy(elements, 0, temp, 0, gapStart);
+        System.arraycopy(elements, gapEnd, temp, capacity - tail, tail);
+        gapEnd = capacity - tail;
+        elements = temp; // start using the new array
+        modCount++;
+        relocatedRange(gapEnd, capacity);
+    }
+
+    /**
+     * Slides the gap so that it starts at the given logical index. Only the
+     * elements between the old and the new edit point are moved.
+     *
+     * @param index The new logical position of the gap.
+     */
+    private void moveGap(int index) {
+        if (index < gapStart) {
+            int count = gapStart - index;
+            moved(count);
+            System.arraycopy(elements, index, elements, gapEnd - count, count);
+            clear(index, Math.min(gapStart, gapEnd - count));
+            gapStart -= count;
+            gapEnd -= count;
+            relocatedRange(gapEnd, gapEnd + count);
+        } else if (index > gapStart) {
+            int count = index - gapStart;
+            moved(count);
+            System.arraycopy(elements, gapEnd, elements, gapStart, count);
+            clear(Math.max(gapEnd, gapStart + count), gapEnd + count);
+            relocatedRange(gapStart, gapStart + count);
+            gapStart += count;
+            gapEnd += count;
+        }
+    }
+
+    /** Shrinks the array after a removal if the policy says so. */
+    private void shrinkIfSparse() {
+        int capacity = policy.shrink(elements.length, size());
+        if (capacity < elements.length) {
+            expand(capacity);
+        }
+    }
+
+    /** Reports moved elements to the counters, if any. */
+    private void moved(int count) {
+        if (counters != null) {
+            counters.moved(count);
+        }
+    }
+
+    /** Nulls out the slots in [from, to) that now belong to the gap. */
+    private void clear(int from, int to) {
+        for (int i = from; i < to; i++) {
+            elements[i] = null; // help garbage collection
+        }
+    }
+
+    /**
+     * An iterator reading the array directly.
+     */
+    private class Itr implements Iterator<E> {
+
+        /** The index of the next element. */
+        private int next;
+
+        /** The modCount the iterator expects. */
+        private final int expectedModCount = modCount;
+
+        /** Creates an iterator starting at the given index. */
+        Itr(int from) {
+            next = from;
+        }
+
+        /**
+         * Tests whether there is another element.
+         *
+         * @return true if next() returns an element
+         */
+        public boolean hasNext() {
+            return next < size();
+        }
+
+        /**
+         * Returns the next element.
+         *
+         * @return the next element
+         * @throws NoSuchElementException          if there is none
+         * @throws ConcurrentModificationException if the list was changed
+         */
+        public E next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size()) {
+                throw new NoSuchElementException();
+            }
+            return elements[slotOf(next++)];
+        }
+    }
+
+    /**
+     * A spliterator over a range of indices.
+     */
+    private class GapSpliterator implements Spliterator<E> {
+
+        /** The index of the next element. */
+        private int index;
+
+        /** The index after the last element, or -1 until first use. */
+        private int fence;
+
+        /** The modCount the spliterator expects once bound. */
+        private int expectedModCount;
+
+        /** Creates a spliterator over the indices [origin, fence). */
+        GapSpliterator(int origin, int fence, int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        /** Returns the fence, binding it to the list on first use. */
+        private int fence() {
+            if (fence < 0) {
+                expectedModCount = modCount;
+                fence = size();
+            }
+            return fence;
+        }
+
+        /**
+         * Splits off the first half of the remaining elements.
+         *
+         * @return a spliterator over the first half, or null if too small
+         */
+        public Spliterator<E> trySplit() {
+            int high = fence();
+            int middle = (index + high) >>> 1;
+            if (middle <= index) {
+                return null;
+            }
+            Spliterator<E> prefix = new GapSpliterator(index, middle, expectedModCount);
+            index = middle;
+            return prefix;
+        }
+
+        /**
+         * Passes the next element to the action, if there is one.
+         *
+         * @param action The action.
+         * @return true if there was an element
+         */
+        public boolean tryAdvance(Consumer<? super E> action) {
+            int high = fence();
+            if (index >= high) {
+                return false;
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            action.accept(elements[slotOf(index++)]);
+            return true;
+        }
+
+        /**
+         * Passes every remaining element to the action, walking the run
+         * before the gap and the run after it, and checking for changes once
+         * at the end.
+         *
+         * @param action The action.
+         */
+        public void forEachRemaining(Consumer<? super E> action) {
+            int high = fence();
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            E[] array = elements;
+            int split = gapStart;
+            int gap = gapEnd - gapStart;
+            for (int i = index; i < Math.min(high, split); i++) {
+                action.accept(array[i]);
+            }
+            for (int i = Math.max(index, split); i < high; i++) {
+                action.accept(array[i + gap]);
+            }
+            index = high;
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        /**
+         * Returns the number of remaining elements.
+         *
+         * @return the exact number of elements left
+         */
+        public long estimateSize() {
+            return fence() - index;
+        }
+
+        /**
+         * Returns ORDERED, SIZED and SUBSIZED.
+         *
+         * @return the characteristics
+         */
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+}
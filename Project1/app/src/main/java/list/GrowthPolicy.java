@@ -0,0 +1,127 @@
+package list;
+
+/**
+ * Decides how far an array-based list grows its array when it runs out of
+ * room, and whether it gives memory back when elements are removed.
+ *
+ * <p>Growth is either geometric, multiplying the capacity by a factor, which
+ * keeps appends O(1) amortized, or by a fixed increment, which wastes at most
+ * that many slots but copies the array O(n / increment) times while a list
+ * of n elements is built. By default a policy never shrinks; a shrinking
+ * policy trims the array once the list is less than 1/ratio full, to twice
+ * its size, but only if the array is also larger than growing the list
+ * from its current size would make it. A large growth step can outrun the
+ * ratio, such as a factor of 4 against a ratio of 3, and without the second
+ * check the element removed right after such a growth would shrink the
+ * array again. With it, an element added or removed right after a resize
+ * never causes the next one.
+ *
+ * <p>Policies are immutable and can be shared between lists.
+ *
+ * @version 1.0.0
+ * @see ArrayBackedList
+ * @see GapBufferList
+ */
+public final class GrowthPolicy {
+
+    /** The policy used by default: doubling, and never shrinking. */
+    public static final GrowthPolicy DOUBLING = geometric(2);
+
+    /** The capacity a shrinking policy never goes below. */
+    public static final int MINIMUM_CAPACITY = 16;
+
+    /** The factor the capacity is multiplied by, or 0 for fixed increments. */
+    private final double factor;
+
+    /** The number of slots added at a time, or 0 for geometric growth. */
+    private final int increment;
+
+    /** The list shrinks when less than 1/shrinkRatio full, or never if 0. */
+    private final int shrinkRatio;
+
+    /** Creates a policy; use the static factory methods. */
+    private GrowthPolicy(double factor, int increment, int shrinkRatio) {
+        this.factor = factor;
+        this.increment = increment;
+        this.shrinkRatio = shrinkRatio;
+    }
+
+    /**
+     * Returns a policy multiplying the capacity by the given factor.
+     *
+     * @param factor The growth factor, such as 2 or 1.5.
+     * @return The policy, which never shrinks.
+     * @throws IllegalArgumentException if factor is not greater than 1
+     */
+    public static GrowthPolicy geometric(double factor) throws IllegalArgumentException {
+        if (!(factor > 1)) {
+            throw new IllegalArgumentException("Illegal growth factor: " + factor);
+        }
+        return new GrowthPolicy(factor, 0, 0);
+    }
+
+    /**
+     * Returns a policy adding the given number of slots at a time.
+     *
+     * @param increment The number of slots added.
+     * @return The policy, which never shrinks.
+     * @throws IllegalArgumentException if increment is not positive
+     */
+    public static GrowthPolicy fixedIncrement(int increment) throws IllegalArgumentException {
+        if (increment <= 0) {
+            throw new IllegalArgumentException("Illegal increment: " + increment);
+        }
+        return new GrowthPolicy(0, increment, 0);
+    }
+
+    /**
+     * Returns a policy growing like this one that also shrinks the array to
+     * twice the size of the list once it is less than 1/ratio full and
+     * larger than growing from the size of the list would make it, but not
+     * below MINIMUM_CAPACITY.
+     *
+     * @param ratio The inverse of the fill level that triggers shrinking,
+     *              such as 4.
+     * @return The shrinking policy.
+     * @throws IllegalArgumentException if ratio is less than 3, which would
+     *                                  leave no room between growing and
+     *                                  shrinking
+     */
+    public GrowthPolicy shrinkingBelow(int ratio) throws IllegalArgumentException {
+        if (ratio < 3) {
+            throw new IllegalArgumentException("Illegal shrink ratio: " + ratio);
+        }
+        return new GrowthPolicy(factor, increment, ratio);
+    }
+
+    /**
+     * Returns the capacity to grow an array to.
+     *
+     * @param capacity The current capacity.
+     * @param required The number of elements the array has to hold.
+     * @return The new capacity, at least required.
+     */
+    public int grow(int capacity, int required) {
+        long grown = (increment > 0) ? (long) capacity + increment : (long) (capacity * factor);
+        return (int) Math.max(Math.min(grown, Integer.MAX_VALUE - 8), required);
+    }
+
+    /**
+     * Returns the capacity to shrink an array to after removals.
+     *
+     * @param capacity The current capacity.
+     * @param size     The number of elements in the array.
+     * @return The new capacity, or capacity if the array should be kept.
+     */
+    public int shrink(int capacity, int size) {
+        if (shrinkRatio == 0 || (long) size * shrinkRatio >= capacity || capacity <= MINIMUM_CAPACITY) {
+            return capacity;
+        }
+        if (grow(size, size + 1) >= capacity) {
+            // the array may have just grown from this size
+            return capacity;
+        }
+        return Math.max(2 * size, MINIMUM_CAPACITY);
+    }
+
+}
@@ -0,0 +1,62 @@
+package list;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The iterator List returns by default: it calls get for every element and
+ * fails fast when the size of the list changes.
+ *
+ * @version 1.0.0
+ * @see List
+ */
+final class IndexedIterator<E> implements Iterator<E> {
+
+    /** The list iterated over. */
+    private final List<E> list;
+
+    /** The size of the list when the iterator was created. */
+    private final int expectedSize;
+
+    /** The index of the next element. */
+    private int next;
+
+    /**
+     * Creates an iterator starting at the given index.
+     *
+     * @param list The list to iterate over.
+     * @param from The index of the first element returned.
+     */
+    IndexedIterator(List<E> list, int from) {
+        this.list = list;
+        this.expectedSize = list.size();
+        this.next = from;
+    }
+
+    /**
+     * Tests whether there is another element.
+     *
+     * @return true if next() returns an element
+     */
+    public boolean hasNext() {
+        return next < expectedSize;
+    }
+
+    /**
+     * Returns the next element.
+     *
+     * @return the next element
+     * @throws NoSuchElementException          if there is none
+     * @throws ConcurrentModificationException if the size of the list changed
+     */
+    public E next() {
+        if (list.size() != expectedSize) {
+            throw new ConcurrentModificationException();
+        }
+        if (next >= expectedSize) {
+            throw new NoSuchElementException();
+        }
+        return list.get(next++);
+    }
+}
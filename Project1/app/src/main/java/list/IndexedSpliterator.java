@@ -0,0 +1,119 @@
+package list;
+
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * The spliterator List returns by default: it covers a range of indices,
+ * splits it in halves and calls get for every element. It binds to the
+ * size of the list on first use and fails fast when that size changes.
+ *
+ * @version 1.0.0
+ * @see List
+ */
+final class IndexedSpliterator<E> implements Spliterator<E> {
+
+    /** The list traversed. */
+    private final List<E> list;
+
+    /** The index of the next element. */
+    private int index;
+
+    /** The index after the last element, or -1 until first use. */
+    private int fence;
+
+    /** The size of the list when the spliterator was bound. */
+    private int expectedSize;
+
+    /**
+     * Creates a spliterator over the indices [origin, fence).
+     *
+     * @param list   The list to traverse.
+     * @param origin The index of the first element.
+     * @param fence  The index after the last element, or -1 for the end of
+     *               the list when the spliterator is first used.
+     * @param size   The size of the list the fence was bound to, if it was.
+     */
+    IndexedSpliterator(List<E> list, int origin, int fence, int size) {
+        this.list = list;
+        this.index = origin;
+        this.fence = fence;
+        this.expectedSize = size;
+    }
+
+    /** Returns the fence, binding it to the size of the list on first use. */
+    private int fence() {
+        if (fence < 0) {
+            fence = expectedSize = list.size();
+        }
+        return fence;
+    }
+
+    /**
+     * Splits off the first half of the remaining elements.
+     *
+     * @return a spliterator over the first half, or null if too small
+     */
+    public Spliterator<E> trySplit() {
+        int high = fence();
+        int middle = (index + high) >>> 1;
+        if (middle <= index) {
+            return null;
+        }
+        Spliterator<E> prefix = new IndexedSpliterator<>(list, index, middle, expectedSize);
+        index = middle;
+        return prefix;
+    }
+
+    /**
+     * Passes the next element to the action, if there is one.
+     *
+     * @param action The action.
+     * @return true if there was an element
+     */
+    public boolean tryAdvance(Consumer<? super E> action) {
+        int high = fence();
+        if (index >= high) {
+            return false;
+        }
+        if (list.size() != expectedSize) {
+            throw new ConcurrentModificationException();
+        }
+        action.accept(list.get(index++));
+        return true;
+    }
+
+    /**
+     * Passes every remaining element to the action.
+     *
+     * @param action The action.
+     */
+    public void forEachRemaining(Consumer<? super E> action) {
+        int high = fence();
+        if (list.size() != expectedSize) {
+            throw new ConcurrentModificationException();
+        }
+        for (; index < high; index++) {
+            action.accept(list.get(index));
+        }
+    }
+
+    /**
+     * Returns the number of remaining elements.
+     *
+     * @return the exact number of elements left
+     */
+    public long estimateSize() {
+        return fence() - index;
+    }
+
+    /**
+     * Returns ORDERED, SIZED and SUBSIZED.
+     *
+     * @return the characteristics
+     */
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+}
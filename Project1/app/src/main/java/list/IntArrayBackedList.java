@@ -0,0 +1,325 @@
+package list;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Realization of a list of ints by means of a dynamic int array. It keeps the
+ * List contract of ArrayBackedList, boxing only at that interface, and adds
+ * primitive accessors and bulk operations that never box, so a table of
+ * offsets or line numbers costs 4 bytes per entry instead of a reference
+ * plus an Integer object.
+ *
+ * @see IndexOutOfBoundsException
+ * @see ArrayBackedList
+ * @see List
+ */
+public class IntArrayBackedList implements List<Integer> {
+
+    /** Default array capacity. */
+    public static final int INITIAL_CAPACITY = 16;
+
+    /** Array storing the elements of the list. */
+    private int[] elements;
+
+    /** Number of elements stored in the list. */
+    private int size = 0;
+
+    /** Creates an int list with default initial capacity. */
+    public IntArrayBackedList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /** Creates an int list with given initial capacity. */
+    public IntArrayBackedList(int capacity) {
+        elements = new int[capacity];
+    }
+
+    /**
+     * Returns the number of elements in the list.
+     *
+     * @return number of elements in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Tests whether the list is empty.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns (but does not remove) the element at index i, boxed.
+     *
+     * @param index The index of the element to return.
+     * @return The element at the specified index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public Integer get(int index) throws IndexOutOfBoundsException {
+        return getInt(index);
+    }
+
+    /**
+     * Returns (but does not remove) the element at index i.
+     *
+     * @param index The index of the element to return.
+     * @return The element at the specified index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public int getInt(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        return elements[index];
+    }
+
+    /**
+     * Replaces the element at the specified index, and returns the element
+     * previously stored, boxed.
+     *
+     * @param index   The index of the element to replace.
+     * @param element The new element to be stored.
+     * @return the previously stored element
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public Integer set(int index, Integer element) throws IndexOutOfBoundsException {
+        return setInt(index, element);
+    }
+
+    /**
+     * Replaces the element at the specified index, and returns the element
+     * previously stored.
+     *
+     * @param index   The index of the element to replace.
+     * @param element The new element to be stored.
+     * @return the previously stored element
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public int setInt(int index, int element) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        int previously = elements[index];
+        elements[index] = element;
+
+        return previously;
+    }
+
+    /**
+     * Inserts the given element at the specified index of the list, shifting
+     * all subsequent elements in the list one position further to make room.
+     *
+     * @param index   The index at which the new element should be stored.
+     * @param element the new element to be stored
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     */
+    public void add(int index, Integer element) throws IndexOutOfBoundsException {
+        addInt(index, element);
+    }
+
+    /**
+     * Inserts the given element at the specified index of the list, shifting
+     * all subsequent elements in the list one position further to make room.
+     *
+     * @param index   The index at which the new element should be stored.
+     * @param element the new element to be stored
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     */
+    public void addInt(int index, int element) throws IndexOutOfBoundsException {
+        checkIndex(index, size + 1);
+
+        // Double capacity if out of room
+        if (size == elements.length) {
+            expand(2 * elements.length);
+        }
+
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = element;
+        size++;
+    }
+
+    /**
+     * Appends the given element at the end of the list.
+     *
+     * @param element the new element to be stored
+     */
+    public void addLast(int element) {
+        if (size == elements.length) {
+            expand(2 * elements.length);
+        }
+        elements[size++] = element;
+    }
+
+    /**
+     * Removes and returns the element at the given index, boxed.
+     *
+     * @param index The index of the element to be removed.
+     * @return The element that had be stored at the given index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public Integer remove(int index) throws IndexOutOfBoundsException {
+        return removeInt(index);
+    }
+
+    /**
+     * Removes and returns the element at the given index, shifting all
+     * subsequent elements in the list one position closer to the front.
+     *
+     * @param index The index of the element to be removed.
+     * @return The element that had be stored at the given index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public int removeInt(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, size);
+        int previously = elements[index];
+
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+
+        return previously;
+    }
+
+    /**
+     * Inserts len boxed elements of the given array, starting with src[off],
+     * at the specified index of the list.
+     *
+     * @param index The index at which the first new element should be stored.
+     * @param src   The array holding the new elements.
+     * @param off   The position in src of the first new element.
+     * @param len   The number of elements to insert.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size(), or off and len do not
+     *                                   describe a range of src
+     */
+    public void addAll(int index, Integer[] src, int off, int len) throws IndexOutOfBoundsException {
+        checkIndex(index, size + 1);
+        Objects.checkFromIndexSize(off, len, src.length);
+        ensureCapacity(size + len);
+
+        System.arraycopy(elements, index, elements, index + len, size - index);
+        for (int i = 0; i < len; i++) {
+            elements[index + i] = src[off + i];
+        }
+        size += len;
+    }
+
+    /**
+     * Inserts len elements of the given array, starting with src[off], at the
+     * specified index of the list. The tail of the list is moved once, by a
+     * single array copy, however many elements are inserted.
+     *
+     * @param index The index at which the first new element should be stored.
+     * @param src   The array holding the new elements.
+     * @param off   The position in src of the first new element.
+     * @param len   The number of elements to insert.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size(), or off and len do not
+     *                                   describe a range of src
+     */
+    public void addAll(int index, int[] src, int off, int len) throws IndexOutOfBoundsException {
+        checkIndex(index, size + 1);
+        Objects.checkFromIndexSize(off, len, src.length);
+        ensureCapacity(size + len);
+
+        System.arraycopy(elements, index, elements, index + len, size - index);
+        System.arraycopy(src, off, elements, index, len);
+        size += len;
+    }
+
+    /**
+     * Removes the elements with indices from (inclusive) to to (exclusive).
+     * The tail of the list is moved once, by a single array copy.
+     *
+     * @param from The index of the first element to remove.
+     * @param to   The index after the last element to remove.
+     * @throws IndexOutOfBoundsException if from is negative, to is greater
+     *                                   than size(), or from is greater than to
+     */
+    public void removeRange(int from, int to) throws IndexOutOfBoundsException {
+        Objects.checkFromToIndex(from, to, size);
+
+        System.arraycopy(elements, to, elements, from, size - to);
+        size -= to - from;
+    }
+
+    /**
+     * Grows the internal array, if needed, so that it can hold at least the
+     * given number of elements.
+     *
+     * @param capacity The number of elements the list should be able to hold.
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            expand(Math.max(capacity, 2 * elements.length));
+        }
+    }
+
+    /**
+     * Removes every element, keeping the internal array.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Searches the elements with indices from (inclusive) to to (exclusive),
+     * which must be sorted in ascending order, for the given value.
+     *
+     * @param from  The index of the first element to search.
+     * @param to    The index after the last element to search.
+     * @param value The value to search for.
+     * @return the index of the value if it is found, otherwise
+     *         (-(insertion point) - 1) as in Arrays.binarySearch
+     * @throws IndexOutOfBoundsException if from is negative, to is greater
+     *                                   than size(), or from is greater than to
+     */
+    public int binarySearch(int from, int to, int value) throws IndexOutOfBoundsException {
+        Objects.checkFromToIndex(from, to, size);
+        return Arrays.binarySearch(elements, from, to, value);
+    }
+
+    /**
+     * Returns a copy of the elements with indices from (inclusive) to to
+     * (exclusive).
+     *
+     * @param from The index of the first element to copy.
+     * @param to   The index after the last element to copy.
+     * @return a new array holding the elements
+     * @throws IndexOutOfBoundsException if from is negative, to is greater
+     *                                   than size(), or from is greater than to
+     */
+    public int[] toArray(int from, int to) throws IndexOutOfBoundsException {
+        Objects.checkFromToIndex(from, to, size);
+        return Arrays.copyOfRange(elements, from, to);
+    }
+
+    /**
+     * Returns a copy of all elements.
+     *
+     * @return a new array holding the elements in list order
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /** Checks whether the given index is in the range [0, n-1]. */
+    protected void checkIndex(int index, int range) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= range) {
+            throw new IndexOutOfBoundsException("Illegal index: " + index);
+        }
+    }
+
+    /** Resizes internal array to have given capacity >= size. */
+    protected void expand(int capacity) {
+        elements = Arrays.copyOf(elements, Math.max(capacity, 1));
+    }
+}
@@ -1,5 +1,11 @@
 package list;
 
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * A simplified version of the java.util.List interface.
  *
@@ -9,7 +15,7 @@ package list;
  *
  * @see IndexOutOfBoundsException
  */
-public interface List<E> {
+public interface List<E> extends Iterable<E> {
   /**
    * Returns the number of elements in the list.
    * 
@@ -67,4 +73,113 @@ public interface List<E> {
    *                                   than size()-1.
    */
   E remove(int index) throws IndexOutOfBoundsException;
-}
\ No newline at end of file
+
+  /**
+   * Inserts len elements of the given array, starting with src[off], at the
+   * specified index of the list, shifting all subsequent elements in the list
+   * len positions further to make room. The default implementation adds the
+   * elements one at a time.
+   *
+   * @param index The index at which the first new element should be stored.
+   * @param src   The array holding the new elements.
+   * @param off   The position in src of the first new element.
+   * @param len   The number of elements to insert.
+   * @throws IndexOutOfBoundsException If the index is negative or greater
+   *                                   than size(), or off and len do not
+   *                                   describe a range of src.
+   */
+  default void addAll(int index, E[] src, int off, int len) throws IndexOutOfBoundsException {
+    Objects.checkIndex(index, size() + 1);
+    Objects.checkFromIndexSize(off, len, src.length);
+    ensureCapacity(size() + len);
+    for (int i = 0; i < len; i++) {
+      add(index + i, src[off + i]);
+    }
+  }
+
+  /**
+   * Removes the elements with indices from (inclusive) to to (exclusive),
+   * shifting all subsequent elements in the list closer to the front. The
+   * default implementation removes the elements one at a time.
+   *
+   * @param from The index of the first element to remove.
+   * @param to   The index after the last element to remove.
+   * @throws IndexOutOfBoundsException If from is negative, to is greater
+   *                                   than size(), or from is greater than to.
+   */
+  default void removeRange(int from, int to) throws IndexOutOfBoundsException {
+    Objects.checkFromToIndex(from, to, size());
+    for (int i = from; i < to; i++) {
+      remove(from);
+    }
+  }
+
+  /**
+   * Makes room for at least the given number of elements, so that growing
+   * the list up to that size needs no further resizing. The default
+   * implementation does nothing.
+   *
+   * @param capacity The number of elements the list should be able to hold.
+   */
+  default void ensureCapacity(int capacity) {
+  }
+
+  /**
+   * Returns an iterator over the elements in list order.
+   *
+   * @return an iterator starting at index 0
+   */
+  default Iterator<E> iterator() {
+    return iterator(0);
+  }
+
+  /**
+   * Returns an iterator over the elements from the given index on, such as
+   * the lines from a cursor down. The iterator fails fast: it throws a
+   * ConcurrentModificationException once the list was changed other than
+   * through set. The default implementation calls get for every element and
+   * only detects changes of the size.
+   *
+   * @param from The index of the first element returned.
+   * @return an iterator starting at from
+   * @throws IndexOutOfBoundsException If from is negative or greater than
+   *                                   size().
+   */
+  default Iterator<E> iterator(int from) throws IndexOutOfBoundsException {
+    Objects.checkIndex(from, size() + 1);
+    return new IndexedIterator<>(this, from);
+  }
+
+  /**
+   * Returns a SIZED and SUBSIZED spliterator over the elements, which
+   * splits the index range in halves, so a parallel stream hands each core
+   * an equal run of elements. It binds to the list on first use and fails
+   * fast like the iterator. The default implementation calls get for every
+   * element, from several threads at once in a parallel stream, so a list
+   * whose get changes shared state, such as a cache, must override it.
+   *
+   * @return a spliterator over the elements in list order
+   */
+  @Override
+  default Spliterator<E> spliterator() {
+    return new IndexedSpliterator<>(this, 0, -1, 0);
+  }
+
+  /**
+   * Returns a sequential stream of the elements.
+   *
+   * @return a stream in list order
+   */
+  default Stream<E> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  /**
+   * Returns a possibly parallel stream of the elements.
+   *
+   * @return a parallel stream in list order
+   */
+  default Stream<E> parallelStream() {
+    return StreamSupport.stream(spliterator(), true);
+  }
+}
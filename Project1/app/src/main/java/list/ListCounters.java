@@ -0,0 +1,61 @@
+package list;
+
+/**
+ * Counts the work an array-based list does behind its operations: how often
+ * its array had to be resized, and how many elements were moved to open or
+ * close a slot. An ArrayBackedList or a GapBufferList reports to the counters
+ * given to its setCounters method; lists without counters pay nothing.
+ *
+ * <p>The counters are plain fields, updated without locking or memory
+ * barriers, as the lists themselves are not thread-safe. Another thread,
+ * such as a monitoring tool, can read them at any time, but only on a
+ * best-effort basis: it may see stale counts, and a long field may be read
+ * torn (JLS 17.7).
+ *
+ * @version 1.0.0
+ */
+public final class ListCounters {
+
+    /**
+     * The number of times an array was resized.
+     */
+    private long expansions = 0;
+    /**
+     * The number of elements moved by insertions and removals.
+     */
+    private long elementsMoved = 0;
+
+    /**
+     * Returns the number of times an array was resized.
+     *
+     * @return the number of resizes
+     */
+    public long expansions() {
+        return expansions;
+    }
+
+    /**
+     * Returns the number of elements moved to open or close a slot.
+     *
+     * @return the number of elements moved
+     */
+    public long elementsMoved() {
+        return elementsMoved;
+    }
+
+    /**
+     * Records a resize.
+     */
+    void expanded() {
+        expansions++;
+    }
+
+    /**
+     * Records elements moved.
+     *
+     * @param count The number of elements moved.
+     */
+    void moved(int count) {
+        elementsMoved += count;
+    }
+}
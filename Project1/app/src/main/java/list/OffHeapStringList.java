@@ -0,0 +1,48 @@
+package list;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A CompactStringList whose slabs are direct buffers, outside the Java heap.
+ * The heap only holds the index of the groups of elements, about half a
+ * byte per element in three primitive arrays, and one small object per
+ * slab, so the garbage collector has next to nothing to trace however large
+ * the document grows, and documents larger than the heap fit as long as
+ * there is memory for them.
+ *
+ * <p>Direct memory is capped by -XX:MaxDirectMemorySize, which defaults to
+ * the maximum heap size; raise it to hold documents larger than the heap.
+ *
+ * @version 1.0.0
+ * @see CompactStringList
+ */
+public class OffHeapStringList extends CompactStringList {
+
+    /** Default slab size in bytes, larger since direct buffers are costly to allocate. */
+    public static final int SLAB_SIZE = 64 << 20;
+
+    /** Creates an off-heap list with the default slab size. */
+    public OffHeapStringList() {
+        this(SLAB_SIZE);
+    }
+
+    /**
+     * Creates an off-heap list with the given slab size.
+     *
+     * @param slabSize The size of a slab in bytes.
+     */
+    public OffHeapStringList(int slabSize) {
+        super(slabSize);
+    }
+
+    /**
+     * Allocates a slab outside the Java heap.
+     *
+     * @param capacity The size of the slab in bytes.
+     * @return A new direct buffer of the given capacity.
+     */
+    @Override
+    protected ByteBuffer allocateSlab(int capacity) {
+        return ByteBuffer.allocateDirect(capacity);
+    }
+}
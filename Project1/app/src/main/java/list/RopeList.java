@@ -0,0 +1,422 @@
+package list;
+
+import java.util.Arrays;
+
+/**
+ * Realization of a list by means of a rope: a height-balanced (AVL) binary
+ * tree whose nodes each hold a small chunk of consecutive elements. Every node
+ * also records how many elements live in its subtree, so locating, inserting
+ * or removing the element at an index walks a single root-to-node path and
+ * costs O(log n), no matter how large the list grows.
+ *
+ * <p>Because elements are stored in chunks of up to {@link #CHUNK_CAPACITY},
+ * the per-element overhead is one array slot plus a small share of a node.
+ *
+ * <p>{@link #snapshot} returns a read-only copy of the list in O(1). The copy
+ * shares every node with the list; afterwards, an edit copies the nodes on
+ * its root-to-node path instead of changing them (path copying), so the
+ * snapshot never changes and can be read by other threads while the list
+ * is being edited. Every node remembers the owner token of the list that
+ * created it, and only nodes carrying the list's current token are changed
+ * in place.
+ *
+ * @see IndexOutOfBoundsException
+ * @see List
+ */
+public class RopeList<E> implements List<E> {
+
+    /** Maximum number of elements stored in a single node. */
+    public static final int CHUNK_CAPACITY = 64;
+
+    /** Root of the tree, or null if the list is empty. */
+    private Node<E> root;
+
+    /** Token of the nodes this list may change in place; null if read-only. */
+    private Object owner = new Object();
+
+    /** Creates an empty rope. */
+    public RopeList() {
+    }
+
+    /** Creates a read-only rope sharing the given tree. */
+    private RopeList(Node<E> root) {
+        this.root = root;
+        this.owner = null;
+    }
+
+    /**
+     * Returns a read-only snapshot of the list in O(1). The snapshot shares
+     * all nodes with this list, which copies a node before its next change
+     * to it, so later edits of this list never show in the snapshot.
+     *
+     * @return a snapshot of the current elements
+     * @throws UnsupportedOperationException if this list is a snapshot
+     */
+    public RopeList<E> snapshot() throws UnsupportedOperationException {
+        checkWritable();
+        owner = new Object(); // every existing node is now shared
+        return new RopeList<>(root);
+    }
+
+    /**
+     * Returns the number of elements in the list.
+     *
+     * @return number of elements in the list
+     */
+    public int size() {
+        return total(root);
+    }
+
+    /**
+     * Tests whether the list is empty.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Returns (but does not remove) the element at index i.
+     *
+     * @param index The index of the element to return.
+     * @return The element at the specified index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public E get(int index) throws IndexOutOfBoundsException {
+        checkIndex(index, size());
+        Node<E> node = root;
+        while (true) {
+            int left = total(node.left);
+            if (index < left) {
+                node = node.left;
+            } else if (index < left + node.count) {
+                return node.items[index - left];
+            } else {
+                index -= left + node.count;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Replaces the element at the specified index, and returns the element
+     * previously stored.
+     *
+     * @param index   The index of the element to replace.
+     * @param element The new element to be stored.
+     * @return the previously stored element
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public E set(int index, E element) throws IndexOutOfBoundsException {
+        checkWritable();
+        checkIndex(index, size());
+        root = mutable(root);
+        Node<E> node = root;
+        while (true) {
+            int left = total(node.left);
+            if (index < left) {
+                node.left = mutable(node.left);
+                node = node.left;
+            } else if (index < left + node.count) {
+                E previously = node.items[index - left];
+                node.items[index - left] = element;
+                return previously;
+            } else {
+                index -= left + node.count;
+                node.right = mutable(node.right);
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Inserts the given element at the specified index of the list. Only the
+     * chunk receiving the element is shifted; a full chunk is split in two.
+     *
+     * @param index   The index at which the new element should be stored.
+     * @param element the new element to be stored
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()
+     */
+    public void add(int index, E element) throws IndexOutOfBoundsException {
+        checkWritable();
+        checkIndex(index, size() + 1);
+        root = insert(root, index, element);
+    }
+
+    /**
+     * Removes and returns the element at the given index. A chunk that
+     * becomes empty is unlinked from the tree.
+     *
+     * @param index The index of the element to be removed.
+     * @return The element that had be stored at the given index.
+     * @throws IndexOutOfBoundsException if the index is negative or greater
+     *                                   than size()-1
+     */
+    public E remove(int index) throws IndexOutOfBoundsException {
+        checkWritable();
+        E previously = get(index);
+        root = delete(root, index);
+        return previously;
+    }
+
+    /** Checks whether the given index is in the range [0, n-1]. */
+    protected void checkIndex(int index, int range) throws IndexOutOfBoundsException {
+        if (index < 0 || index >= range) {
+            throw new IndexOutOfBoundsException("Illegal index: " + index);
+        }
+    }
+
+    /** Checks that this list is not a read-only snapshot. */
+    private void checkWritable() throws UnsupportedOperationException {
+        if (owner == null) {
+            throw new UnsupportedOperationException("Snapshot is read-only");
+        }
+    }
+
+    /**
+     * Returns the given node if this list may change it in place, or else a
+     * copy of it that this list owns.
+     */
+    private Node<E> mutable(Node<E> node) {
+        return (node == null || node.owner == owner) ? node : new Node<>(node, owner);
+    }
+
+    /**
+     * Inserts an element into the given subtree.
+     *
+     * @return The new root of the subtree.
+     */
+    private Node<E> insert(Node<E> node, int index, E element) {
+        if (node == null) {
+            return new Node<>(element, owner);
+        }
+        node = mutable(node);
+        int left = total(node.left);
+        int offset = index - left;
+        if (offset < 0) {
+            node.left = insert(node.left, index, element);
+        } else if (offset <= node.count && node.count < CHUNK_CAPACITY) {
+            System.arraycopy(node.items, offset, node.items, offset + 1, node.count - offset);
+            node.items[offset] = element;
+            node.count++;
+        } else if (offset < node.count) {
+            // Full chunk: move its upper half into a new successor node, then retry
+            node.right = insertFirst(node.right, node.split(owner));
+            update(node);
+            return insert(node, index, element);
+        } else {
+            // Appending past a full chunk starts a new one, so sequential loads stay dense
+            node.right = insert(node.right, offset - node.count, element);
+        }
+        return balance(node);
+    }
+
+    /**
+     * Links a detached node in as the first node of the given subtree.
+     *
+     * @return The new root of the subtree.
+     */
+    private Node<E> insertFirst(Node<E> node, Node<E> first) {
+        if (node == null) {
+            return first;
+        }
+        node = mutable(node);
+        node.left = insertFirst(node.left, first);
+        return balance(node);
+    }
+
+    /**
+     * Removes the element at the given index of the subtree.
+     *
+     * @return The new root of the subtree.
+     */
+    private Node<E> delete(Node<E> node, int index) {
+        node = mutable(node);
+        int left = total(node.left);
+        int offset = index - left;
+        if (offset < 0) {
+            node.left = delete(node.left, index);
+        } else if (offset < node.count) {
+            System.arraycopy(node.items, offset + 1, node.items, offset, node.count - offset - 1);
+            node.items[--node.count] = null; // help garbage collection
+            if (node.count == 0) {
+                return unlink(node);
+            }
+        } else {
+            node.right = delete(node.right, offset - node.count);
+        }
+        return balance(node);
+    }
+
+    /**
+     * Removes an (empty) node from the tree, replacing it by its in-order
+     * successor when it has two children.
+     *
+     * @return The new root of the subtree the node headed.
+     */
+    private Node<E> unlink(Node<E> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        Node<E> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        successor = mutable(successor);
+        successor.right = deleteFirst(node.right);
+        successor.left = node.left;
+        return balance(successor);
+    }
+
+    /**
+     * Detaches the first node of the given subtree.
+     *
+     * @return The new root of the subtree.
+     */
+    private Node<E> deleteFirst(Node<E> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node = mutable(node);
+        node.left = deleteFirst(node.left);
+        return balance(node);
+    }
+
+    /**
+     * Restores the AVL invariant at the given node, assuming both subtrees
+     * already satisfy it.
+     *
+     * @return The new root of the subtree.
+     */
+    private Node<E> balance(Node<E> node) {
+        update(node);
+        int skew = height(node.left) - height(node.right);
+        if (skew > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (skew < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    /** Rotates the left child of the given node up into its place. */
+    private Node<E> rotateRight(Node<E> node) {
+        node = mutable(node);
+        Node<E> pivot = mutable(node.left);
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    /** Rotates the right child of the given node up into its place. */
+    private Node<E> rotateLeft(Node<E> node) {
+        node = mutable(node);
+        Node<E> pivot = mutable(node.right);
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    /** Recomputes the cached height and element total of a node. */
+    private static void update(Node<?> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.total = total(node.left) + node.count + total(node.right);
+    }
+
+    /** Returns the height of a subtree, 0 for an empty one. */
+    private static int height(Node<?> node) {
+        return (node == null) ? 0 : node.height;
+    }
+
+    /** Returns the number of elements in a subtree, 0 for an empty one. */
+    private static int total(Node<?> node) {
+        return (node == null) ? 0 : node.total;
+    }
+
+    /**
+     * A tree node holding one chunk of consecutive elements.
+     */
+    private static class Node<E> {
+
+        /** The chunk of elements, in list order. */
+        private E[] items;
+        /** Number of elements used in the chunk. */
+        private int count;
+        /** Number of elements in the subtree rooted at this node. */
+        private int total;
+        /** Height of the subtree rooted at this node. */
+        private int height = 1;
+        /** Subtree of the elements before this chunk. */
+        private Node<E> left;
+        /** Subtree of the elements after this chunk. */
+        private Node<E> right;
+        /** Token of the list allowed to change this node in place. */
+        private final Object owner;
+
+        /**
+         * Creates a leaf node holding a single element.
+         *
+         * @param element The element to store.
+         * @param owner   The token of the list creating the node.
+         */
+        @SuppressWarnings("unchecked") // safe cast
+        Node(E element, Object owner) {
+            items = (E[]) new Object[CHUNK_CAPACITY];
+            items[0] = element;
+            count = 1;
+            total = 1;
+            this.owner = owner;
+        }
+
+        /**
+         * Creates a copy of a node, sharing its children.
+         *
+         * @param node  The node to copy.
+         * @param owner The token of the list the copy belongs to.
+         */
+        Node(Node<E> node, Object owner) {
+            items = node.items.clone();
+            count = node.count;
+            total = node.total;
+            height = node.height;
+            left = node.left;
+            right = node.right;
+            this.owner = owner;
+        }
+
+        /**
+         * Moves the upper half of this chunk into a new, detached node.
+         *
+         * @param owner The token of the list the new node belongs to.
+         * @return The node holding the upper half.
+         */
+        Node<E> split(Object owner) {
+            int half = count / 2;
+            Node<E> upper = new Node<>(items[half], owner);
+            System.arraycopy(items, half + 1, upper.items, 1, count - half - 1);
+            upper.count = count - half;
+            upper.total = upper.count;
+            Arrays.fill(items, half, count, null); // help garbage collection
+            count = half;
+            return upper;
+        }
+    }
+}
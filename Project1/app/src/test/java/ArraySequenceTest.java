@@ -1,6 +1,13 @@
 import org.junit.jupiter.api.Test;
 
+import list.Position;
+
+import java.util.Iterator;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -166,4 +173,92 @@ class ArraySequenceTest {
         as.addLast('Z');
         assertEquals(as.toString(), "{(0,X),(1,Y),(2,Z)}");
     }
+
+    /**
+     * A test for positions keeping their index after insertions and
+     * removals in front of them.
+     */
+    @Test
+    void positionsFollowEdits() {
+        ArraySequence<Character> as = getCollection();
+        Position<Character> b = as.atIndex(1);
+
+        as.add(0, '<');
+        as.add(1, '-');
+        assertEquals(3, as.indexOf(b));
+        assertEquals('A', as.before(b).getElement());
+        assertEquals('C', as.after(b).getElement());
+
+        as.remove(0);
+        assertEquals(2, as.indexOf(b));
+        assertEquals("{(0,-),(1,A),(2,B),(3,C)}", as.toString());
+    }
+
+    /**
+     * A test for inserting next to a position and navigating to the ends.
+     */
+    @Test
+    void addBeforeAndAfter() {
+        ArraySequence<Character> as = getCollection();
+        Position<Character> b = as.atIndex(1);
+
+        Position<Character> before = as.addBefore(b, 'x');
+        Position<Character> after = as.addAfter(b, 'y');
+        assertEquals("{(0,A),(1,x),(2,B),(3,y),(4,C)}", as.toString());
+        assertEquals(before, as.before(b));
+        assertEquals(after, as.after(b));
+        assertNull(as.before(as.first()));
+        assertNull(as.after(as.last()));
+    }
+
+    /**
+     * A test for a removed position being rejected afterwards.
+     */
+    @Test
+    void removedPositionIsInvalid() {
+        ArraySequence<Character> as = getCollection();
+        Position<Character> b = as.atIndex(1);
+
+        assertEquals('B', as.remove(b));
+        assertThrows(IllegalStateException.class, b::getElement);
+        assertThrows(IllegalArgumentException.class, () -> as.indexOf(b));
+        assertThrows(IllegalArgumentException.class, () -> new ArraySequence<Character>().indexOf(as.first()));
+    }
+
+    /**
+     * A test for bulk insertion and removal keeping positions in step.
+     */
+    @Test
+    void bulkOperations() {
+        ArraySequence<Character> as = getCollection();
+        Position<Character> c = as.last();
+
+        as.addAll(1, new Character[]{'x', 'y', 'z'}, 0, 3);
+        assertEquals(5, as.indexOf(c));
+        Position<Character> y = as.atIndex(2);
+
+        as.removeRange(1, 4);
+        assertEquals("{(0,A),(1,B),(2,C)}", as.toString());
+        assertEquals(2, as.indexOf(c));
+        assertThrows(IllegalStateException.class, y::getElement);
+    }
+
+    /**
+     * A test for iterating over the elements, and streaming them.
+     */
+    @Test
+    void iteration() {
+        ArraySequence<Character> as = getCollection();
+        StringBuilder seen = new StringBuilder();
+        for (char element : as) {
+            seen.append(element);
+        }
+        assertEquals("ABC", seen.toString());
+
+        Iterator<Character> from = as.iterator(1);
+        assertEquals('B', from.next());
+        assertEquals('C', from.next());
+        assertEquals("ABC", as.parallelStream().map(String::valueOf).collect(Collectors.joining()));
+        assertEquals("{}", new ArraySequence<String>().toString());
+    }
 }
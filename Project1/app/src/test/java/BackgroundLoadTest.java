@@ -0,0 +1,150 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test class for opening a document in the background.
+ *
+ * @version 1.0.0
+ */
+class BackgroundLoadTest {
+
+    /**
+     * The number of lines in the test document, many blocks' worth.
+     */
+    private static final int LINES = 100_000;
+
+    /**
+     * A temporary directory for the documents.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Writes a document of numbered lines.
+     *
+     * @return The path of the file.
+     * @throws IOException if the file could not be written.
+     */
+    private Path document() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            text.append(" line ").append(i).append("\r\n");
+        }
+        Path file = directory.resolve("document.txt");
+        Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /**
+     * A test for reading a whole document, trimmed, into the editor.
+     */
+    @Test
+    void opensWholeDocument() throws Exception {
+        MyTextEditor editor = EditorUtilities.openAsync(document());
+        editor.awaitLoaded();
+
+        assertFalse(editor.isLoading());
+        assertEquals(LINES, editor.size());
+        for (int i = 0; i < LINES; i += 997) {
+            editor.moveCursorToLine(i);
+            assertEquals("line " + i, editor.getAtCursor());
+        }
+        assertFalse(editor.undo(), "loading is not an edit");
+    }
+
+    /**
+     * A test that the lines can be read while the document is arriving, and
+     * that size() only ever grows.
+     */
+    @Test
+    void progressiveAvailability() throws Exception {
+        MyTextEditor editor = EditorUtilities.openAsync(document());
+        int seen = 0;
+        while (editor.isLoading()) {
+            int size = editor.size();
+            assertTrue(size >= seen);
+            if (size > 0) {
+                editor.moveCursorToLine(size - 1);
+                assertEquals("line " + (size - 1), editor.getAtCursor());
+            }
+            seen = size;
+            Thread.yield();
+        }
+        assertEquals(LINES, editor.size());
+    }
+
+    /**
+     * A test for editing before the document is loaded: the lines still
+     * arriving go to the end of the text.
+     */
+    @Test
+    void editsWhileLoading() throws Exception {
+        MyTextEditor editor = EditorUtilities.openAsync(document());
+        editor.moveCursorToLine(-1);
+        editor.insertAfterCursor("header");
+        editor.awaitLoaded();
+
+        assertEquals(LINES + 1, editor.size());
+        editor.moveCursorToLine(0);
+        assertEquals("header", editor.getAtCursor());
+        editor.moveCursorToLine(LINES);
+        assertEquals("line " + (LINES - 1), editor.getAtCursor());
+
+        assertTrue(editor.undo());
+        assertEquals(LINES, editor.size());
+    }
+
+    /**
+     * A test for a document that cannot be read.
+     */
+    @Test
+    void missingFile() {
+        MyTextEditor editor = EditorUtilities.openAsync(directory.resolve("missing.txt"));
+        assertThrows(IOException.class, editor::awaitLoaded);
+        assertFalse(editor.isLoading());
+        assertEquals(0, editor.size());
+    }
+
+    /**
+     * A test for stopping a load early.
+     */
+    @Test
+    void cancel() throws Exception {
+        BackgroundLoad load = new BackgroundLoad(document(), new DocumentLoader(DocumentLoader.LineEndings.TRIM));
+        load.cancel();
+        load.await();
+        assertTrue(load.isDone());
+        assertTrue(load.linesRead() <= LINES);
+
+        MyTextEditor editor = new MyTextEditor(new ArraySequence<>(), load);
+        assertFalse(editor.isLoading());
+        assertEquals(load.linesRead(), editor.size());
+    }
+
+    /**
+     * A test for stopping a load through the editor opened with openAsync.
+     */
+    @Test
+    void cancelThroughEditor() throws Exception {
+        MyTextEditor editor = EditorUtilities.openAsync(document());
+        editor.cancelLoad();
+        editor.awaitLoaded();
+
+        assertFalse(editor.isLoading());
+        assertTrue(editor.size() <= LINES);
+        for (int i = 0; i < editor.size(); i++) {
+            editor.moveCursorToLine(i);
+            assertEquals("line " + i, editor.getAtCursor());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+import list.List;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * A test class for the ConcurrentTextEditor class.
+ *
+ * @version 1.0.0
+ */
+class ConcurrentTextEditorTest {
+
+    /**
+     * A test for snapshots keeping the lines they were taken with.
+     */
+    @Test
+    void snapshotIsImmutable() {
+        ConcurrentTextEditor editor = new ConcurrentTextEditor();
+        editor.insertAfterCursor("A");
+        editor.insertAfterCursor("B");
+        List<String> before = editor.snapshot();
+        assertSame(before, editor.snapshot());
+
+        editor.replaceAtCursor("b");
+        editor.insertAfterCursor("C");
+        assertEquals(2, before.size());
+        assertEquals("B", before.get(1));
+        assertEquals(3, editor.snapshot().size());
+        assertEquals("b", editor.snapshot().get(1));
+        assertEquals("A\nb\nC", editor.toString());
+    }
+
+    /**
+     * A test for readers only ever seeing complete states while a writer
+     * keeps editing: line i of every snapshot holds the number i.
+     */
+    @Test
+    void readersSeeConsistentSnapshots() throws InterruptedException {
+        ConcurrentTextEditor editor = new ConcurrentTextEditor();
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread[] readers = new Thread[3];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                int seen = 0;
+                while (seen < 20_000) {
+                    List<String> lines = editor.snapshot();
+                    for (int i = 0; i < lines.size(); i++) {
+                        if (!lines.get(i).equals(String.valueOf(i))) {
+                            failure.set("line " + i + " was " + lines.get(i));
+                            return;
+                        }
+                    }
+                    seen = Math.max(seen, lines.size());
+                }
+            });
+            readers[r].start();
+        }
+        for (int i = 0; i < 20_000; i++) {
+            editor.insertAfterCursor(String.valueOf(i));
+            editor.replaceAtCursor(new String(String.valueOf(i)));
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(failure.get());
+    }
+}
@@ -0,0 +1,162 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test class for the CursorSet class and the multi-cursor edits of
+ * MyTextEditor.
+ *
+ * @version 1.0.0
+ */
+class CursorSetTest {
+
+    /**
+     * Builds an editor holding the given lines, with the cursor on the last one.
+     *
+     * @param lines The lines of text.
+     * @return The new editor.
+     */
+    private MyTextEditor getEditor(String... lines) {
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertAllAfterCursor(lines);
+        return editor;
+    }
+
+    /**
+     * A test for keeping the cursors sorted and merging duplicates.
+     */
+    @Test
+    void sortedSet() {
+        CursorSet cursors = new CursorSet();
+        assertTrue(cursors.add(5));
+        assertTrue(cursors.add(1));
+        assertFalse(cursors.add(5));
+        cursors.addAll(new int[]{0, 1, 3, 9});
+        assertArrayEquals(new int[]{0, 1, 3, 5, 9}, cursors.toArray());
+        assertTrue(cursors.contains(3));
+        assertTrue(cursors.remove(3));
+        assertEquals(4, cursors.size());
+        assertEquals(9, cursors.get(3));
+        assertThrows(IllegalArgumentException.class, () -> cursors.addAll(new int[]{2, 1}));
+    }
+
+    /**
+     * A test for cursors staying on their lines while single lines are
+     * inserted and removed above them, and merging when their lines go.
+     */
+    @Test
+    void followsEdits() {
+        MyTextEditor editor = getEditor("A", "B", "C", "D", "E");
+        editor.addCursors(new int[]{1, 3, 4});
+        editor.moveCursorToLine(0);
+        editor.insertBeforeCursor("top");
+        assertArrayEquals(new int[]{2, 4, 5}, editor.cursorLines());
+        editor.moveCursorToLine(3);
+        editor.insertAfterCursor("C2");
+        assertArrayEquals(new int[]{2, 5, 6}, editor.cursorLines());
+
+        editor.moveCursorToLine(5);
+        editor.removeAtCursor(); // D goes, its cursor moves to E
+        assertArrayEquals(new int[]{2, 5}, editor.cursorLines());
+        editor.moveCursorToLine(5);
+        editor.removeAtCursor(); // E goes, its cursor moves to the last line
+        assertArrayEquals(new int[]{2, 4}, editor.cursorLines());
+        assertEquals("top\nA\nB\nC\nC2", editor.toString());
+
+        assertThrows(IndexOutOfBoundsException.class, () -> editor.addCursor(5));
+    }
+
+    /**
+     * A test for a column edit at every cursor, and undoing it in one step.
+     */
+    @Test
+    void replaceAtCursors() {
+        MyTextEditor editor = getEditor("int a = 1", "// a", "int b = 2", "int c = 3");
+        editor.addCursors(editor.findLines("int"));
+        editor.replaceAtCursors(line -> line + ";");
+        assertEquals("int a = 1;\n// a\nint b = 2;\nint c = 3;", editor.toString());
+        assertArrayEquals(new int[]{0, 2, 3}, editor.cursorLines());
+
+        assertTrue(editor.undo());
+        assertEquals("int a = 1\n// a\nint b = 2\nint c = 3", editor.toString());
+        assertArrayEquals(new int[]{0, 2, 3}, editor.cursorLines());
+    }
+
+    /**
+     * A test for inserting after every cursor, which moves each cursor to
+     * the line it inserted, and for undo and redo shifting the cursors.
+     */
+    @Test
+    void insertAfterCursors() {
+        MyTextEditor editor = getEditor("A", "B", "C");
+        editor.addCursor(0);
+        editor.addCursor(2);
+        editor.insertAfterCursors("-");
+        assertEquals("A\n-\nB\nC\n-", editor.toString());
+        assertArrayEquals(new int[]{1, 4}, editor.cursorLines());
+
+        editor.moveCursorToLine(2);
+        editor.removeAtCursor();
+        assertArrayEquals(new int[]{1, 3}, editor.cursorLines());
+        assertTrue(editor.undo());
+        assertArrayEquals(new int[]{1, 4}, editor.cursorLines());
+        assertTrue(editor.redo());
+        assertArrayEquals(new int[]{1, 3}, editor.cursorLines());
+    }
+
+    /**
+     * A test for removing the line at every cursor, with cursors on adjacent
+     * lines and on the last line merging.
+     */
+    @Test
+    void removeAtCursors() {
+        MyTextEditor editor = getEditor("A", "B", "C", "D", "E", "F");
+        editor.addCursors(new int[]{1, 2, 4, 5});
+        editor.moveCursorToLine(3);
+        editor.removeAtCursors();
+        assertEquals("A\nD", editor.toString());
+        assertArrayEquals(new int[]{1}, editor.cursorLines());
+        assertEquals(1, editor.cursorLineNum());
+
+        editor.removeAtCursors();
+        editor.removeAtCursors();
+        assertEquals("", editor.toString());
+        assertEquals(0, editor.cursorLines().length);
+    }
+
+    /**
+     * A test comparing edits at many cursors with the same edits made one
+     * cursor at a time, from the bottom of the text up.
+     */
+    @Test
+    void matchesSequentialEdits() {
+        Random random = new Random(5);
+        String[] lines = new String[500];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = "line " + i;
+        }
+        MyTextEditor multi = getEditor(lines);
+        MyTextEditor single = getEditor(lines);
+        for (int i = 0; i < 100; i++) {
+            multi.addCursor(random.nextInt(lines.length));
+        }
+        int[] cursors = multi.cursorLines();
+        multi.replaceAtCursors(line -> line + ";");
+        multi.insertAfterCursors("inserted");
+        for (int c = cursors.length - 1; c >= 0; c--) {
+            single.moveCursorToLine(cursors[c]);
+            single.replaceAtCursor(single.getAtCursor() + ";");
+            single.insertAfterCursor("inserted");
+        }
+        assertEquals(single.toString(), multi.toString());
+        for (int c = 0; c < cursors.length; c++) {
+            assertEquals(cursors[c] + c + 1, multi.cursorLines()[c]);
+        }
+    }
+}
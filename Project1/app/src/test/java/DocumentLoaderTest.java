@@ -0,0 +1,131 @@
+import list.ArrayBackedList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A test class for the DocumentLoader class.
+ *
+ * @version 1.0.0
+ */
+class DocumentLoaderTest {
+
+    /**
+     * A temporary directory for the documents.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Writes the given bytes to a file.
+     *
+     * @param bytes The content of the file.
+     * @return The path of the file.
+     * @throws IOException if the file could not be written.
+     */
+    private Path write(byte[] bytes) throws IOException {
+        Path file = directory.resolve("document.txt");
+        Files.write(file, bytes);
+        return file;
+    }
+
+    /**
+     * Reads the given UTF-8 text with the given line endings.
+     */
+    private String[] read(String text, DocumentLoader.LineEndings endings) throws IOException {
+        return new DocumentLoader(endings).read(write(text.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * A test for the three ways of treating line endings.
+     */
+    @Test
+    void lineEndings() throws IOException {
+        String text = "  one \r\ntwo\rthree\n\n\t\u00fcn\u00efcode \n";
+        assertArrayEquals(new String[]{"one", "two", "three", "", "\u00fcn\u00efcode"},
+                read(text, DocumentLoader.LineEndings.TRIM));
+        assertArrayEquals(new String[]{"  one \r", "two\rthree", "", "\t\u00fcn\u00efcode "},
+                read(text, DocumentLoader.LineEndings.KEEP));
+        assertArrayEquals(new String[]{"  one ", "two", "three", "", "\t\u00fcn\u00efcode "},
+                read(text, DocumentLoader.LineEndings.NORMALIZE));
+
+        assertArrayEquals(new String[]{"a", ""}, read("a\r\r\n", DocumentLoader.LineEndings.NORMALIZE));
+        assertArrayEquals(new String[0], read("", DocumentLoader.LineEndings.TRIM));
+    }
+
+    /**
+     * A test for a "\r\n" and a multi-byte character split between two
+     * chunks of the file.
+     */
+    @Test
+    void chunkBoundaries() throws IOException {
+        String first = "x".repeat(DocumentLoader.CHUNK_SIZE - 1);
+        assertArrayEquals(new String[]{first, "next"}, read(first + "\r\nnext", DocumentLoader.LineEndings.NORMALIZE));
+
+        String second = "y".repeat(DocumentLoader.CHUNK_SIZE - 1) + "\u00e9";
+        assertArrayEquals(new String[]{second, "end"}, read(second + "\nend", DocumentLoader.LineEndings.KEEP));
+    }
+
+    /**
+     * A test for reading a Latin-1 file.
+     */
+    @Test
+    void latin1() throws IOException {
+        Path file = write("caf\u00e9\n\u00ff".getBytes(StandardCharsets.ISO_8859_1));
+        assertArrayEquals(new String[]{"caf\u00e9", "\u00ff"},
+                new DocumentLoader(DocumentLoader.LineEndings.TRIM, StandardCharsets.ISO_8859_1).read(file));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DocumentLoader(DocumentLoader.LineEndings.TRIM, StandardCharsets.UTF_16));
+    }
+
+    /**
+     * A test for matching readAllLines followed by trimming every line.
+     */
+    @Test
+    void matchesReadAllLines() throws IOException, URISyntaxException {
+        Path initial = Path.of(DocumentLoaderTest.class.getResource("/initial.txt").toURI());
+        String[] expected = Files.readAllLines(initial).stream().map(String::trim).toArray(String[]::new);
+        assertArrayEquals(expected, new DocumentLoader(DocumentLoader.LineEndings.TRIM).read(initial));
+    }
+
+    /**
+     * A test for a parallel read, over several ranges, giving the same lines
+     * as a sequential one, appended after the lines already in the list.
+     */
+    @Test
+    void parallelMatchesSequential() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; text.length() < 7 * DocumentLoader.RANGE_SIZE / 2; i++) {
+            text.append(i % 3 == 0 ? " caf\u00e9 " : "line ").append(i).append(i % 5 == 0 ? "\r\n" : "\n");
+        }
+        Path file = write(text.toString().getBytes(StandardCharsets.UTF_8));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (DocumentLoader.LineEndings endings : DocumentLoader.LineEndings.values()) {
+                DocumentLoader loader = new DocumentLoader(endings);
+                String[] expected = loader.read(file);
+                ArrayBackedList<String> lines = new ArrayBackedList<>();
+                lines.add(0, "existing");
+                loader.read(file, lines, pool);
+
+                assertEquals(expected.length + 1, lines.size(), endings.toString());
+                assertEquals("existing", lines.get(0));
+                for (int i = 0; i < expected.length; i++) {
+                    assertEquals(expected[i], lines.get(i + 1), endings + " line " + i);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test class for searching and replacing with DocumentSearch and MyTextEditor.
+ *
+ * @version 1.0.0
+ */
+class DocumentSearchTest {
+
+    /**
+     * The number of lines of the test document, spanning several chunks.
+     */
+    private static final int LINES = 5 * DocumentSearch.CHUNK_LINES + 17;
+
+    /**
+     * A temporary directory for the mapped file.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Builds an editor whose line i reads "line i", with "key" appended to
+     * every line divisible by 1000.
+     *
+     * @return The new editor.
+     */
+    private MyTextEditor getEditor() {
+        String[] lines = new String[LINES];
+        for (int i = 0; i < LINES; i++) {
+            lines[i] = (i % 1000 == 0 && i > 0) ? "line " + i + " key key" : "line " + i;
+        }
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertAllAfterCursor(lines);
+        return editor;
+    }
+
+    /**
+     * A test for finding the first match, and for a pattern without matches.
+     */
+    @Test
+    void findFirst() {
+        MyTextEditor editor = getEditor();
+        DocumentSearch.Match match = editor.find(Pattern.compile("key"));
+        assertEquals(1000, match.getLine());
+        assertEquals(10, match.getColumn());
+        assertEquals(3, match.getLength());
+        assertEquals("(1000,10)", match.toString());
+
+        assertEquals(LINES - 1, editor.find(Pattern.compile("line " + (LINES - 1) + "$")).getLine());
+        assertNull(editor.find(Pattern.compile("missing")));
+        assertNull(new MyTextEditor().find(Pattern.compile("key")));
+    }
+
+    /**
+     * A test for every match coming back in document order.
+     */
+    @Test
+    void findAllInOrder() {
+        Iterator<DocumentSearch.Match> hits = getEditor().findAll(Pattern.compile("key"));
+        for (int line = 1000; line < LINES; line += 1000) {
+            int column = ("line " + line + " ").length();
+            for (int k = 0; k < 2; k++) {
+                assertTrue(hits.hasNext());
+                DocumentSearch.Match match = hits.next();
+                assertEquals(line, match.getLine());
+                assertEquals(column + 4 * k, match.getColumn());
+            }
+        }
+        assertFalse(hits.hasNext());
+    }
+
+    /**
+     * A test for replacing with group references, undone in one step.
+     */
+    @Test
+    void replaceAll() {
+        MyTextEditor editor = getEditor();
+        String before = editor.toString();
+
+        assertEquals(LINES / 1000, editor.replaceAll(Pattern.compile("(\\d+) (key)"), "$2=$1"));
+        editor.moveCursorToLine(2000);
+        assertEquals("line key=2000 key", editor.getAtCursor());
+        assertNull(editor.find(Pattern.compile("\\d key key")));
+
+        assertTrue(editor.undo());
+        assertEquals(before, editor.toString());
+    }
+
+    /**
+     * A test for searching a mapped document.
+     *
+     * @throws IOException if the file cannot be written or mapped.
+     */
+    @Test
+    void searchMappedDocument() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            text.append("row ").append(i).append('\n');
+        }
+        Path file = directory.resolve("rows.txt");
+        Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+
+        DocumentSearch search = new DocumentSearch(EditorUtilities.mapDocument(file));
+        assertEquals(12345, search.find(Pattern.compile("^row 12345$")).getLine());
+        int count = 0;
+        for (Iterator<DocumentSearch.Match> hits = search.findAll(Pattern.compile("7$")); hits.hasNext(); hits.next()) {
+            count++;
+        }
+        assertEquals((LINES + 2) / 10, count);
+    }
+}
@@ -0,0 +1,163 @@
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test class for saving documents through the DocumentWriter class.
+ *
+ * @version 1.0.0
+ */
+class DocumentWriterTest {
+
+    /**
+     * A temporary directory for the saved files.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * A test for saving an editor held in memory.
+     */
+    @Test
+    void saveEditor() throws IOException {
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertAllAfterCursor(new String[]{"first", "", "caf\u00e9 \u2603"});
+
+        Path target = directory.resolve("saved.txt");
+        editor.save(target);
+        assertEquals("first\n\ncaf\u00e9 \u2603\n", Files.readString(target, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A test for saving an edited mapped document over its own source, which
+     * keeps the untouched lines byte for byte.
+     */
+    @Test
+    void saveMappedOverSource() throws IOException {
+        Path source = directory.resolve("source.txt");
+        Files.writeString(source, "keep\nchange\r\nkeep too\nlast", StandardCharsets.UTF_8);
+
+        MyTextEditor editor = new MyTextEditor(EditorUtilities.mapDocument(source));
+        editor.moveCursorToLine(1);
+        editor.replaceAtCursor("changed");
+        editor.save(source);
+
+        assertEquals("keep\nchanged\nkeep too\nlast\n", Files.readString(source, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A test that the edited lines of a mapped document get the "\r\n" line
+     * terminator of its source file.
+     */
+    @Test
+    void saveMappedKeepsCarriageReturns() throws IOException {
+        Path source = directory.resolve("crlf.txt");
+        Files.writeString(source, "keep\r\nchange\r\nkeep too\r\nlast", StandardCharsets.UTF_8);
+
+        MyTextEditor editor = new MyTextEditor(EditorUtilities.mapDocument(source));
+        editor.moveCursorToLine(1);
+        editor.replaceAtCursor("changed");
+        editor.insertAfterCursor("added");
+        editor.save(source);
+
+        assertEquals("keep\r\nchanged\r\nadded\r\nkeep too\r\nlast\r\n", Files.readString(source, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A test for a run of unchanged lines long enough to be transferred.
+     */
+    @Test
+    void transferLongRun() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) {
+            text.append("log line number ").append(i).append('\n');
+        }
+        Path source = directory.resolve("long.txt");
+        Files.writeString(source, text, StandardCharsets.UTF_8);
+
+        MyTextEditor editor = new MyTextEditor(EditorUtilities.mapDocument(source));
+        editor.insertAfterCursor("header");
+        Path target = directory.resolve("copy.txt");
+        editor.save(target);
+
+        assertEquals("header\n" + text, Files.readString(target, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A test for saving a mapped document over its source twice: the long
+     * unchanged runs of the second save must still come from the file the
+     * document was opened from, not from the first save.
+     */
+    @Test
+    void saveTwiceOverSource() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 40_000; i++) {
+            text.append("log line number ").append(i).append('\n');
+        }
+        Path source = directory.resolve("twice.txt");
+        Files.writeString(source, text, StandardCharsets.UTF_8);
+
+        MyTextEditor editor = new MyTextEditor(EditorUtilities.mapDocument(source));
+        editor.moveCursorToLine(0);
+        editor.replaceAtCursor("first edit");
+        editor.save(source);
+        editor.moveCursorToLine(1);
+        editor.replaceAtCursor("second edit");
+        editor.save(source);
+        Path copy = directory.resolve("twice copy.txt");
+        editor.save(copy);
+
+        String expected = "first edit\nsecond edit\n" + text.substring(text.indexOf("log line number 2\n"));
+        assertEquals(expected, Files.readString(source, StandardCharsets.UTF_8));
+        assertEquals(expected, Files.readString(copy, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A test for saving over a file, which keeps the file's permissions.
+     */
+    @Test
+    void saveKeepsPermissions() throws IOException {
+        Assumptions.assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        Path target = directory.resolve("shared.txt");
+        Files.writeString(target, "old\n", StandardCharsets.UTF_8);
+        Files.setPosixFilePermissions(target, PosixFilePermissions.fromString("rw-r--r--"));
+
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertAllAfterCursor(new String[]{"new"});
+        editor.save(target);
+        assertEquals("new\n", Files.readString(target, StandardCharsets.UTF_8));
+        assertEquals("rw-r--r--", PosixFilePermissions.toString(Files.getPosixFilePermissions(target)));
+    }
+
+    /**
+     * A test for saving through a symbolic link, which keeps the link and
+     * replaces the file it points to.
+     */
+    @Test
+    void saveThroughLink() throws IOException {
+        Path target = directory.resolve("real.txt");
+        Files.writeString(target, "old\n", StandardCharsets.UTF_8);
+        Path link = directory.resolve("link.txt");
+        try {
+            Files.createSymbolicLink(link, target.getFileName());
+        } catch (UnsupportedOperationException | IOException e) {
+            Assumptions.assumeTrue(false);
+        }
+
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertAllAfterCursor(new String[]{"new"});
+        editor.save(link);
+        assertTrue(Files.isSymbolicLink(link));
+        assertEquals("new\n", Files.readString(target, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,317 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test class for batched edits on MyTextEditor.
+ *
+ * @version 1.0.0
+ */
+class EditBatchTest {
+
+    /**
+     * Builds an editor holding the given lines, with the cursor on the last one.
+     *
+     * @param lines The lines of text.
+     * @return The new editor.
+     */
+    private MyTextEditor getEditor(String... lines) {
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertAllAfterCursor(lines);
+        return editor;
+    }
+
+    /**
+     * A test for line numbers referring to the text before the batch.
+     */
+    @Test
+    void originalLineNumbers() {
+        MyTextEditor editor = getEditor("A", "B", "C", "D");
+        editor.moveCursorToLine(2);
+        editor.batch(b -> {
+            b.insertAfter(-1, "top");
+            b.remove(0);
+            b.insertAfter(0, "a1");
+            b.insertAfter(0, "a2");
+            b.replace(2, "c");
+            b.insertAfter(3, "end");
+        });
+
+        assertEquals("top\na1\na2\nB\nc\nD\nend", editor.toString());
+        assertEquals(4, editor.cursorLineNum());
+    }
+
+    /**
+     * A test for the last replace or remove of a line deciding its fate.
+     */
+    @Test
+    void lastEditWins() {
+        MyTextEditor editor = getEditor("A", "B");
+        editor.batch(b -> {
+            b.replace(0, "x");
+            b.remove(0);
+            b.remove(1);
+            b.replace(1, "y");
+        });
+
+        assertEquals("y", editor.toString());
+    }
+
+    /**
+     * A test for a batch being undone and redone in one step.
+     */
+    @Test
+    void undoBatch() {
+        MyTextEditor editor = getEditor("A", "B", "C");
+        editor.batch(b -> {
+            b.replace(0, "a");
+            b.remove(1);
+            b.insertAfter(2, "D");
+        });
+        assertEquals("a\nC\nD", editor.toString());
+
+        assertTrue(editor.undo());
+        assertEquals("A\nB\nC", editor.toString());
+        assertEquals(2, editor.cursorLineNum());
+        assertTrue(editor.redo());
+        assertEquals("a\nC\nD", editor.toString());
+    }
+
+    /**
+     * A test for invalid lines and failing actions leaving the text alone.
+     */
+    @Test
+    void failedBatch() {
+        MyTextEditor editor = getEditor("A", "B");
+        assertThrows(IndexOutOfBoundsException.class, () -> editor.batch(b -> {
+            b.replace(0, "x");
+            b.remove(2);
+        }));
+        assertThrows(IndexOutOfBoundsException.class, () -> editor.batch(b -> b.insertAfter(-2, "x")));
+
+        assertEquals("A\nB", editor.toString());
+    }
+
+    /**
+     * A test comparing random batches with applying the same edits one by
+     * one from the bottom of the text to the top.
+     */
+    @Test
+    void matchesBottomUpEdits() {
+        Random random = new Random(9);
+        for (int round = 0; round < 200; round++) {
+            int size = 1 + random.nextInt(20);
+            String[] lines = new String[size];
+            for (int i = 0; i < size; i++) {
+                lines[i] = "L" + i;
+            }
+            int edits = random.nextInt(12);
+            int[] kinds = new int[edits];
+            int[] targets = new int[edits];
+            for (int i = 0; i < edits; i++) {
+                kinds[i] = random.nextInt(3);
+                targets[i] = (kinds[i] == 2) ? random.nextInt(size + 1) - 1 : random.nextInt(size);
+            }
+
+            MyTextEditor editor = getEditor(lines);
+            editor.batch(b -> {
+                for (int i = 0; i < edits; i++) {
+                    switch (kinds[i]) {
+                        case 0 -> b.replace(targets[i], "R" + i);
+                        case 1 -> b.remove(targets[i]);
+                        default -> b.insertAfter(targets[i], "I" + i);
+                    }
+                }
+            });
+
+            ArrayList<String> expected = new ArrayList<>(java.util.List.of(lines));
+            for (int line = size - 1; line >= -1; line--) {
+                int at = line + 1;
+                for (int i = 0; i < edits; i++) {
+                    if (kinds[i] == 2 && targets[i] == line) {
+                        expected.add(at++, "I" + i);
+                    }
+                }
+                for (int i = edits - 1; i >= 0 && line >= 0; i--) {
+                    if (kinds[i] != 2 && targets[i] == line) {
+                        if (kinds[i] == 0) {
+                            expected.set(line, "R" + i);
+                        } else {
+                            expected.remove(line);
+                        }
+                        break;
+                    }
+                }
+            }
+            assertEquals(String.join("\n", expected).trim(), editor.toString());
+        }
+    }
+
+    /**
+     * A test comparing the default batch, which applies the edits one at a
+     * time through the cursor, with the single pass of MyTextEditor, for the
+     * text and the cursor.
+     */
+    @Test
+    void defaultBatchMatchesBulkPath() {
+        Random random = new Random(11);
+        for (int round = 0; round < 200; round++) {
+            int size = random.nextInt(20);
+            String[] lines = new String[size];
+            for (int i = 0; i < size; i++) {
+                lines[i] = "L" + i;
+            }
+            int edits = random.nextInt(12);
+            int[] kinds = new int[edits];
+            int[] targets = new int[edits];
+            for (int i = 0; i < edits; i++) {
+                kinds[i] = (size == 0) ? 2 : random.nextInt(3);
+                targets[i] = (kinds[i] == 2) ? random.nextInt(size + 1) - 1 : random.nextInt(size);
+            }
+            int cursor = (size == 0) ? -1 : random.nextInt(size);
+
+            MyTextEditor bulk = getEditor(lines);
+            OneByOne oneByOne = new OneByOne(getEditor(lines));
+            for (SimpleTextEditor editor : new SimpleTextEditor[]{bulk, oneByOne}) {
+                if (cursor >= 0) {
+                    editor.moveCursorToLine(cursor);
+                }
+                editor.batch(b -> {
+                    for (int i = 0; i < edits; i++) {
+                        switch (kinds[i]) {
+                            case 0 -> b.replace(targets[i], "R" + i);
+                            case 1 -> b.remove(targets[i]);
+                            default -> b.insertAfter(targets[i], "I" + i);
+                        }
+                    }
+                });
+            }
+            assertEquals(bulk.toString(), oneByOne.editor.toString());
+            if (cursor >= 0) { // the cursor methods cannot go back to line -1
+                assertEquals(bulk.cursorLineNum(), oneByOne.cursorLineNum());
+            }
+        }
+    }
+
+    /**
+     * An editor that forwards every method but batch to a MyTextEditor, so
+     * that it gets the default batch.
+     */
+    private static final class OneByOne implements SimpleTextEditor {
+
+        /**
+         * The editor the methods are forwarded to.
+         */
+        private final MyTextEditor editor;
+
+        /**
+         * A OneByOne constructor.
+         *
+         * @param editor The editor to forward to.
+         */
+        OneByOne(MyTextEditor editor) {
+            this.editor = editor;
+        }
+
+        public boolean isEmpty() {
+            return editor.isEmpty();
+        }
+
+        public int size() {
+            return editor.size();
+        }
+
+        public boolean isCursorAtLastLine() {
+            return editor.isCursorAtLastLine();
+        }
+
+        public void cursorDown() {
+            editor.cursorDown();
+        }
+
+        public void cursorUp() {
+            editor.cursorUp();
+        }
+
+        public void moveCursorToLine(int line) {
+            editor.moveCursorToLine(line);
+        }
+
+        public int cursorLineNum() {
+            return editor.cursorLineNum();
+        }
+
+        public void insertAfterCursor(String insertion) {
+            editor.insertAfterCursor(insertion);
+        }
+
+        public void insertBeforeCursor(String insertion) {
+            editor.insertBeforeCursor(insertion);
+        }
+
+        public String getAtCursor() {
+            return editor.getAtCursor();
+        }
+
+        public void replaceAtCursor(String replacement) {
+            editor.replaceAtCursor(replacement);
+        }
+
+        public void removeAtCursor() {
+            editor.removeAtCursor();
+        }
+    }
+
+    /**
+     * A test for a batch journaling only the lines it edited: replacing two
+     * lines far apart keeps the older history, and random batches undo and
+     * redo to the exact text.
+     */
+    @Test
+    void undoSparseBatch() {
+        String[] lines = new String[50_000];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = "L" + i;
+        }
+        MyTextEditor editor = getEditor(lines);
+        editor.moveCursorToLine(0);
+        editor.replaceAtCursor("first");
+        editor.batch(b -> {
+            b.replace(0, "x");
+            b.replace(40_000, "y");
+        });
+        assertTrue(editor.undo());
+        assertEquals("first", editor.getAtCursor());
+        assertTrue(editor.undo());
+        assertEquals(String.join("\n", lines), editor.toString());
+
+        Random random = new Random(4);
+        MyTextEditor small = getEditor("A", "B", "C", "D", "E", "F", "G", "H");
+        for (int round = 0; round < 200; round++) {
+            String before = small.toString();
+            int size = small.size();
+            small.batch(b -> {
+                for (int i = random.nextInt(6); i >= 0; i--) {
+                    switch (random.nextInt(3)) {
+                        case 0 -> b.replace(random.nextInt(size), "R" + i);
+                        case 1 -> b.remove(random.nextInt(size));
+                        default -> b.insertAfter(random.nextInt(size + 1) - 1, "I" + i);
+                    }
+                }
+            });
+            String after = small.toString();
+            assertTrue(small.undo());
+            assertEquals(before, small.toString());
+            assertTrue(small.redo());
+            assertEquals(after, small.toString());
+            if (small.size() < 4) {
+                small.insertAllAfterCursor(new String[]{"x", "y", "z"});
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test class for undo and redo in MyTextEditor, backed by the EditJournal class.
+ *
+ * @version 1.0.0
+ */
+class EditJournalTest {
+
+    /**
+     * Builds an editor holding the lines A, B and C, with the cursor on C.
+     *
+     * @return The new editor.
+     */
+    private MyTextEditor getEditor() {
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertAllAfterCursor(new String[]{"A", "B", "C"});
+        return editor;
+    }
+
+    /**
+     * A test for undoing and redoing every kind of edit, one at a time.
+     */
+    @Test
+    void undoRedoEachEdit() {
+        MyTextEditor editor = getEditor();
+        editor.moveCursorToLine(1);
+        editor.replaceAtCursor("b");
+        editor.removeAtCursor();
+        editor.insertBeforeCursor("x");
+        assertEquals("A\nC\nx", editor.toString());
+
+        assertTrue(editor.undo());
+        assertEquals("A\nC", editor.toString());
+        assertTrue(editor.undo());
+        assertEquals("A\nb\nC", editor.toString());
+        assertEquals(1, editor.cursorLineNum());
+        assertTrue(editor.undo());
+        assertEquals("A\nB\nC", editor.toString());
+        assertTrue(editor.undo());
+        assertTrue(editor.isEmpty());
+        assertFalse(editor.undo());
+
+        assertTrue(editor.redo());
+        assertTrue(editor.redo());
+        assertTrue(editor.redo());
+        assertTrue(editor.redo());
+        assertEquals("A\nC\nx", editor.toString());
+        assertFalse(editor.redo());
+    }
+
+    /**
+     * A test for a run of lines inserted one after another being undone as
+     * a single edit.
+     */
+    @Test
+    void coalesceInserts() {
+        MyTextEditor editor = getEditor();
+        editor.moveCursorToLine(0);
+        editor.insertAfterCursor("1");
+        editor.insertAfterCursor("2");
+        editor.insertAfterCursor("3");
+        assertEquals("A\n1\n2\n3\nB\nC", editor.toString());
+
+        assertTrue(editor.undo());
+        assertEquals("A\nB\nC", editor.toString());
+        assertEquals(0, editor.cursorLineNum());
+        assertTrue(editor.redo());
+        assertEquals("A\n1\n2\n3\nB\nC", editor.toString());
+        assertEquals(3, editor.cursorLineNum());
+    }
+
+    /**
+     * A test for a new edit discarding the edits that could be redone.
+     */
+    @Test
+    void newEditDropsRedo() {
+        MyTextEditor editor = getEditor();
+        editor.moveCursorToLine(0);
+        editor.replaceAtCursor("a");
+        editor.undo();
+        editor.replaceAtCursor("z");
+
+        assertFalse(editor.redo());
+        assertEquals("z\nB\nC", editor.toString());
+    }
+
+    /**
+     * A test that inserting no lines records nothing and keeps the redo
+     * history.
+     */
+    @Test
+    void emptyInsertIsNotRecorded() {
+        MyTextEditor editor = getEditor();
+        editor.moveCursorToLine(0);
+        editor.replaceAtCursor("a");
+        editor.undo();
+        editor.insertAllAfterCursor(new String[0]);
+
+        assertTrue(editor.redo());
+        assertEquals("a\nB\nC", editor.toString());
+
+        MyTextEditor empty = new MyTextEditor();
+        empty.insertAllAfterCursor(new String[0]);
+        assertFalse(empty.undo());
+    }
+
+    /**
+     * A test for the oldest edits being forgotten once the journal is full.
+     */
+    @Test
+    void capacityIsCapped() {
+        EditJournal journal = new EditJournal(2, 4);
+        list.List<String> lines = new list.ArrayBackedList<>();
+        lines.add(0, "a");
+        for (int i = 0; i < 5; i++) {
+            String previous = lines.set(0, "v" + i);
+            journal.recordReplace(0, previous, "v" + i, 0, 0);
+        }
+
+        journal.undo(lines);
+        journal.undo(lines);
+        assertFalse(journal.canUndo());
+        assertEquals("v2", lines.get(0));
+    }
+}
@@ -1,6 +1,12 @@
+import list.GapBufferList;
+import list.RopeList;
 import org.junit.jupiter.api.Test;
 
+import java.util.Iterator;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -70,6 +76,75 @@ public class EditorTest {
                 """, editor);
     }
 
+    /**
+     * Running the same document edits on an editor backed by a gap buffer.
+     */
+    @Test
+    void testEditorOnGapBuffer() {
+        verifyStages(new MyTextEditor(new GapBufferList<>()));
+    }
+
+    /**
+     * Running the same document edits on an editor backed by a rope.
+     */
+    @Test
+    void testEditorOnRope() {
+        verifyStages(new MyTextEditor(new RopeList<>()));
+    }
+
+    /**
+     * Loading a document with one bulk insertion, verifying it matches line-by-line loading.
+     */
+    @Test
+    void testBulkInsert() {
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertAfterCursor("first");
+        editor.insertAllAfterCursor(EditorUtilities.readResourceFile("initial.txt"));
+        editor.insertAfterCursor("last");
+
+        SimpleTextEditor expected = new MyTextEditor();
+        expected.insertAfterCursor("first");
+        applyInitialState(expected);
+        expected.insertAfterCursor("last");
+
+        assertEquals(expected.toString(), editor.toString());
+        assertEquals(expected.cursorLineNum(), editor.cursorLineNum());
+    }
+
+    /**
+     * Walking the lines from the cursor down, and streaming all lines.
+     */
+    @Test
+    void testLinesFromCursor() {
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertAllAfterCursor(new String[]{"A", "B", "C", "D"});
+        editor.moveCursorToLine(2);
+        Iterator<String> lines = editor.linesFromCursor();
+        assertEquals("C", lines.next());
+        assertEquals("D", lines.next());
+        assertFalse(lines.hasNext());
+
+        editor.moveCursorToLine(-1);
+        assertEquals("A", editor.linesFromCursor().next());
+        assertEquals("A,B,C,D", editor.lines().parallel().collect(Collectors.joining(",")));
+    }
+
+    /**
+     * Applying all three document stages to the editor, verifying the content after each one.
+     *
+     * @param editor the text-editor object.
+     */
+    private void verifyStages(SimpleTextEditor editor) {
+        applyInitialState(editor);
+        assertEquals(getText("initial.txt"), editor.toString());
+
+        applyMiddleState(editor);
+        assertEquals(getText("middle.txt"), editor.toString());
+
+        applyFinalState(editor);
+        assertEquals(getText("final.txt"), editor.toString());
+    }
+
     /**
      * Join the array line with newlines to make it look like a file document.
      *
@@ -0,0 +1,84 @@
+import list.OffHeapStringList;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test class for the document loaders in the EditorUtilities class.
+ *
+ * @version 1.0.0
+ */
+class EditorUtilitiesTest {
+
+    /**
+     * A temporary directory for the documents.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Writes the given text to a file.
+     *
+     * @param text The content of the file.
+     * @return The path of the file.
+     * @throws IOException if the file could not be written.
+     */
+    private Path write(String text) throws IOException {
+        Path file = directory.resolve("document.txt");
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /**
+     * A test for reading off-heap, splitting on every kind of line ending,
+     * with and without a final one.
+     */
+    @Test
+    void readOffHeap() throws IOException {
+        OffHeapStringList lines = EditorUtilities.readOffHeap(write("first\r\nsecond\n\nfourth \u00fcn\u00efcode"));
+        assertEquals(4, lines.size());
+        assertEquals("first", lines.get(0));
+        assertEquals("second", lines.get(1));
+        assertEquals("", lines.get(2));
+        assertEquals("fourth \u00fcn\u00efcode", lines.get(3));
+
+        assertEquals(2, EditorUtilities.readOffHeap(write("a\nb\n")).size());
+        assertTrue(EditorUtilities.readOffHeap(write("")).isEmpty());
+    }
+
+    /**
+     * A test for lines longer than the chunks the file is read in.
+     */
+    @Test
+    void readOffHeapLongLines() throws IOException {
+        String longLine = "x".repeat(3 << 20);
+        OffHeapStringList lines = EditorUtilities.readOffHeap(write("short\n" + longLine + "\nend"));
+        assertEquals(3, lines.size());
+        assertEquals(longLine, lines.get(1));
+        assertEquals("end", lines.get(2));
+    }
+
+    /**
+     * A test for an editor backed by an off-heap document.
+     */
+    @Test
+    void offHeapBacksEditor() throws IOException {
+        Path initial = write(String.join("\n", EditorUtilities.readResourceFile("initial.txt")));
+
+        MyTextEditor editor = new MyTextEditor(EditorUtilities.readOffHeap(initial));
+        MyTextEditor expected = new MyTextEditor();
+        expected.insertAllAfterCursor(EditorUtilities.readResourceFile("initial.txt"));
+        assertEquals(expected.toString(), editor.toString());
+
+        new EditorTest().applyMiddleState(editor);
+        new EditorTest().applyMiddleState(expected);
+        assertEquals(expected.toString(), editor.toString());
+    }
+}
@@ -0,0 +1,126 @@
+import org.junit.jupiter.api.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.RuntimeMBeanException;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test class for the InstrumentedTextEditor and EditorMetrics classes.
+ *
+ * @version 1.0.0
+ */
+class InstrumentedTextEditorTest {
+
+    /**
+     * Builds an instrumented editor on an ArraySequence whose counters report
+     * to the same metrics.
+     *
+     * @param samplePeriod    The number of calls per timed call.
+     * @param countNavigation Whether to count the cursor moves and queries.
+     * @return The editor.
+     */
+    private InstrumentedTextEditor getEditor(int samplePeriod, boolean countNavigation) {
+        ArraySequence<String> lines = new ArraySequence<>(2);
+        EditorMetrics metrics = new EditorMetrics(samplePeriod, countNavigation);
+        lines.setCounters(metrics.lists());
+        return new InstrumentedTextEditor(new MyTextEditor(lines), metrics);
+    }
+
+    /**
+     * A test that calls are passed on and counted, and that the line store
+     * reports its resizes and moves.
+     */
+    @Test
+    void countsCalls() {
+        InstrumentedTextEditor editor = getEditor(1, false);
+        editor.insertAfterCursor("B");
+        editor.insertAfterCursor("C");
+        editor.insertBeforeCursor("b");
+        editor.moveCursorToLine(0);
+        editor.insertBeforeCursor("A");
+        editor.cursorDown();
+        editor.cursorDown();
+        editor.replaceAtCursor("B");
+        assertEquals("B", editor.getAtCursor());
+        assertEquals(4, editor.size());
+        assertEquals("A\nB\nb\nC", editor.toString());
+
+        EditorMetrics metrics = editor.metrics();
+        assertEquals(2, metrics.calls(EditorMetrics.Operation.INSERT_AFTER_CURSOR));
+        assertEquals(2, metrics.calls(EditorMetrics.Operation.INSERT_BEFORE_CURSOR));
+        assertEquals(1, metrics.calls(EditorMetrics.Operation.TO_STRING));
+        assertEquals(0, metrics.calls(EditorMetrics.Operation.REMOVE_AT_CURSOR));
+        assertEquals(0, metrics.calls(EditorMetrics.Operation.CURSOR_DOWN));
+        assertEquals(2, metrics.latency(EditorMetrics.Operation.INSERT_AFTER_CURSOR).count());
+        assertTrue(metrics.lists().expansions() >= 1);
+        assertTrue(metrics.lists().elementsMoved() >= 2);
+    }
+
+    /**
+     * A test that only one edit in the sample period is timed, and cursor
+     * moves are only counted, when asked for.
+     */
+    @Test
+    void samplesLatencies() {
+        InstrumentedTextEditor editor = getEditor(4, true);
+        editor.insertAfterCursor("A");
+        for (int i = 0; i < 10; i++) {
+            editor.replaceAtCursor("B");
+            editor.moveCursorToLine(0);
+        }
+        assertEquals(10, editor.metrics().calls(EditorMetrics.Operation.REPLACE_AT_CURSOR));
+        assertEquals(3, editor.metrics().latency(EditorMetrics.Operation.REPLACE_AT_CURSOR).count());
+        assertEquals(10, editor.metrics().calls(EditorMetrics.Operation.MOVE_CURSOR_TO_LINE));
+        assertEquals(0, editor.metrics().latency(EditorMetrics.Operation.MOVE_CURSOR_TO_LINE).count());
+
+        assertThrows(IllegalArgumentException.class, () -> new EditorMetrics(3));
+        assertThrows(IllegalArgumentException.class, () -> new EditorMetrics(0));
+    }
+
+    /**
+     * A test for the JSON export.
+     */
+    @Test
+    void json() {
+        InstrumentedTextEditor editor = getEditor(1, false);
+        editor.insertAfterCursor("A");
+        editor.removeAtCursor();
+
+        String json = editor.metrics().toJson();
+        assertTrue(json.startsWith("{\"samplePeriod\":1,\"countNavigation\":false,\"operations\":{\"isEmpty\":{\"calls\":0,"),
+                json);
+        assertTrue(json.contains("\"insertAfterCursor\":{\"calls\":1,\"samples\":1,"), json);
+        assertTrue(json.contains("\"removeAtCursor\":{\"calls\":1,"), json);
+        assertTrue(json.contains("},\"lineStore\":{\"expansions\":0,\"elementsMoved\":"), json);
+    }
+
+    /**
+     * A test for reading the metrics over JMX.
+     */
+    @Test
+    void jmx() throws JMException {
+        InstrumentedTextEditor editor = getEditor(1, false);
+        editor.insertAfterCursor("A");
+        editor.insertAfterCursor("B");
+        editor.insertAfterCursor("C");
+
+        ObjectName name = editor.metrics().register("test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertEquals(1L, server.getAttribute(name, "Expansions"));
+            assertEquals(editor.metrics().toJson(), server.getAttribute(name, "Json"));
+            assertEquals(3L, server.invoke(name, "calls", new Object[]{"insertAfterCursor"},
+                    new String[]{String.class.getName()}));
+            assertThrows(RuntimeMBeanException.class, () -> server.invoke(name, "calls", new Object[]{"paste"},
+                    new String[]{String.class.getName()}));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test class for the LatencyHistogram class.
+ *
+ * @version 1.0.0
+ */
+class LatencyHistogramTest {
+
+    /**
+     * A test that buckets are contiguous and every value lands in a bucket
+     * whose highest value is at most 1/32 above it.
+     */
+    @Test
+    void buckets() {
+        assertEquals(1024, LatencyHistogram.BUCKETS);
+        assertEquals(LatencyHistogram.HIGHEST_VALUE, LatencyHistogram.highestValueOf(LatencyHistogram.BUCKETS - 1));
+        for (int bucket = 1; bucket < LatencyHistogram.BUCKETS; bucket++) {
+            long lowest = LatencyHistogram.highestValueOf(bucket - 1) + 1;
+            assertEquals(bucket, LatencyHistogram.bucketOf(lowest));
+            assertEquals(bucket, LatencyHistogram.bucketOf(LatencyHistogram.highestValueOf(bucket)));
+        }
+        for (long value = 1; value < LatencyHistogram.HIGHEST_VALUE; value = value * 3 / 2 + 1) {
+            long highest = LatencyHistogram.highestValueOf(LatencyHistogram.bucketOf(value));
+            assertTrue(highest >= value && highest - value <= value / 32, "value " + value);
+        }
+    }
+
+    /**
+     * A test for the percentiles, mean and maximum of recorded values.
+     */
+    @Test
+    void percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.valueAtPercentile(99));
+        for (int value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000L);
+        }
+        assertEquals(1000, histogram.count());
+        assertEquals(500_500, histogram.mean(), 1e-9);
+        assertEquals(1_000_000, histogram.max());
+        assertEquals(1_000_000, histogram.valueAtPercentile(100));
+        assertEquals(1000, histogram.valueAtPercentile(0), 1000 / 32.0);
+        assertEquals(500_000, histogram.valueAtPercentile(50), 500_000 / 32.0);
+        assertEquals(990_000, histogram.valueAtPercentile(99), 990_000 / 32.0);
+
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.max());
+        assertEquals(0, histogram.valueAtPercentile(0));
+        assertThrows(IllegalArgumentException.class, () -> histogram.valueAtPercentile(101));
+    }
+}
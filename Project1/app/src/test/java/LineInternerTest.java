@@ -0,0 +1,68 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A test class for the LineInterner class and interning in MyTextEditor.
+ *
+ * @version 1.0.0
+ */
+class LineInternerTest {
+
+    /**
+     * A test for equal lines sharing the first instance, and the counters.
+     */
+    @Test
+    void sharesEqualLines() {
+        LineInterner interner = new LineInterner();
+        String first = new String("at Frame.run(Frame.java:42)");
+        String second = new String("at Frame.run(Frame.java:42)");
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(second));
+        assertSame(first, interner.internAll(new String[]{new String(second)})[0]);
+        assertEquals(3, interner.lookups());
+        assertEquals(2, interner.hits());
+        assertEquals(2.0 / 3, interner.hitRatio(), 1e-9);
+    }
+
+    /**
+     * A test for a one-slot table keeping only the most recent line.
+     */
+    @Test
+    void bounded() {
+        LineInterner interner = new LineInterner(1);
+        String a = interner.intern(new String("a"));
+        interner.intern(new String("b"));
+
+        assertNotSame(a, interner.intern(new String("a")));
+        assertEquals(0, interner.hits());
+        assertThrows(IllegalArgumentException.class, () -> new LineInterner(0));
+    }
+
+    /**
+     * A test for an editor interning every way a line can come in.
+     */
+    @Test
+    void editorInterns() {
+        LineInterner interner = new LineInterner();
+        MyTextEditor editor = new MyTextEditor(new ArraySequence<>(), interner);
+        String blank = new String("");
+        editor.insertAllAfterCursor(new String[]{blank, new String(""), "x"});
+        editor.insertAfterCursor(new String(""));
+        editor.insertBeforeCursor(new String(""));
+        editor.moveCursorToLine(2);
+        editor.replaceAtCursor(new String(""));
+        editor.batch(edits -> edits.insertAfter(-1, new String("")));
+
+        assertEquals(6, editor.size());
+        for (int line = 0; line < editor.size(); line++) {
+            editor.moveCursorToLine(line);
+            assertSame(blank, editor.getAtCursor());
+        }
+        assertEquals(5, interner.hits());
+    }
+}
@@ -0,0 +1,140 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test class for the methods in the MappedDocument class.
+ *
+ * @version 1.0.0
+ */
+class MappedDocumentTest {
+
+    /**
+     * A temporary directory for the mapped files.
+     */
+    @TempDir
+    Path directory;
+
+    /**
+     * Writes the given text to a file and maps it.
+     *
+     * @param text The content of the file.
+     * @return The mapped document.
+     * @throws IOException if the file could not be written or mapped.
+     */
+    private MappedDocument map(String text) throws IOException {
+        Path file = directory.resolve("document.txt");
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        return EditorUtilities.mapDocument(file);
+    }
+
+    /**
+     * A test for splitting on every kind of line ending, with and without a
+     * final one.
+     */
+    @Test
+    void splitsLines() throws IOException {
+        MappedDocument document = map("first\r\nsecond\n\nfourth \u00fcn\u00efcode");
+        assertEquals(4, document.size());
+        assertEquals("first", document.get(0));
+        assertEquals("second", document.get(1));
+        assertEquals("", document.get(2));
+        assertEquals("fourth \u00fcn\u00efcode", document.get(3));
+
+        assertEquals(2, map("a\nb\n").size());
+        assertTrue(map("").isEmpty());
+    }
+
+    /**
+     * A test for editing the mapped lines through the list operations.
+     */
+    @Test
+    void edits() throws IOException {
+        MappedDocument document = map("a\nb\nc\nd\n");
+        assertEquals("b", document.set(1, "B"));
+        document.add(0, "start");
+        document.add(5, "end");
+        assertEquals("c", document.remove(3));
+        document.removeRange(0, 1);
+
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < document.size(); i++) {
+            lines.append(document.get(i)).append(',');
+        }
+        assertEquals("a,B,d,end,", lines.toString());
+    }
+
+    /**
+     * A test that the slots of removed edited lines are reused by later
+     * edits instead of piling up.
+     */
+    @Test
+    void reusesReleasedEdits() throws IOException {
+        MappedDocument document = map("a\nb\n");
+        document.set(0, "A");
+        for (int i = 0; i < 1000; i++) {
+            document.add(1, "line " + i);
+            document.set(2, "B" + i);
+            document.removeRange(1, 3);
+            document.add(1, "b");
+        }
+        assertEquals(2, document.size());
+        assertEquals("A", document.get(0));
+        assertEquals("b", document.get(1));
+        assertTrue(document.editSlots() <= 4, "slots: " + document.editSlots());
+    }
+
+    /**
+     * A test for an editor running the document stages on a mapped file.
+     */
+    @Test
+    void backsEditor() throws IOException {
+        Path initial = directory.resolve("initial.txt");
+        Files.write(initial, String.join("\n", EditorUtilities.readResourceFile("initial.txt")).getBytes(StandardCharsets.UTF_8));
+
+        MyTextEditor editor = new MyTextEditor(EditorUtilities.mapDocument(initial));
+        MyTextEditor expected = new MyTextEditor();
+        expected.insertAllAfterCursor(EditorUtilities.readResourceFile("initial.txt"));
+        assertEquals(expected.toString(), editor.toString());
+
+        new EditorTest().applyMiddleState(editor);
+        new EditorTest().applyMiddleState(expected);
+        assertEquals(expected.toString(), editor.toString());
+    }
+
+    /**
+     * A test for iterating and streaming the lines in parallel, which reads
+     * them without going through the cache of decoded lines.
+     */
+    @Test
+    void parallelStream() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            text.append("line ").append(i).append('\n');
+        }
+        MappedDocument document = map(text.toString());
+        document.set(10, "edited");
+        document.add(0, "added");
+
+        long expected = 0;
+        for (int i = 0; i < document.size(); i++) {
+            expected += document.get(i).length();
+        }
+        assertEquals(expected, document.parallelStream().mapToLong(String::length).sum());
+        Iterator<String> lines = document.iterator(11);
+        assertEquals("edited", lines.next());
+        assertEquals("line 11", lines.next());
+        document.remove(0);
+        assertThrows(ConcurrentModificationException.class, lines::next);
+    }
+}
@@ -0,0 +1,121 @@
+import list.ArrayBackedList;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A test class for the RenderCache class and rendering in MyTextEditor.
+ *
+ * @version 1.0.0
+ */
+class RenderCacheTest {
+
+    /**
+     * Builds the text of the given lines the way MyTextEditor.toString does.
+     *
+     * @param lines The lines.
+     * @return The text of all lines, trimmed.
+     */
+    private String render(ArrayBackedList<String> lines) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < lines.size(); i++) {
+            builder.append(lines.get(i)).append("\n");
+        }
+        return builder.toString().trim();
+    }
+
+    /**
+     * A test for the cached text following random edits of every kind,
+     * including bulk edits spanning several blocks.
+     */
+    @Test
+    void followsEdits() {
+        ArrayBackedList<String> lines = new ArrayBackedList<>();
+        for (int i = 0; i < 1000; i++) {
+            lines.add(i, "line " + i);
+        }
+        RenderCache cache = new RenderCache(lines);
+        ArrayBackedList<String> expected = new ArrayBackedList<>();
+        for (int i = 0; i < lines.size(); i++) {
+            expected.add(i, lines.get(i));
+        }
+
+        Random random = new Random(10);
+        for (int step = 0; step < 2000; step++) {
+            int size = expected.size();
+            switch (random.nextInt(5)) {
+                case 0 -> {
+                    int index = random.nextInt(size + 1);
+                    cache.add(index, "added " + step);
+                    expected.add(index, "added " + step);
+                }
+                case 1 -> {
+                    if (size > 0) {
+                        int index = random.nextInt(size);
+                        assertEquals(expected.remove(index), cache.remove(index));
+                    }
+                }
+                case 2 -> {
+                    if (size > 0) {
+                        int index = random.nextInt(size);
+                        assertEquals(expected.set(index, "set " + step), cache.set(index, "set " + step));
+                    }
+                }
+                case 3 -> {
+                    String[] block = new String[random.nextInt(700)];
+                    for (int i = 0; i < block.length; i++) {
+                        block[i] = step + "." + i;
+                    }
+                    int index = random.nextInt(size + 1);
+                    cache.addAll(index, block, 0, block.length);
+                    expected.addAll(index, block, 0, block.length);
+                }
+                default -> {
+                    int from = random.nextInt(size + 1);
+                    int to = from + random.nextInt(Math.min(size - from, 600) + 1);
+                    cache.removeRange(from, to);
+                    expected.removeRange(from, to);
+                }
+            }
+            if (step % 50 == 0) {
+                assertEquals(render(expected), cache.text());
+            }
+        }
+        assertEquals(render(expected), cache.text());
+    }
+
+    /**
+     * A test for the same String being returned until the next edit.
+     */
+    @Test
+    void reusesText() {
+        MyTextEditor editor = new MyTextEditor(new RenderCache(new ArraySequence<>()));
+        editor.insertAllAfterCursor(new String[]{"A", "B", "C"});
+        String text = editor.toString();
+        assertSame(text, editor.toString());
+
+        editor.moveCursorToLine(1);
+        editor.replaceAtCursor("b");
+        assertEquals("A\nb\nC", editor.toString());
+        editor.undo();
+        assertEquals("A\nB\nC", editor.toString());
+    }
+
+    /**
+     * A test for rendering a range of lines.
+     */
+    @Test
+    void renderViewport() {
+        MyTextEditor editor = new MyTextEditor();
+        editor.insertAllAfterCursor(new String[]{"A", "B", "C", "D"});
+
+        assertEquals("B\nC\n", editor.render(1, 3));
+        assertEquals("", editor.render(4, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> editor.render(2, 5));
+        assertThrows(IndexOutOfBoundsException.class, () -> editor.render(3, 2));
+    }
+}
@@ -0,0 +1,116 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A test class for the TrigramIndex class and indexed search in MyTextEditor.
+ *
+ * @version 1.0.0
+ */
+class TrigramIndexTest {
+
+    /**
+     * The words the random lines are made of.
+     */
+    private static final String[] WORDS = {"alpha", "beta", "gamma", "delta", "al", "ph", "mm"};
+
+    /**
+     * Builds a random line of a few words.
+     *
+     * @param random The source of randomness.
+     * @return The new line.
+     */
+    private String randomLine(Random random) {
+        StringBuilder line = new StringBuilder();
+        for (int i = random.nextInt(4); i >= 0; i--) {
+            line.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return line.toString();
+    }
+
+    /**
+     * Scans every line of the editor for the string.
+     *
+     * @param editor  The editor to scan.
+     * @param literal The string to look for.
+     * @return The indices of the lines containing it.
+     */
+    private int[] scan(MyTextEditor editor, String literal) {
+        int[] found = new int[editor.size()];
+        int count = 0;
+        for (int i = 0; i < editor.size(); i++) {
+            if (editor.render(i, i + 1).contains(literal)) {
+                found[count++] = i;
+            }
+        }
+        return java.util.Arrays.copyOf(found, count);
+    }
+
+    /**
+     * A test comparing indexed searches with a full scan while the text is
+     * edited in every way, enough for retired ids to be compacted.
+     */
+    @Test
+    void matchesScan() {
+        TrigramIndex index = new TrigramIndex(new ArraySequence<>());
+        MyTextEditor editor = new MyTextEditor(index);
+        MyTextEditor plain = new MyTextEditor();
+        Random random = new Random(13);
+        String[] queries = {"alpha", "ha be", "amma", "mm", "lph", "delta gamma", "zzz"};
+        for (int step = 0; step < 6000; step++) {
+            int size = editor.size();
+            int choice = random.nextInt(6);
+            if (size > 0 && choice == 0) {
+                int line = random.nextInt(size);
+                for (MyTextEditor e : new MyTextEditor[]{editor, plain}) {
+                    e.moveCursorToLine(line);
+                    e.removeAtCursor();
+                }
+            } else if (size > 0 && choice <= 2) {
+                int line = random.nextInt(size);
+                String text = randomLine(random);
+                for (MyTextEditor e : new MyTextEditor[]{editor, plain}) {
+                    e.moveCursorToLine(line);
+                    e.replaceAtCursor(text);
+                }
+            } else if (choice == 3) {
+                String[] block = {randomLine(random), randomLine(random), randomLine(random)};
+                editor.insertAllAfterCursor(block);
+                plain.insertAllAfterCursor(block);
+            } else if (choice == 4 && editor.undo()) {
+                plain.undo();
+            } else {
+                String text = randomLine(random);
+                editor.insertAfterCursor(text);
+                plain.insertAfterCursor(text);
+            }
+            if (step % 200 == 0) {
+                for (String query : queries) {
+                    assertArrayEquals(scan(plain, query), editor.findLines(query), query);
+                }
+            }
+        }
+        assertEquals(plain.toString(), editor.toString());
+        for (String query : queries) {
+            assertArrayEquals(scan(plain, query), editor.findLines(query), query);
+            assertArrayEquals(scan(plain, query), plain.findLines(query), query);
+        }
+    }
+
+    /**
+     * A test for indexing lines already in the sequence.
+     */
+    @Test
+    void indexesExistingLines() {
+        ArraySequence<String> lines = new ArraySequence<>();
+        lines.addAll(0, new String[]{"one two", "two three", "three four"}, 0, 3);
+        TrigramIndex index = new TrigramIndex(lines);
+
+        assertArrayEquals(new int[]{1, 2}, index.linesContaining("three"));
+        assertArrayEquals(new int[]{0, 1, 2}, index.linesContaining("o"));
+        assertArrayEquals(new int[]{}, index.linesContaining("five"));
+    }
+}
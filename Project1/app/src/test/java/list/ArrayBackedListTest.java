@@ -0,0 +1,182 @@
+package list;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Spliterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test class for the bulk operations of the ArrayBackedList class.
+ *
+ * @version 1.0.0
+ */
+class ArrayBackedListTest {
+
+    /**
+     * Builds the string form of a list so whole contents can be compared.
+     *
+     * @param list The list to print.
+     * @return The elements of the list joined without separators.
+     */
+    private String contents(List<Character> list) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < list.size(); i++) {
+            result.append(list.get(i));
+        }
+        return result.toString();
+    }
+
+    /**
+     * A test for inserting a block in the middle of the list, past the
+     * initial capacity.
+     */
+    @Test
+    void addAll() {
+        ArrayBackedList<Character> list = new ArrayBackedList<>(2);
+        list.add(0, 'A');
+        list.add(1, 'E');
+        list.addAll(1, new Character[]{'x', 'B', 'C', 'D', 'y'}, 1, 3);
+
+        assertEquals("ABCDE", contents(list));
+        assertEquals(5, list.size());
+    }
+
+    /**
+     * A test for removing a block from the middle of the list.
+     */
+    @Test
+    void removeRange() {
+        ArrayBackedList<Character> list = new ArrayBackedList<>();
+        list.addAll(0, new Character[]{'A', 'B', 'C', 'D', 'E'}, 0, 5);
+        list.removeRange(1, 4);
+        list.removeRange(1, 1);
+
+        assertEquals("AE", contents(list));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.removeRange(1, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(3, new Character[1], 0, 1));
+    }
+
+    /**
+     * A test for counting resizes and the elements moved by insertions and
+     * removals.
+     */
+    @Test
+    void counters() {
+        ListCounters counters = new ListCounters();
+        ArrayBackedList<Character> list = new ArrayBackedList<>(2);
+        list.setCounters(counters);
+        list.add(0, 'A');
+        list.add(1, 'C');
+        list.add(1, 'B'); // resizes, moves C
+        list.remove(0); // moves B and C
+        assertEquals(1, counters.expansions());
+        assertEquals(3, counters.elementsMoved());
+
+        list.addAll(0, new Character[]{'x', 'y'}, 0, 2); // moves B and C
+        list.removeRange(0, 1); // moves y, B and C
+        assertEquals(1, counters.expansions());
+        assertEquals(8, counters.elementsMoved());
+
+        list.setCounters(null);
+        list.add(0, 'A');
+        assertEquals(8, counters.elementsMoved());
+    }
+
+    /**
+     * A test for a shrinking policy giving the array back after mass
+     * removals, and for trimming explicitly.
+     */
+    @Test
+    void shrinks() {
+        ArrayBackedList<Integer> list = new ArrayBackedList<>(16, GrowthPolicy.DOUBLING.shrinkingBelow(4));
+        for (int i = 0; i < 1_000; i++) {
+            list.add(i, i);
+        }
+        assertEquals(1_024, list.capacity());
+        list.removeRange(100, 1_000);
+        assertEquals(200, list.capacity());
+        while (list.size() > 10) {
+            list.remove(list.size() - 1);
+        }
+        assertEquals(22, list.capacity()); // 200, 98, 48, 22
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i, list.get(i));
+        }
+
+        ArrayBackedList<Integer> doubling = new ArrayBackedList<>();
+        for (int i = 0; i < 1_000; i++) {
+            doubling.add(i, i);
+        }
+        doubling.removeRange(10, 1_000);
+        assertEquals(1_024, doubling.capacity());
+        doubling.trimToSize();
+        assertEquals(10, doubling.capacity());
+        doubling.add(10, 10);
+        assertEquals(20, doubling.capacity());
+    }
+
+    /**
+     * A test for iterating from an index, and for the iterator failing fast
+     * after a structural change but not after set.
+     */
+    @Test
+    void iterator() {
+        ArrayBackedList<Integer> list = new ArrayBackedList<>(2);
+        for (int i = 0; i < 10; i++) {
+            list.add(i, i);
+        }
+        int expected = 0;
+        for (int element : list) {
+            assertEquals(expected++, element);
+        }
+        assertEquals(10, expected);
+
+        Iterator<Integer> from = list.iterator(7);
+        assertEquals(7, from.next());
+        list.set(8, 80);
+        assertEquals(80, from.next());
+        list.remove(0);
+        assertThrows(ConcurrentModificationException.class, from::next);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.iterator(10));
+    }
+
+    /**
+     * A test for the spliterator splitting into exact halves and for
+     * parallel streams seeing every element once.
+     */
+    @Test
+    void spliterator() {
+        ArrayBackedList<Integer> list = new ArrayBackedList<>();
+        for (int i = 0; i < 10_000; i++) {
+            list.add(i, i);
+        }
+        Spliterator<Integer> suffix = list.spliterator();
+        assertTrue(suffix.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED));
+        Spliterator<Integer> prefix = suffix.trySplit();
+        assertEquals(5_000, prefix.estimateSize());
+        assertEquals(5_000, suffix.estimateSize());
+        prefix.tryAdvance(element -> assertEquals(0, element));
+        suffix.tryAdvance(element -> assertEquals(5_000, element));
+
+        assertEquals(49_995_000L, list.parallelStream().mapToLong(Integer::longValue).sum());
+        assertEquals(10_000, list.stream().distinct().count());
+
+        Spliterator<Integer> stale = list.spliterator();
+        assertThrows(ConcurrentModificationException.class, () -> stale.tryAdvance(element -> list.add(0, -1)));
+
+        ArrayBackedList<Integer> shrinking = new ArrayBackedList<>(16, GrowthPolicy.DOUBLING.shrinkingBelow(4));
+        for (int i = 0; i < 1_000; i++) {
+            shrinking.add(i, i);
+        }
+        Spliterator<Integer> upper = shrinking.spliterator();
+        Spliterator<Integer> lower = upper.trySplit();
+        shrinking.removeRange(10, 1_000);
+        assertThrows(ConcurrentModificationException.class, () -> upper.tryAdvance(element -> { }));
+        assertThrows(ConcurrentModificationException.class, () -> lower.forEachRemaining(element -> { }));
+    }
+}
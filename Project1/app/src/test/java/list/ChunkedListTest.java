@@ -0,0 +1,203 @@
+package list;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test class for the methods in the ChunkedList class.
+ *
+ * @version 1.0.0
+ */
+class ChunkedListTest {
+
+    /**
+     * A test for checking if a new list is empty.
+     */
+    @Test
+    void empty() {
+        ChunkedList<Integer> list = new ChunkedList<>();
+        assertTrue(list.isEmpty(), "Initial collection state should be empty.");
+        assertEquals(0, list.size());
+        assertEquals(0, list.blockCount());
+    }
+
+    /**
+     * A test for appending many elements, which fills whole blocks.
+     */
+    @Test
+    void appendAndGet() {
+        ChunkedList<Integer> list = new ChunkedList<>(8);
+        for (int i = 0; i < 1_000; i++) {
+            list.add(i, i);
+        }
+        assertEquals(1_000, list.size());
+        assertEquals(125, list.blockCount());
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(i, list.get(i));
+        }
+    }
+
+    /**
+     * A test comparing the list against an ArrayBackedList under a long run
+     * of mixed edits, with blocks small enough to split and merge often.
+     */
+    @Test
+    void matchesArrayBackedList() {
+        ChunkedList<Integer> list = new ChunkedList<>(8);
+        ArrayBackedList<Integer> array = new ArrayBackedList<>();
+        Random random = new Random(7);
+        Integer[] block = new Integer[20];
+        for (int step = 0; step < 20_000; step++) {
+            int size = array.size();
+            int choice = random.nextInt(8);
+            if (size > 0 && choice < 2) {
+                int index = random.nextInt(size);
+                assertEquals(array.remove(index), list.remove(index));
+            } else if (size > 0 && choice == 2) {
+                int index = random.nextInt(size);
+                assertEquals(array.set(index, step), list.set(index, step));
+            } else if (choice == 3) {
+                int from = random.nextInt(size + 1);
+                int to = from + random.nextInt(Math.min(size - from, 30) + 1);
+                array.removeRange(from, to);
+                list.removeRange(from, to);
+            } else if (choice == 4) {
+                int index = random.nextInt(size + 1);
+                int len = random.nextInt(block.length + 1);
+                for (int i = 0; i < len; i++) {
+                    block[i] = step * 100 + i;
+                }
+                array.addAll(index, block, 0, len);
+                list.addAll(index, block, 0, len);
+            } else {
+                int index = random.nextInt(size + 1);
+                array.add(index, step);
+                list.add(index, step);
+            }
+            assertEquals(array.size(), list.size());
+        }
+        for (int i = 0; i < array.size(); i++) {
+            assertEquals(array.get(i), list.get(i));
+        }
+    }
+
+    /**
+     * A test for inserting and removing a large range in the middle.
+     */
+    @Test
+    void bulkEdits() {
+        ChunkedList<Integer> list = new ChunkedList<>(16);
+        Integer[] values = new Integer[1_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        list.addAll(0, values, 0, 100);
+        list.addAll(50, values, 100, 900);
+        assertEquals(1_000, list.size());
+        for (int i = 0; i < 1_000; i++) {
+            int expected = (i < 50) ? i : (i < 950) ? i + 50 : i - 900;
+            assertEquals(expected, list.get(i));
+        }
+
+        list.removeRange(50, 950);
+        assertEquals(100, list.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, list.get(i));
+        }
+        assertTrue(list.blockCount() <= 10, "Emptied blocks should be dropped.");
+    }
+
+    /**
+     * A test that blocks are merged and the directory shrinks as the list
+     * is emptied.
+     */
+    @Test
+    void shrinks() {
+        ChunkedList<Integer> list = new ChunkedList<>(8);
+        for (int i = 0; i < 8_000; i++) {
+            list.add(i, i);
+        }
+        int capacity = list.directoryCapacity();
+        Random random = new Random(3);
+        while (list.size() > 16) {
+            list.remove(random.nextInt(list.size()));
+        }
+        assertTrue(list.blockCount() <= 8, "Blocks should stay at least a quarter full.");
+        assertTrue(list.directoryCapacity() < capacity / 16, "The directory should shrink.");
+        while (!list.isEmpty()) {
+            list.remove(0);
+        }
+        assertEquals(0, list.blockCount());
+    }
+
+    /**
+     * A test for the index and argument checks.
+     */
+    @Test
+    void illegalIndex() {
+        ChunkedList<Integer> list = new ChunkedList<>();
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(1, 1));
+        list.add(0, 1);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.removeRange(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> new ChunkedList<>(1));
+    }
+
+    /**
+     * A test for the iterator and spliterator every List gets by default.
+     */
+    @Test
+    void defaultIteration() {
+        ChunkedList<Integer> list = new ChunkedList<>(8);
+        for (int i = 0; i < 100; i++) {
+            list.add(i, i);
+        }
+        Iterator<Integer> from = list.iterator(95);
+        int sum = 0;
+        while (from.hasNext()) {
+            sum += from.next();
+        }
+        assertEquals(95 + 96 + 97 + 98 + 99, sum);
+        assertEquals(4_950L, list.parallelStream().mapToLong(Integer::longValue).sum());
+
+        Iterator<Integer> stale = list.iterator();
+        list.remove(0);
+        assertThrows(ConcurrentModificationException.class, stale::next);
+    }
+
+    /**
+     * A test for many threads reading the list right after a run of edits,
+     * which must not touch the prefix index.
+     */
+    @Test
+    void concurrentReads() {
+        Random random = new Random(11);
+        for (int round = 0; round < 20; round++) {
+            ChunkedList<Integer> list = new ChunkedList<>(8);
+            ArrayBackedList<Integer> array = new ArrayBackedList<>();
+            for (int i = 0; i < 5_000; i++) {
+                int index = random.nextInt(array.size() + 1);
+                list.add(index, i);
+                array.add(index, i);
+                if (i % 3 == 0) {
+                    index = random.nextInt(array.size());
+                    list.remove(index);
+                    array.remove(index);
+                }
+            }
+            assertTrue(IntStream.range(0, array.size()).parallel()
+                    .allMatch(i -> list.get(i).equals(array.get(i))));
+            assertEquals(array.stream().mapToLong(Integer::longValue).sum(),
+                    list.parallelStream().mapToLong(Integer::longValue).sum());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package list;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test class for the CompactStringList class.
+ *
+ * @version 1.0.0
+ */
+class CompactStringListTest {
+
+    /**
+     * Builds the string form of a list so whole contents can be compared.
+     *
+     * @param list The list to print.
+     * @return The elements of the list joined by '|'.
+     */
+    private String contents(List<String> list) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < list.size(); i++) {
+            result.append(i == 0 ? "" : "|").append(list.get(i));
+        }
+        return result.toString();
+    }
+
+    /**
+     * A test for text outside ASCII and the empty string surviving the trip
+     * through UTF-8.
+     */
+    @Test
+    void roundTrip() {
+        CompactStringList list = new CompactStringList();
+        list.add(0, "caf\u00e9");
+        list.add(1, "");
+        list.add(2, "\u65e5\u672c\ud83d\ude00");
+        list.add(0, "plain");
+
+        assertEquals("plain|caf\u00e9||\u65e5\u672c\ud83d\ude00", contents(list));
+        assertEquals("caf\u00e9", list.set(1, "cafe"));
+        assertEquals("", list.remove(2));
+        assertEquals("plain|cafe|\u65e5\u672c\ud83d\ude00", contents(list));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(4, "x"));
+    }
+
+    /**
+     * A test for the bulk operations, with elements spread over many slabs
+     * and one element larger than a slab.
+     */
+    @Test
+    void bulkOperations() {
+        CompactStringList list = new CompactStringList(8);
+        list.addAll(0, new String[]{"x", "alpha", "delta", "y"}, 1, 2);
+        list.addAll(1, new String[]{"beta", "gamma is longer than a slab"}, 0, 2);
+
+        assertEquals("alpha|beta|gamma is longer than a slab|delta", contents(list));
+        list.removeRange(1, 3);
+        assertEquals("alpha|delta", contents(list));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.removeRange(1, 3));
+    }
+
+    /**
+     * A test for replaced elements being reclaimed once their garbage
+     * outweighs the live elements.
+     */
+    @Test
+    void compaction() {
+        CompactStringList list = new CompactStringList(64);
+        for (int i = 0; i < 10; i++) {
+            list.add(i, "line " + i);
+        }
+        for (int round = 0; round < 100; round++) {
+            list.set(round % 10, "edit " + round);
+        }
+
+        assertEquals("edit 90|edit 91|edit 92|edit 93|edit 94|edit 95|edit 96|edit 97|edit 98|edit 99",
+                contents(list));
+        assertTrue(list.slabBytes() <= 4 * 64, "slabs: " + list.slabBytes());
+    }
+
+    /**
+     * A test that appending fills the groups, so the index on the heap has one
+     * entry per GROUP_SIZE elements.
+     */
+    @Test
+    void sparseIndex() {
+        CompactStringList list = new CompactStringList(4096);
+        for (int i = 0; i < 10_000; i++) {
+            byte[] line = ("line " + i).getBytes(StandardCharsets.UTF_8);
+            list.addUtf8(i, line, 0, line.length);
+        }
+        list.addAll(list.size(), new String[]{"x", "y", "z"}, 0, 3);
+
+        assertEquals(10_003, list.size());
+        assertEquals((10_003 + CompactStringList.GROUP_SIZE - 1) / CompactStringList.GROUP_SIZE, list.groupCount());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals("line " + i, list.get(i));
+        }
+        assertEquals("z", list.get(10_002));
+    }
+
+    /**
+     * A test of random edits against a java.util.ArrayList, with slabs small
+     * enough to be compacted many times, checking that groups stay dense.
+     */
+    @Test
+    void randomEdits() {
+        CompactStringList list = new CompactStringList(512);
+        java.util.List<String> expected = new ArrayList<>();
+        Random random = new Random(42);
+        for (int round = 0; round < 5_000; round++) {
+            int index = random.nextInt(expected.size() + 1);
+            switch (random.nextInt(5)) {
+                case 0, 1 -> {
+                    list.add(index, "add " + round);
+                    expected.add(index, "add " + round);
+                }
+                case 2 -> {
+                    String[] block = {"block " + round, "", "\u00e9 " + round};
+                    list.addAll(index, block, 0, block.length);
+                    expected.addAll(index, java.util.List.of(block));
+                }
+                case 3 -> {
+                    if (index < expected.size()) {
+                        assertEquals(expected.set(index, "set " + round), list.set(index, "set " + round));
+                    }
+                }
+                default -> {
+                    int to = Math.min(expected.size(), index + random.nextInt(40));
+                    list.removeRange(index, to);
+                    expected.subList(index, to).clear();
+                }
+            }
+        }
+
+        assertEquals(String.join("|", expected), contents(list));
+        assertTrue(list.groupCount() <= list.size() / 4 + 1, list.groupCount() + " groups of " + list.size());
+    }
+}
@@ -0,0 +1,224 @@
+package list;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Spliterator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test class for the methods in the GapBufferList class.
+ *
+ * @version 1.0.0
+ */
+class GapBufferListTest {
+
+    /**
+     * Builds the string form of a list so whole contents can be compared.
+     *
+     * @param list The list to print.
+     * @return The elements of the list joined without separators.
+     */
+    private String contents(List<Character> list) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < list.size(); i++) {
+            result.append(list.get(i));
+        }
+        return result.toString();
+    }
+
+    /**
+     * A test for checking if a new gap buffer is empty.
+     */
+    @Test
+    void empty() {
+        GapBufferList<Character> list = new GapBufferList<>();
+        assertTrue(list.isEmpty(), "Initial collection state should be empty.");
+        assertEquals(0, list.size());
+    }
+
+    /**
+     * A test for inserting at scattered indices, which forces the gap to move
+     * back and forth and the array to grow.
+     */
+    @Test
+    void addMovesGap() {
+        GapBufferList<Character> list = new GapBufferList<>(2);
+        list.add(0, 'B');
+        list.add(1, 'D');
+        list.add(0, 'A');
+        list.add(2, 'C');
+        list.add(4, 'E');
+
+        assertEquals("ABCDE", contents(list));
+        assertEquals(5, list.size());
+    }
+
+    /**
+     * A test for removing and replacing elements on both sides of the gap.
+     */
+    @Test
+    void removeAndSet() {
+        GapBufferList<Character> list = new GapBufferList<>();
+        for (char c = 'A'; c <= 'F'; c++) {
+            list.add(list.size(), c);
+        }
+        assertEquals('C', list.remove(2));
+        assertEquals('A', list.set(0, 'a'));
+        assertEquals('F', list.remove(4));
+        list.add(1, '!');
+
+        assertEquals("a!BDE", contents(list));
+    }
+
+    /**
+     * A test comparing the gap buffer against an ArrayBackedList under a
+     * long run of mixed edits.
+     */
+    @Test
+    void matchesArrayBackedList() {
+        GapBufferList<Character> gap = new GapBufferList<>();
+        ArrayBackedList<Character> array = new ArrayBackedList<>();
+        java.util.Random random = new java.util.Random(42);
+        for (int step = 0; step < 2000; step++) {
+            int size = array.size();
+            if (size > 0 && random.nextInt(3) == 0) {
+                int index = random.nextInt(size);
+                assertEquals(array.remove(index), gap.remove(index));
+            } else {
+                int index = random.nextInt(size + 1);
+                char value = (char) ('a' + random.nextInt(26));
+                array.add(index, value);
+                gap.add(index, value);
+            }
+        }
+        assertEquals(contents(array), contents(gap));
+    }
+
+    /**
+     * A test for the index checks.
+     */
+    @Test
+    void illegalIndex() {
+        GapBufferList<Character> list = new GapBufferList<>();
+        list.add(0, 'A');
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(2, 'B'));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(-1));
+    }
+
+    /**
+     * A test for the bulk operations on both sides of the gap.
+     */
+    @Test
+    void bulkOperations() {
+        GapBufferList<Character> list = new GapBufferList<>(2);
+        list.addAll(0, new Character[]{'A', 'D', 'E'}, 0, 3);
+        list.add(3, 'F');
+        list.addAll(1, new Character[]{'B', 'C'}, 0, 2);
+        assertEquals("ABCDEF", contents(list));
+
+        list.removeRange(4, 6);
+        list.removeRange(0, 1);
+        assertEquals("BCD", contents(list));
+    }
+
+    /**
+     * A test for counting resizes and the elements moved by sliding the gap.
+     */
+    @Test
+    void counters() {
+        ListCounters counters = new ListCounters();
+        GapBufferList<Character> list = new GapBufferList<>(2);
+        list.setCounters(counters);
+        list.add(0, 'B');
+        list.add(1, 'C');
+        list.add(0, 'A'); // resizes, slides the gap over B and C
+        list.add(1, 'b'); // next to the gap, moves nothing
+        assertEquals(1, counters.expansions());
+        assertEquals(2, counters.elementsMoved());
+
+        list.remove(3); // slides the gap over B
+        assertEquals(3, counters.elementsMoved());
+        assertEquals("AbB", contents(list));
+    }
+
+    /**
+     * A test for a shrinking policy giving the array back after mass
+     * removals around the gap, and for trimming explicitly.
+     */
+    @Test
+    void shrinks() {
+        GapBufferList<Integer> list = new GapBufferList<>(16, GrowthPolicy.fixedIncrement(100).shrinkingBelow(4));
+        for (int i = 0; i < 1_000; i++) {
+            list.add(i, i);
+        }
+        assertEquals(1_016, list.capacity());
+        list.removeRange(10, 960);
+        assertEquals(100, list.capacity());
+        list.remove(0);
+        list.add(5, -1);
+        assertEquals(100, list.capacity());
+        assertEquals(50, list.size());
+        assertEquals(960, list.get(10));
+
+        list.trimToSize();
+        assertEquals(50, list.capacity());
+        assertEquals(-1, list.get(5));
+        list.add(50, 50);
+        assertEquals(150, list.capacity());
+    }
+
+    /**
+     * A test for iterating across the gap and for failing fast.
+     */
+    @Test
+    void iterator() {
+        GapBufferList<Character> list = new GapBufferList<>(2);
+        for (char c : "ABDE".toCharArray()) {
+            list.add(list.size(), c);
+        }
+        list.add(2, 'C'); // the gap now sits after C
+        StringBuilder seen = new StringBuilder();
+        for (char c : list) {
+            seen.append(c);
+        }
+        assertEquals("ABCDE", seen.toString());
+
+        Iterator<Character> from = list.iterator(2);
+        assertEquals('C', from.next());
+        assertEquals('D', from.next());
+        list.add(0, '!');
+        assertThrows(ConcurrentModificationException.class, from::next);
+    }
+
+    /**
+     * A test for the spliterator splitting across the gap and walking both
+     * runs around it.
+     */
+    @Test
+    void spliterator() {
+        GapBufferList<Integer> list = new GapBufferList<>();
+        for (int i = 0; i < 1_000; i++) {
+            list.add(i, i);
+        }
+        list.remove(300); // the gap now sits at index 300
+        list.add(300, 300);
+
+        Spliterator<Integer> suffix = list.spliterator();
+        assertTrue(suffix.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED));
+        Spliterator<Integer> prefix = suffix.trySplit();
+        Spliterator<Integer> first = prefix.trySplit();
+        int[] next = {0};
+        first.forEachRemaining(element -> assertEquals(next[0]++, element));
+        prefix.forEachRemaining(element -> assertEquals(next[0]++, element));
+        suffix.forEachRemaining(element -> assertEquals(next[0]++, element));
+        assertEquals(1_000, next[0]);
+
+        assertEquals(499_500L, list.parallelStream().mapToLong(Integer::longValue).sum());
+    }
+}
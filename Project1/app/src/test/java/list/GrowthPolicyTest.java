@@ -0,0 +1,71 @@
+package list;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A test class for the methods in the GrowthPolicy class.
+ *
+ * @version 1.0.0
+ */
+class GrowthPolicyTest {
+
+    /**
+     * A test for geometric and fixed-increment growth.
+     */
+    @Test
+    void grow() {
+        assertEquals(32, GrowthPolicy.DOUBLING.grow(16, 17));
+        assertEquals(100, GrowthPolicy.DOUBLING.grow(16, 100));
+        assertEquals(1, GrowthPolicy.DOUBLING.grow(0, 1));
+        assertEquals(24, GrowthPolicy.geometric(1.5).grow(16, 17));
+        assertEquals(116, GrowthPolicy.fixedIncrement(100).grow(16, 17));
+        assertEquals(Integer.MAX_VALUE - 8, GrowthPolicy.DOUBLING.grow(Integer.MAX_VALUE / 2 + 1, 17));
+    }
+
+    /**
+     * A test for shrinking only below the ratio, and never below the minimum
+     * capacity.
+     */
+    @Test
+    void shrink() {
+        GrowthPolicy shrinking = GrowthPolicy.DOUBLING.shrinkingBelow(4);
+        assertEquals(1_024, GrowthPolicy.DOUBLING.shrink(1_024, 0));
+        assertEquals(1_024, shrinking.shrink(1_024, 256));
+        assertEquals(510, shrinking.shrink(1_024, 255));
+        assertEquals(GrowthPolicy.MINIMUM_CAPACITY, shrinking.shrink(1_024, 0));
+        assertEquals(GrowthPolicy.MINIMUM_CAPACITY, shrinking.shrink(GrowthPolicy.MINIMUM_CAPACITY, 0));
+    }
+
+    /**
+     * A test that removing an element right after a large growth step does
+     * not shrink the array again.
+     */
+    @Test
+    void noShrinkAfterGrowth() {
+        GrowthPolicy quadrupling = GrowthPolicy.geometric(4).shrinkingBelow(3);
+        int grown = quadrupling.grow(16, 17);
+        assertEquals(64, grown);
+        assertEquals(grown, quadrupling.shrink(grown, 16));
+        assertEquals(GrowthPolicy.MINIMUM_CAPACITY, quadrupling.shrink(grown, 5));
+
+        GrowthPolicy stepping = GrowthPolicy.fixedIncrement(1_000).shrinkingBelow(4);
+        grown = stepping.grow(16, 17);
+        assertEquals(1_016, grown);
+        assertEquals(grown, stepping.shrink(grown, 16));
+        assertEquals(30, stepping.shrink(grown, 15));
+    }
+
+    /**
+     * A test for the argument checks.
+     */
+    @Test
+    void illegalArguments() {
+        assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.geometric(1));
+        assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.geometric(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.fixedIncrement(0));
+        assertThrows(IllegalArgumentException.class, () -> GrowthPolicy.DOUBLING.shrinkingBelow(2));
+    }
+}
@@ -0,0 +1,72 @@
+package list;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A test class for the IntArrayBackedList class.
+ *
+ * @version 1.0.0
+ */
+class IntArrayBackedListTest {
+
+    /**
+     * A test for the primitive accessors agreeing with the boxed ones.
+     */
+    @Test
+    void primitiveAndBoxed() {
+        IntArrayBackedList list = new IntArrayBackedList(1);
+        list.addInt(0, 3);
+        list.add(0, 1);
+        list.addInt(1, 2);
+        list.addLast(4);
+
+        assertArrayEquals(new int[]{1, 2, 3, 4}, list.toArray(), "after inserts");
+        assertEquals(Integer.valueOf(2), list.set(1, 20));
+        assertEquals(20, list.setInt(1, 2));
+        assertEquals(Integer.valueOf(3), list.get(2));
+        assertEquals(1, list.removeInt(0));
+        assertEquals(Integer.valueOf(4), list.remove(2));
+        assertArrayEquals(new int[]{2, 3}, list.toArray(), "after removes");
+        assertThrows(IndexOutOfBoundsException.class, () -> list.getInt(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.addInt(3, 0));
+    }
+
+    /**
+     * A test for inserting and removing blocks, past the initial capacity.
+     */
+    @Test
+    void bulkOperations() {
+        IntArrayBackedList list = new IntArrayBackedList(2);
+        list.addInt(0, 1);
+        list.addInt(1, 5);
+        list.addAll(1, new int[]{9, 2, 3, 4, 9}, 1, 3);
+        list.addAll(5, new Integer[]{6, 7}, 0, 2);
+
+        assertArrayEquals(new int[]{1, 2, 3, 4, 5, 6, 7}, list.toArray(), "after inserts");
+        assertArrayEquals(new int[]{3, 4}, list.toArray(2, 4), "slice");
+        list.removeRange(1, 5);
+        assertArrayEquals(new int[]{1, 6, 7}, list.toArray(), "after removeRange");
+        assertThrows(IndexOutOfBoundsException.class, () -> list.removeRange(2, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.addAll(0, new int[2], 1, 2));
+
+        list.clear();
+        assertEquals(0, list.size());
+    }
+
+    /**
+     * A test for searching a sorted range.
+     */
+    @Test
+    void binarySearch() {
+        IntArrayBackedList list = new IntArrayBackedList();
+        list.addAll(0, new int[]{10, 20, 30, 40}, 0, 4);
+
+        assertEquals(2, list.binarySearch(0, 4, 30));
+        assertEquals(-3, list.binarySearch(0, 4, 25));
+        assertEquals(-2, list.binarySearch(1, 4, 10));
+    }
+}
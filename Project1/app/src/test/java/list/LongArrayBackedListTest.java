@@ -0,0 +1,48 @@
+package list;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * A test class for the LongArrayBackedList class.
+ *
+ * @version 1.0.0
+ */
+class LongArrayBackedListTest {
+
+    /**
+     * A test for values beyond the int range, through both kinds of accessor.
+     */
+    @Test
+    void primitiveAndBoxed() {
+        long big = 1L << 40;
+        LongArrayBackedList list = new LongArrayBackedList(1);
+        list.addLong(0, big);
+        list.add(1, -big);
+        list.addLast(7);
+
+        assertEquals(big, list.getLong(0));
+        assertEquals(Long.valueOf(-big), list.set(1, 5L));
+        assertEquals(big, list.removeLong(0));
+        assertArrayEquals(new long[]{5, 7}, list.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> list.setLong(2, 0));
+    }
+
+    /**
+     * A test for inserting and removing blocks, past the initial capacity.
+     */
+    @Test
+    void bulkOperations() {
+        LongArrayBackedList list = new LongArrayBackedList(2);
+        list.addAll(0, new long[]{1, 5}, 0, 2);
+        list.addAll(1, new long[]{2, 3, 4}, 0, 3);
+
+        assertArrayEquals(new long[]{1, 2, 3, 4, 5}, list.toArray());
+        assertEquals(3, list.binarySearch(0, 5, 4));
+        list.removeRange(0, 3);
+        assertArrayEquals(new long[]{4, 5}, list.toArray());
+    }
+}
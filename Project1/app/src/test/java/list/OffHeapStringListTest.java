@@ -0,0 +1,34 @@
+package list;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test class for the OffHeapStringList class.
+ *
+ * @version 1.0.0
+ */
+class OffHeapStringListTest {
+
+    /**
+     * A test for reading and editing elements stored in direct slabs.
+     */
+    @Test
+    void directSlabs() {
+        OffHeapStringList list = new OffHeapStringList(16);
+        assertTrue(list.allocateSlab(16).isDirect());
+
+        byte[] bytes = "xx\u00fcber".getBytes(StandardCharsets.UTF_8);
+        list.addUtf8(0, bytes, 2, bytes.length - 2);
+        list.addAll(1, new String[]{"a line longer than one slab", "b"}, 0, 2);
+        assertEquals("\u00fcber", list.get(0));
+        assertEquals("a line longer than one slab", list.set(1, "c"));
+        assertEquals("b", list.remove(2));
+        assertEquals(2, list.size());
+        assertEquals("c", list.get(1));
+    }
+}
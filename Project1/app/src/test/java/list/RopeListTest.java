@@ -0,0 +1,162 @@
+package list;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test class for the methods in the RopeList class.
+ *
+ * @version 1.0.0
+ */
+class RopeListTest {
+
+    /**
+     * A test for checking if a new rope is empty.
+     */
+    @Test
+    void empty() {
+        RopeList<Integer> rope = new RopeList<>();
+        assertTrue(rope.isEmpty(), "Initial collection state should be empty.");
+        assertEquals(0, rope.size());
+    }
+
+    /**
+     * A test for appending many elements, which has to split chunks and
+     * rebalance the tree.
+     */
+    @Test
+    void appendAndGet() {
+        RopeList<Integer> rope = new RopeList<>();
+        for (int i = 0; i < 10_000; i++) {
+            rope.add(i, i);
+        }
+        assertEquals(10_000, rope.size());
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(i, rope.get(i));
+        }
+    }
+
+    /**
+     * A test for removing every element from the front, which unlinks all
+     * chunks again.
+     */
+    @Test
+    void removeAll() {
+        RopeList<Integer> rope = new RopeList<>();
+        for (int i = 0; i < 1_000; i++) {
+            rope.add(0, i);
+        }
+        for (int i = 999; i >= 0; i--) {
+            assertEquals(i, rope.remove(0));
+        }
+        assertTrue(rope.isEmpty());
+    }
+
+    /**
+     * A test comparing the rope against an ArrayBackedList under a long run
+     * of mixed edits.
+     */
+    @Test
+    void matchesArrayBackedList() {
+        RopeList<Integer> rope = new RopeList<>();
+        ArrayBackedList<Integer> array = new ArrayBackedList<>();
+        Random random = new Random(7);
+        for (int step = 0; step < 20_000; step++) {
+            int size = array.size();
+            int choice = random.nextInt(4);
+            if (size > 0 && choice == 0) {
+                int index = random.nextInt(size);
+                assertEquals(array.remove(index), rope.remove(index));
+            } else if (size > 0 && choice == 1) {
+                int index = random.nextInt(size);
+                assertEquals(array.set(index, step), rope.set(index, step));
+            } else {
+                int index = random.nextInt(size + 1);
+                array.add(index, step);
+                rope.add(index, step);
+            }
+        }
+        assertEquals(array.size(), rope.size());
+        for (int i = 0; i < array.size(); i++) {
+            assertEquals(array.get(i), rope.get(i));
+        }
+    }
+
+    /**
+     * A test for snapshots keeping their contents while the rope is edited,
+     * taken after every few steps of a run of mixed edits.
+     */
+    @Test
+    void snapshotsAreStable() {
+        RopeList<Integer> rope = new RopeList<>();
+        ArrayBackedList<Integer> array = new ArrayBackedList<>();
+        java.util.ArrayList<RopeList<Integer>> snapshots = new java.util.ArrayList<>();
+        java.util.ArrayList<Integer[]> expected = new java.util.ArrayList<>();
+        Random random = new Random(11);
+        for (int step = 0; step < 5_000; step++) {
+            int size = array.size();
+            int choice = random.nextInt(4);
+            if (size > 0 && choice == 0) {
+                int index = random.nextInt(size);
+                assertEquals(array.remove(index), rope.remove(index));
+            } else if (size > 0 && choice == 1) {
+                int index = random.nextInt(size);
+                assertEquals(array.set(index, step), rope.set(index, step));
+            } else {
+                int index = random.nextInt(size + 1);
+                array.add(index, step);
+                rope.add(index, step);
+            }
+            if (step % 97 == 0) {
+                Integer[] contents = new Integer[array.size()];
+                for (int i = 0; i < contents.length; i++) {
+                    contents[i] = array.get(i);
+                }
+                snapshots.add(rope.snapshot());
+                expected.add(contents);
+            }
+        }
+        for (int s = 0; s < snapshots.size(); s++) {
+            RopeList<Integer> snapshot = snapshots.get(s);
+            assertEquals(expected.get(s).length, snapshot.size());
+            for (int i = 0; i < snapshot.size(); i++) {
+                assertEquals(expected.get(s)[i], snapshot.get(i));
+            }
+        }
+        for (int i = 0; i < array.size(); i++) {
+            assertEquals(array.get(i), rope.get(i));
+        }
+    }
+
+    /**
+     * A test for snapshots being read-only.
+     */
+    @Test
+    void snapshotIsReadOnly() {
+        RopeList<Integer> rope = new RopeList<>();
+        rope.add(0, 1);
+        RopeList<Integer> snapshot = rope.snapshot();
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(0, 2));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.set(0, 2));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.remove(0));
+        assertThrows(UnsupportedOperationException.class, snapshot::snapshot);
+        assertEquals(1, snapshot.get(0));
+    }
+
+    /**
+     * A test for the index checks.
+     */
+    @Test
+    void illegalIndex() {
+        RopeList<Integer> rope = new RopeList<>();
+        assertThrows(IndexOutOfBoundsException.class, () -> rope.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> rope.add(1, 1));
+        rope.add(0, 1);
+        assertThrows(IndexOutOfBoundsException.class, () -> rope.remove(1));
+    }
+}